@@ -0,0 +1,85 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.picocontainer.ComponentFactory;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.behaviors.ConcurrentCaching;
+import com.picocontainer.behaviors.Locking;
+import com.picocontainer.behaviors.Synchronizing;
+import com.picocontainer.behaviors.ThreadCaching;
+import com.picocontainer.benchmarks.Model.ConstructorInjected;
+import com.picocontainer.benchmarks.Model.Leaf;
+import com.picocontainer.injectors.ConstructorInjection;
+
+/**
+ * Fetching a component from one container shared by several threads, with each of the
+ * behaviors meant for concurrent use wrapped around caching.
+ * <p/>
+ * The <code>unsafeCaching</code> run uses plain {@link Caching}, which is not thread-safe and may
+ * make the component more than once.  It is only there as a floor to measure the others against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BehaviorContentionBenchmark {
+
+    @Param({"unsafeCaching", "concurrentCaching", "locking", "synchronizing", "threadCaching"})
+    public String behavior;
+
+    private MutablePicoContainer pico;
+
+    @Setup
+    public void setUp() {
+        pico = new DefaultPicoContainer(componentFactory());
+        pico.addComponent(Leaf.class);
+        pico.addComponent(ConstructorInjected.class);
+    }
+
+    private ComponentFactory componentFactory() {
+        ComponentFactory injection = new ConstructorInjection();
+        if ("unsafeCaching".equals(behavior)) {
+            return new Caching().wrap(injection);
+        } else if ("concurrentCaching".equals(behavior)) {
+            return new ConcurrentCaching().wrap(injection);
+        } else if ("locking".equals(behavior)) {
+            return new Locking().wrap(new Caching().wrap(injection));
+        } else if ("synchronizing".equals(behavior)) {
+            return new Synchronizing().wrap(new Caching().wrap(injection));
+        }
+        return new ThreadCaching().wrap(injection);
+    }
+
+    @Benchmark
+    public Object getComponent() {
+        return pico.getComponent(ConstructorInjected.class);
+    }
+
+}
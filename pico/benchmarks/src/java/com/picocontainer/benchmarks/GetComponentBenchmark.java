@@ -0,0 +1,78 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.jtype.Generic;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.benchmarks.Model.Leaf;
+import com.picocontainer.benchmarks.Model.Service;
+
+/**
+ * Fetching a cached component from a {@link DefaultPicoContainer} by key, by {@link Class} and
+ * by {@link Generic}, as the number of other registered components grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetComponentBenchmark {
+
+    private static final String KEY = "leaf";
+
+    private static final Generic<Service> SERVICE = Generic.get(Service.class);
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private MutablePicoContainer pico;
+
+    @Setup
+    public void setUp() {
+        pico = new DefaultPicoContainer(new Caching());
+        for (int i = 0; i < size; i++) {
+            pico.addComponent("other" + i, "value" + i);
+        }
+        pico.addComponent(KEY, Leaf.class);
+        pico.getComponent(KEY);
+    }
+
+    @Benchmark
+    public Object byKey() {
+        return pico.getComponent(KEY);
+    }
+
+    @Benchmark
+    public Service byClass() {
+        return pico.getComponent(Service.class);
+    }
+
+    @Benchmark
+    public Service byGeneric() {
+        return pico.getComponent(SERVICE);
+    }
+
+}
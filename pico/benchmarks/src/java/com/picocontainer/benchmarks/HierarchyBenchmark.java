@@ -0,0 +1,71 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.benchmarks.Model.ConstructorInjected;
+import com.picocontainer.benchmarks.Model.Leaf;
+
+/**
+ * Looking up components registered at the top of a hierarchy from its deepest container, and
+ * making a component there whose dependency lives at the top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int depth;
+
+    private MutablePicoContainer deepest;
+
+    @Setup
+    public void setUp() {
+        MutablePicoContainer root = new DefaultPicoContainer(new Caching());
+        root.addComponent(Leaf.class);
+        MutablePicoContainer container = root;
+        for (int i = 0; i < depth; i++) {
+            container = container.makeChildContainer();
+        }
+        deepest = container;
+        deepest.addComponent(ConstructorInjected.class);
+        deepest.getComponent(ConstructorInjected.class);
+    }
+
+    @Benchmark
+    public Leaf lookUpFromTop() {
+        return deepest.getComponent(Leaf.class);
+    }
+
+    @Benchmark
+    public Object lookUpLocal() {
+        return deepest.getComponent(ConstructorInjected.class);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.InjectionType;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.benchmarks.Model.ConstructorInjected;
+import com.picocontainer.benchmarks.Model.FieldInjected;
+import com.picocontainer.benchmarks.Model.Leaf;
+import com.picocontainer.benchmarks.Model.SetterInjected;
+import com.picocontainer.injectors.AnnotatedFieldInjection;
+import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.injectors.SetterInjection;
+
+/**
+ * Making a component with one dependency by constructor, setter and annotated field injection.
+ * Cold measures a container set up for each instance, which includes working out how to inject;
+ * warm measures a container that has injected the component before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionBenchmark {
+
+    @Param({"constructor", "setter", "annotatedField"})
+    public String injection;
+
+    private Class<?> componentClass;
+
+    private MutablePicoContainer warm;
+
+    @Setup
+    public void setUp() {
+        if ("constructor".equals(injection)) {
+            componentClass = ConstructorInjected.class;
+        } else if ("setter".equals(injection)) {
+            componentClass = SetterInjected.class;
+        } else {
+            componentClass = FieldInjected.class;
+        }
+        warm = newContainer();
+        warm.getComponent(componentClass);
+    }
+
+    private MutablePicoContainer newContainer() {
+        MutablePicoContainer pico = new DefaultPicoContainer(injectionType());
+        pico.addComponent(Leaf.class);
+        pico.addComponent(componentClass);
+        return pico;
+    }
+
+    private InjectionType injectionType() {
+        if ("constructor".equals(injection)) {
+            return new ConstructorInjection();
+        } else if ("setter".equals(injection)) {
+            return new SetterInjection();
+        }
+        return new AnnotatedFieldInjection();
+    }
+
+    @Benchmark
+    public Object cold() {
+        return newContainer().getComponent(componentClass);
+    }
+
+    @Benchmark
+    public Object warm() {
+        return warm.getComponent(componentClass);
+    }
+
+}
@@ -0,0 +1,65 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.benchmarks.Model.StartableLeaf;
+import com.picocontainer.benchmarks.Model.StartableNode;
+import com.picocontainer.parameters.ComponentParameter;
+
+/**
+ * Starting and stopping a container whose startable components form a chain, each depending
+ * on the one registered before it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private MutablePicoContainer pico;
+
+    @Setup
+    public void setUp() {
+        pico = new DefaultPicoContainer(new Caching());
+        pico.addComponent("node0", StartableLeaf.class);
+        for (int i = 1; i < size; i++) {
+            pico.addComponent("node" + i, StartableNode.class, new ComponentParameter("node" + (i - 1)));
+        }
+    }
+
+    @Benchmark
+    public MutablePicoContainer startAndStop() {
+        pico.start();
+        pico.stop();
+        return pico;
+    }
+
+}
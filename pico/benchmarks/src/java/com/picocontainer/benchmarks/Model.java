@@ -0,0 +1,76 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.benchmarks;
+
+import javax.inject.Inject;
+
+import com.picocontainer.Startable;
+
+/**
+ * The components the benchmarks are made of.
+ */
+public final class Model {
+
+    private Model() {
+    }
+
+    public interface Service {
+    }
+
+    public static class Leaf implements Service {
+    }
+
+    public static class ConstructorInjected implements Service {
+        private final Leaf leaf;
+
+        public ConstructorInjected(final Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    public static class SetterInjected implements Service {
+        private Leaf leaf;
+
+        public void setLeaf(final Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    public static class FieldInjected implements Service {
+        @Inject
+        private Leaf leaf;
+    }
+
+    public static class StartableLeaf implements Startable {
+        private int starts;
+
+        public void start() {
+            starts++;
+        }
+
+        public void stop() {
+        }
+    }
+
+    public static class StartableNode implements Startable {
+        private final Startable previous;
+        private int starts;
+
+        public StartableNode(final Startable previous) {
+            this.previous = previous;
+        }
+
+        public void start() {
+            starts++;
+        }
+
+        public void stop() {
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * JMH benchmarks for the hot paths of the container: lookups, injection, behaviors under contention,
+ * hierarchies and lifecycle.  Build with <code>mvn install -Pbenchmarks</code> and run with
+ * <code>java -jar target/benchmarks.jar</code>, optionally followed by a benchmark name pattern.
+ */
+package com.picocontainer.benchmarks;
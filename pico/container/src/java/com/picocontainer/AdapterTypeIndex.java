@@ -0,0 +1,245 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer;
+
+import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.googlecode.jtype.Generic;
+import com.picocontainer.injectors.ProviderAdapter;
+
+/**
+ * Index of component adapters by every class and interface their implementation (or, for
+ * providers, their provided type) can be assigned to.  It narrows by-type resolution down to the
+ * adapters that could possibly match, in registration order, so that the container only needs to
+ * apply its usual compatibility checks to those.
+ * <p/>
+ * Adapters whose types cannot be determined are not indexed.  While any such
+ * adapter is registered, {@link #getCandidates(Generic)} answers <code>null</code> and the container
+ * falls back to looking at all of its adapters.
+ * <p/>
+ * Adapters are only looked at when by-type resolution first needs them, as registering an adapter
+ * asks it for nothing but its key.  Until then they wait, in registration order, to be indexed.
+ * <p/>
+ * A copy-on-write index publishes a fresh snapshot on every change, so that it can be read by any
+ * number of threads without locking, while changes are made by one thread at a time.
+ */
+@SuppressWarnings("serial")
+class AdapterTypeIndex implements Serializable {
+
+    private static final Map<Class<?>, Class<?>> BOXES = new HashMap<Class<?>, Class<?>>();
+    static {
+        BOXES.put(int.class, Integer.class);
+        BOXES.put(long.class, Long.class);
+        BOXES.put(float.class, Float.class);
+        BOXES.put(double.class, Double.class);
+        BOXES.put(boolean.class, Boolean.class);
+        BOXES.put(short.class, Short.class);
+        BOXES.put(byte.class, Byte.class);
+    }
+
+    private final boolean copyOnWrite;
+
+    private volatile Map<Class<?>, List<ComponentAdapter<?>>> byType = new HashMap<Class<?>, List<ComponentAdapter<?>>>();
+
+    private volatile List<ComponentAdapter<?>> unindexed = new ArrayList<ComponentAdapter<?>>();
+
+    private final List<ComponentAdapter<?>> pending = new ArrayList<ComponentAdapter<?>>();
+
+    private volatile boolean hasPending;
+
+    public AdapterTypeIndex() {
+        this(false);
+    }
+
+    public AdapterTypeIndex(final boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public synchronized void add(final ComponentAdapter<?> adapter) {
+        pending.add(adapter);
+        hasPending = true;
+    }
+
+    public synchronized void remove(final ComponentAdapter<?> adapter) {
+        if (pending.remove(adapter)) {
+            hasPending = !pending.isEmpty();
+            return;
+        }
+        if (unindexed.contains(adapter)) {
+            List<ComponentAdapter<?>> newUnindexed = copyOnWrite ? new ArrayList<ComponentAdapter<?>>(unindexed) : unindexed;
+            newUnindexed.remove(adapter);
+            unindexed = newUnindexed;
+            return;
+        }
+        // the index is searched rather than the adapter asked again for its types.
+        Map<Class<?>, List<ComponentAdapter<?>>> newByType = copyOnWrite ? new HashMap<Class<?>, List<ComponentAdapter<?>>>(byType) : byType;
+        Iterator<Map.Entry<Class<?>, List<ComponentAdapter<?>>>> entries = newByType.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Class<?>, List<ComponentAdapter<?>>> entry = entries.next();
+            List<ComponentAdapter<?>> adapters = entry.getValue();
+            if (!adapters.contains(adapter)) {
+                continue;
+            }
+            if (copyOnWrite) {
+                adapters = new ArrayList<ComponentAdapter<?>>(adapters);
+            }
+            adapters.remove(adapter);
+            if (adapters.isEmpty()) {
+                entries.remove();
+            } else {
+                entry.setValue(adapters);
+            }
+        }
+        byType = newByType;
+    }
+
+    /**
+     * Indexes the adapters registered since the last by-type lookup, publishing them all in one snapshot.
+     */
+    private synchronized void indexPending() {
+        if (!hasPending) {
+            return;
+        }
+        Map<Class<?>, List<ComponentAdapter<?>>> newByType = byType;
+        List<ComponentAdapter<?>> newUnindexed = unindexed;
+        if (copyOnWrite) {
+            newByType = new HashMap<Class<?>, List<ComponentAdapter<?>>>(byType.size() * 2);
+            for (Map.Entry<Class<?>, List<ComponentAdapter<?>>> entry : byType.entrySet()) {
+                newByType.put(entry.getKey(), new ArrayList<ComponentAdapter<?>>(entry.getValue()));
+            }
+            newUnindexed = new ArrayList<ComponentAdapter<?>>(unindexed);
+        }
+        for (ComponentAdapter<?> adapter : pending) {
+            Set<Class<?>> types = assignableTypesOf(adapter);
+            if (types == null) {
+                newUnindexed.add(adapter);
+                continue;
+            }
+            for (Class<?> type : types) {
+                List<ComponentAdapter<?>> adapters = newByType.get(type);
+                if (adapters == null) {
+                    adapters = new ArrayList<ComponentAdapter<?>>(2);
+                    newByType.put(type, adapters);
+                }
+                adapters.add(adapter);
+            }
+        }
+        pending.clear();
+        byType = newByType;
+        unindexed = newUnindexed;
+        hasPending = false;
+    }
+
+    /**
+     * @param componentType the type being resolved
+     * @return the adapters, in registration order, that could be compatible with the type, or
+     *         <code>null</code> if the index cannot tell and all adapters need looking at.
+     */
+    public List<ComponentAdapter<?>> getCandidates(final Generic<?> componentType) {
+        if (hasPending) {
+            indexPending();
+        }
+        Map<Class<?>, List<ComponentAdapter<?>>> byType = this.byType;
+        if (!unindexed.isEmpty()) {
+            return null;
+        }
+        Type type = componentType.getType();
+        Class<?> rawType;
+        if (type instanceof Class) {
+            rawType = (Class<?>) type;
+        } else if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class) {
+            rawType = (Class<?>) ((ParameterizedType) type).getRawType();
+        } else {
+            // no adapter is ever compatible with type variables, wildcards or generic arrays.
+            return Collections.emptyList();
+        }
+        if (rawType.isArray()) {
+            // array covariance is not indexed.
+            return null;
+        }
+        if (rawType.isPrimitive()) {
+            // a primitive matches its box, but an index entry for the primitive itself is a rarity.
+            if (byType.containsKey(rawType) || !BOXES.containsKey(rawType)) {
+                return null;
+            }
+            rawType = BOXES.get(rawType);
+        }
+        List<ComponentAdapter<?>> adapters = byType.get(rawType);
+        if (adapters == null) {
+            return Collections.emptyList();
+        }
+        return adapters;
+    }
+
+    public synchronized void clear() {
+        pending.clear();
+        hasPending = false;
+        byType = new HashMap<Class<?>, List<ComponentAdapter<?>>>();
+        unindexed = new ArrayList<ComponentAdapter<?>>();
+    }
+
+    private static Set<Class<?>> assignableTypesOf(final ComponentAdapter<?> adapter) {
+        Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+        try {
+            if (!addAssignableTypes(adapter.getComponentImplementation(), types)) {
+                return null;
+            }
+            ProviderAdapter providerAdapter = adapter.findAdapterOfType(ProviderAdapter.class);
+            if (providerAdapter != null && !addAssignableTypes(providerAdapter.getProviderReturnType(), types)) {
+                return null;
+            }
+        } catch (PicoCompositionException e) {
+            // provider returning a non class type.
+            return null;
+        } catch (ClassCastException e) {
+            // provider keyed by something other than its type.
+            return null;
+        }
+        return types;
+    }
+
+    private static boolean addAssignableTypes(final Class<?> type, final Set<Class<?>> types) {
+        if (type == null) {
+            return false;
+        }
+        if (type.isArray()) {
+            types.add(type);
+            types.add(Object.class);
+            types.add(Cloneable.class);
+            types.add(Serializable.class);
+            return true;
+        }
+        addSupertypes(type, types);
+        if (!type.isPrimitive()) {
+            types.add(Object.class);
+        }
+        return true;
+    }
+
+    private static void addSupertypes(final Class<?> type, final Set<Class<?>> types) {
+        if (type == null || !types.add(type)) {
+            return;
+        }
+        addSupertypes(type.getSuperclass(), types);
+        for (Class<?> anInterface : type.getInterfaces()) {
+            addSupertypes(anInterface, types);
+        }
+    }
+
+}
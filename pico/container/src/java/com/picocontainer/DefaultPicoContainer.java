@@ -19,10 +19,15 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Provider;
 
@@ -85,9 +90,9 @@ import com.picocontainer.parameters.MethodParameters;
  * @author Mauro Talevi
  */
 @SuppressWarnings("serial")
-public class DefaultPicoContainer implements MutablePicoContainer, Converting, ComponentMonitorStrategy, Serializable {
+public class DefaultPicoContainer implements MutablePicoContainer, Converting, ComponentMonitorStrategy, Versioning, Serializable {
 
-    private String name;
+    private volatile String name;
 
     /**
      * Component factory instance.
@@ -107,7 +112,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     /**
      * Current state of the container.
      */
-    private LifecycleState lifecycleState = new DefaultLifecycleState();
+    private volatile LifecycleState lifecycleState = new DefaultLifecycleState();
 
     /**
      * Keeps track of child containers started status.
@@ -129,17 +134,54 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
      */
     protected ComponentMonitor monitor;
 
+    /**
+     * Whether the registry is built for many concurrent readers and few writers.
+     */
+    private final boolean readMostly;
+
     /**
      * Map used for looking up component adapters by their key.
      */
-    private final Map<Object, ComponentAdapter<?>> keyToAdapterCache = new HashMap<Object, ComponentAdapter<?>>();
+    private final Map<Object, ComponentAdapter<?>> keyToAdapterCache;
 
 
-    private final List<ComponentAdapter<?>> componentAdapters = new ArrayList<ComponentAdapter<?>>();
+    private final List<ComponentAdapter<?>> componentAdapters;
 
-    protected final List<ComponentAdapter<?>> orderedComponentAdapters = new ArrayList<ComponentAdapter<?>>();
+    protected final List<ComponentAdapter<?>> orderedComponentAdapters;
+
+    /**
+     * The adapters in {@link #orderedComponentAdapters}, by identity, so that recording an instantiation
+     * is a lock-free look-up once an adapter is known.
+     */
+    private final InstantiatedAdapters instantiatedAdapters = new InstantiatedAdapters();
 
-    private Converters converters;
+    /**
+     * Index of the component adapters by the types they can be assigned to.  Used for by-type lookups.
+     */
+    private final AdapterTypeIndex typeIndex;
+
+    /**
+     * Identity view of the component adapters registered in this container, for cheap locality checks.
+     * Replaced rather than changed when the registry is read-mostly.
+     */
+    private volatile Set<ComponentAdapter<?>> localAdapters = newIdentitySet(Collections.<ComponentAdapter<?>>emptySet());
+
+    private volatile Converters converters;
+
+    /**
+     * Number of registration changes (additions and removals) made to this container.
+     */
+    private final AtomicLong registrationChanges = new AtomicLong();
+
+    /**
+     * Answers the parent gave to by-key lookups, good for as long as the parent's registrations do not change.
+     */
+    private transient volatile RememberedLookups parentLookups;
+
+    /**
+     * Runs start, stop and dispose on an executor in dependency order, if set.
+     */
+    private transient volatile ParallelLifecycle parallelLifecycle;
 
     /**
      * Creates a new container with a custom ComponentFactory and no parent container.
@@ -215,6 +257,36 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     }
 
     public DefaultPicoContainer(final PicoContainer parent, final LifecycleStrategy lifecycle, final ComponentMonitor monitor, final ComponentFactory... componentFactories) {
+        this(false, parent, lifecycle, monitor, componentFactories);
+    }
+
+    /**
+     * Creates a new container, choosing how its registry of component adapters is kept.
+     * <p/>
+     * A read-mostly registry keeps its adapters in copy-on-write lists and a concurrent map,
+     * so that lookups (including {@link #getComponents(Class)}) take no locks.  Registrations
+     * copy the affected structures and are made one at a time.  It suits containers that are
+     * set up once and then shared between many threads.
+     *
+     * @param readMostly        <code>true</code> for a registry suited to many concurrent readers.
+     * @param parent            the parent container (used for component dependency lookups).
+     * @param lifecycle the lifecycle strategy chosen for registered
+     *                          instance (not implementations!)
+     * @param monitor           the ComponentMonitor to use
+     * @param componentFactories  the factory to use for creation of ComponentAdapters.
+     */
+    protected DefaultPicoContainer(final boolean readMostly, final PicoContainer parent, final LifecycleStrategy lifecycle, final ComponentMonitor monitor, final ComponentFactory... componentFactories) {
+        this.readMostly = readMostly;
+        if (readMostly) {
+            keyToAdapterCache = new ConcurrentHashMap<Object, ComponentAdapter<?>>();
+            componentAdapters = new CopyOnWriteArrayList<ComponentAdapter<?>>();
+            orderedComponentAdapters = new CopyOnWriteArrayList<ComponentAdapter<?>>();
+        } else {
+            keyToAdapterCache = new HashMap<Object, ComponentAdapter<?>>();
+            componentAdapters = new ArrayList<ComponentAdapter<?>>();
+            orderedComponentAdapters = new ArrayList<ComponentAdapter<?>>();
+        }
+        typeIndex = new AdapterTypeIndex(readMostly);
         if (componentFactories.length == 0) {
             throw new NullPointerException("at least one componentFactory");
         }
@@ -303,12 +375,9 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         if (key instanceof Generic) {
             key = ((Generic) key).getType();
         }
-        ComponentAdapter<?> adapter = getComponentKeyToAdapterCache().get(key);
+        ComponentAdapter<?> adapter = key == null ? null : getComponentKeyToAdapterCache().get(key);
         if (adapter == null && parent != null) {
-            adapter = getParent().getComponentAdapter(key);
-            if (adapter != null) {
-                adapter = new KnowsContainerAdapter(adapter, getParent());
-            }
+            adapter = getParentComponentAdapter(key);
         }
         if (adapter == null) {
             Object inst = monitor.noComponentFound(this, key);
@@ -319,6 +388,47 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         return adapter;
     }
 
+    /**
+     * Looks a key up in the parent, remembering the answer, whether found or not, until the parent's
+     * registrations change.  Late resolutions made by a monitor are not remembered, and nor is anything
+     * when a subclass puts its own view between this container and its parent, as that view may answer
+     * differently depending on who asks, unless the subclass says otherwise.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private ComponentAdapter<?> getParentComponentAdapter(final Object key) {
+        PicoContainer parentView = getParent();
+        long parentVersion = key != null && canRememberParentLookups(parentView) && parent instanceof Versioning
+                ? ((Versioning) parent).getRegistrationVersion() : UNVERSIONED;
+        if (parentVersion == UNVERSIONED) {
+            ComponentAdapter<?> adapter = parentView.getComponentAdapter(key);
+            return adapter == null ? null : new KnowsContainerAdapter(adapter, parentView);
+        }
+        RememberedLookups lookups = RememberedLookups.at(parentLookups, parentVersion);
+        parentLookups = lookups;
+        Object found = lookups.get(key);
+        if (found == RememberedLookups.NOT_FOUND) {
+            return null;
+        }
+        if (found == null) {
+            ComponentAdapter<?> adapter = getParent().getComponentAdapter(key);
+            if (adapter != null && adapter.findAdapterOfType(LateInstance.class) != null) {
+                return new KnowsContainerAdapter(adapter, getParent());
+            }
+            found = lookups.remember(key, adapter == null ? null : new KnowsContainerAdapter(adapter, getParent()));
+        }
+        return (ComponentAdapter<?>) found;
+    }
+
+    /**
+     * Whether the answers to by-key lookups made through the view of the parent that {@link #getParent()}
+     * gives can be remembered until the parent's registrations change.  By default, only if the view is the
+     * parent itself.
+     * @param parentView what {@link #getParent()} returned
+     */
+    protected boolean canRememberParentLookups(final PicoContainer parentView) {
+        return parentView == parent;
+    }
+
     /**
      * <tt>Special Case</tt> class that is an adapter instantiated when a component monitor
      * returns a &quot;late resolution&quot; to finding a container.
@@ -487,8 +597,12 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         if (componentType == null) {
             return Collections.emptyList();
         }
+        Collection<ComponentAdapter<?>> candidates = typeIndex.getCandidates(componentType);
+        if (candidates == null) {
+            candidates = getComponentAdapters();
+        }
         List<ComponentAdapter<T>> found = new ArrayList<ComponentAdapter<T>>();
-        for (ComponentAdapter<?> componentAdapter : getComponentAdapters()) {
+        for (ComponentAdapter<?> componentAdapter : candidates) {
             Object key = componentAdapter.getComponentKey();
 
             //JSR 330 Provider compatibility... we have to be able to return both the providers that provide
@@ -515,14 +629,48 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
 
     protected MutablePicoContainer addAdapterInternal(final ComponentAdapter<?> componentAdapter) {
         Object key = componentAdapter.getComponentKey();
-        if (getComponentKeyToAdapterCache().containsKey(key)) {
-            throw new PicoCompositionException("Duplicate Keys not allowed. Duplicate for '" + key + "'");
+        refuseRegistrationFromLifecycleStep();
+        synchronized (this) {
+            if (getComponentKeyToAdapterCache().containsKey(key)) {
+                throw new PicoCompositionException("Duplicate Keys not allowed. Duplicate for '" + key + "'");
+            }
+            getModifiableComponentAdapterList().add(componentAdapter);
+            getComponentKeyToAdapterCache().put(key, componentAdapter);
+            if (readMostly) {
+                Set<ComponentAdapter<?>> newLocalAdapters = newIdentitySet(localAdapters);
+                newLocalAdapters.add(componentAdapter);
+                localAdapters = newLocalAdapters;
+            } else {
+                localAdapters.add(componentAdapter);
+            }
+            typeIndex.add(componentAdapter);
+            registrationChanges.incrementAndGet();
         }
-        getModifiableComponentAdapterList().add(componentAdapter);
-        getComponentKeyToAdapterCache().put(key, componentAdapter);
         return this;
     }
 
+    /**
+     * A component starting, stopping or being disposed of on the lifecycle executor would wait forever for the
+     * monitor the thread running the transition holds.
+     */
+    private void refuseRegistrationFromLifecycleStep() {
+        if (isRunningLifecycleStep()) {
+            throw new PicoCompositionException("Cannot add or remove components of " + this
+                    + " from one of its components while it is started, stopped or disposed of");
+        }
+    }
+
+    private boolean isRunningLifecycleStep() {
+        ParallelLifecycle parallel = parallelLifecycle;
+        return parallel != null && parallel.isRunningStep();
+    }
+
+    private static Set<ComponentAdapter<?>> newIdentitySet(final Set<ComponentAdapter<?>> adapters) {
+        Set<ComponentAdapter<?>> set = Collections.newSetFromMap(new IdentityHashMap<ComponentAdapter<?>, Boolean>());
+        set.addAll(adapters);
+        return set;
+    }
+
     /**
      * {@inheritDoc}
      * This method can be used to override the ComponentAdapter created by the {@link ComponentFactory}
@@ -575,11 +723,32 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
      */
     public <T> ComponentAdapter<T> removeComponent(final Object key) {
         lifecycleState.removingComponent();
+        refuseRegistrationFromLifecycleStep();
 
-        ComponentAdapter<T> adapter = (ComponentAdapter<T>) getComponentKeyToAdapterCache().remove(key);
-        getModifiableComponentAdapterList().remove(adapter);
-        getOrderedComponentAdapters().remove(adapter);
-        return adapter;
+        synchronized (this) {
+            ComponentAdapter<T> adapter = key == null ? null : (ComponentAdapter<T>) getComponentKeyToAdapterCache().remove(key);
+            if (adapter != null) {
+                if (readMostly) {
+                    Set<ComponentAdapter<?>> newLocalAdapters = newIdentitySet(localAdapters);
+                    newLocalAdapters.remove(adapter);
+                    localAdapters = newLocalAdapters;
+                } else {
+                    localAdapters.remove(adapter);
+                }
+                typeIndex.remove(adapter);
+                registrationChanges.incrementAndGet();
+            }
+            getModifiableComponentAdapterList().remove(adapter);
+            synchronized (getOrderLock()) {
+                getOrderedComponentAdapters().remove(adapter);
+                instantiatedAdapters.remove(adapter);
+            }
+            ParallelLifecycle parallel = parallelLifecycle;
+            if (parallel != null && adapter != null) {
+                parallel.forget(adapter);
+            }
+            return adapter;
+        }
     }
 
 
@@ -641,6 +810,7 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
                                               final ConstructorParameters constructorParameters,
                                               final FieldParameters[] fieldParameters,
                                               final MethodParameters[] methodParameters) {
+        refuseRegistrationFromLifecycleStep();
 
     	Parameter[] tweakedParameters = (constructorParameters != null) ? constructorParameters.getParams() : null;
 
@@ -750,9 +920,40 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         }
     }
 
-    private synchronized void addOrderedComponentAdapter(final ComponentAdapter<?> componentAdapter) {
-        if (!getOrderedComponentAdapters().contains(componentAdapter)) {
-            getOrderedComponentAdapters().add(componentAdapter);
+    private void addOrderedComponentAdapter(final ComponentAdapter<?> componentAdapter) {
+        // only the first sighting of an adapter takes a lock.
+        if (instantiatedAdapters.contains(componentAdapter)) {
+            return;
+        }
+        synchronized (getOrderLock()) {
+            if (instantiatedAdapters.add(componentAdapter)) {
+                getOrderedComponentAdapters().add(componentAdapter);
+                ParallelLifecycle parallel = parallelLifecycle;
+                if (parallel != null) {
+                    parallel.observed(componentAdapter);
+                }
+            }
+        }
+    }
+
+    /**
+     * The lock for changes to the ordered adapter list.  It is not the container's own monitor, so that first
+     * instantiations do not wait on start or stop, which hold that monitor while components start on other
+     * threads.
+     */
+    private Object getOrderLock() {
+        return instantiatedAdapters;
+    }
+
+    /**
+     * @return the ordered adapters as they are now, safe to iterate while other threads instantiate more
+     */
+    private List<ComponentAdapter<?>> getOrderedSnapshot() {
+        if (readMostly) {
+            return getOrderedComponentAdapters();
+        }
+        synchronized (getOrderLock()) {
+            return new ArrayList<ComponentAdapter<?>>(getOrderedComponentAdapters());
         }
     }
 
@@ -765,30 +966,50 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
             return Collections.emptyList();
         }
 
+        if (readMostly || isRunningLifecycleStep()) {
+            // the copy-on-write lists can be iterated while registrations carry on, and none can be made
+            // while the lifecycle thread holds the monitor for the step asking.
+            return getLocalComponents(componentType);
+        }
+        synchronized (this) {
+            return getLocalComponents(componentType);
+        }
+    }
+
+    private <T> List<T> getLocalComponents(final Class<T> componentType) {
         Map<ComponentAdapter<T>, T> adapterToInstanceMap = new HashMap<ComponentAdapter<T>, T>();
         List<T> result = new ArrayList<T>();
-        synchronized (this) {
-            for (ComponentAdapter<?> componentAdapter : getModifiableComponentAdapterList()) {
-                if (componentType.isAssignableFrom(componentAdapter.getComponentImplementation())) {
-                    ComponentAdapter<T> typedComponentAdapter = (ComponentAdapter<T>) componentAdapter;
-                    T componentInstance = getLocalInstance(typedComponentAdapter);
-                    adapterToInstanceMap.put(typedComponentAdapter, componentInstance);
-                }
+        for (ComponentAdapter<?> componentAdapter : getModifiableComponentAdapterList()) {
+            if (componentType.isAssignableFrom(componentAdapter.getComponentImplementation())) {
+                ComponentAdapter<T> typedComponentAdapter = (ComponentAdapter<T>) componentAdapter;
+                T componentInstance = getLocalInstance(typedComponentAdapter);
+                adapterToInstanceMap.put(typedComponentAdapter, componentInstance);
             }
-            for (ComponentAdapter<?> componentAdapter : getOrderedComponentAdapters()) {
-                final T componentInstance = adapterToInstanceMap.get(componentAdapter);
-                if (componentInstance != null) {
-                    // may be null in the case of the "implicit" addAdapter
-                    // representing "this".
-                    result.add(componentInstance);
-                }
+        }
+        for (ComponentAdapter<?> componentAdapter : getOrderedSnapshot()) {
+            final T componentInstance = adapterToInstanceMap.get(componentAdapter);
+            if (componentInstance != null) {
+                // may be null in the case of the "implicit" addAdapter
+                // representing "this".
+                result.add(componentInstance);
             }
         }
         return result;
     }
 
     private <T> T getLocalInstance(final ComponentAdapter<T> typedComponentAdapter) {
-        T componentInstance = typedComponentAdapter.getComponentInstance(this, ComponentAdapter.NOTHING.class);
+        T componentInstance;
+        ParallelLifecycle parallel = parallelLifecycle;
+        if (parallel != null) {
+            parallel.resolving(typedComponentAdapter);
+        }
+        try {
+            componentInstance = typedComponentAdapter.getComponentInstance(this, ComponentAdapter.NOTHING.class);
+        } finally {
+            if (parallel != null) {
+                parallel.resolved(typedComponentAdapter);
+            }
+        }
 
         // This is to ensure all are added. (Indirect dependencies will be added
         // from InstantiatingComponentAdapter).
@@ -869,10 +1090,14 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     private Object getInstance(final ComponentAdapter<?> componentAdapter, final Generic<?> key, final Type into) {
         // check whether this is our adapter
         // we need to check this to ensure up-down dependencies cannot be followed
-        final boolean isLocal = getModifiableComponentAdapterList().contains(componentAdapter);
+        final boolean isLocal = localAdapters.contains(componentAdapter);
 
         if (isLocal || componentAdapter instanceof LateInstance) {
             Object instance;
+            ParallelLifecycle parallel = parallelLifecycle;
+            if (parallel != null) {
+                parallel.resolving(componentAdapter);
+            }
             try {
                 if (componentAdapter instanceof FactoryInjector) {
                     instance = ((FactoryInjector) componentAdapter).getComponentInstance(this, into);
@@ -887,6 +1112,10 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
                     }
                 }
                 throw e;
+            } finally {
+                if (parallel != null) {
+                    parallel.resolved(componentAdapter);
+                }
             }
             addOrderedComponentAdapter(componentAdapter);
 
@@ -910,6 +1139,25 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         return parent;
     }
 
+    /**
+     * {@inheritDoc}
+     * The version of a container with a parent also moves with the parent's registrations.
+     */
+    public long getRegistrationVersion() {
+        long version = registrationChanges.get();
+        if (parent == null || parent instanceof EmptyPicoContainer) {
+            return version;
+        }
+        if (!(parent instanceof Versioning)) {
+            return UNVERSIONED;
+        }
+        long parentVersion = ((Versioning) parent).getRegistrationVersion();
+        if (parentVersion == UNVERSIONED) {
+            return UNVERSIONED;
+        }
+        return version + parentVersion;
+    }
+
     /**
      * {@inheritDoc} *
      */
@@ -944,6 +1192,22 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
 
         startAdapters();
         childrenStarted.clear();
+        ParallelLifecycle parallel = parallelLifecycle;
+        if (parallel != null) {
+            List<Startable> startable = new ArrayList<Startable>();
+            for (PicoContainer child : children) {
+                childrenStarted.add(new WeakReference<PicoContainer>(child));
+                if (child instanceof Startable) {
+                    startable.add((Startable) child);
+                }
+            }
+            parallel.runAll(startable, new ParallelLifecycle.Step<Startable>() {
+                public void run(final Startable child) {
+                    child.start();
+                }
+            });
+            return;
+        }
         for (PicoContainer child : children) {
             childrenStarted.add(new WeakReference<PicoContainer>(child));
             if (child instanceof Startable) {
@@ -970,13 +1234,18 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     public synchronized void stop() {
         lifecycleState.stopping(getName());
         try {
-	        for (PicoContainer child : children) {
-	            if (childStarted(child)) {
-	                if (child instanceof Startable) {
-	                    ((Startable) child).stop();
-	                }
-	            }
-	        }
+            ParallelLifecycle parallel = parallelLifecycle;
+            if (parallel != null) {
+                stopChildren(parallel);
+            } else {
+                for (PicoContainer child : children) {
+                    if (childStarted(child)) {
+                        if (child instanceof Startable) {
+                            ((Startable) child).stop();
+                        }
+                    }
+                }
+            }
 	        
         } finally {
         	try {
@@ -987,6 +1256,20 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         }
     }
 
+    private void stopChildren(final ParallelLifecycle parallel) {
+        List<Startable> started = new ArrayList<Startable>();
+        for (PicoContainer child : children) {
+            if (childStarted(child) && child instanceof Startable) {
+                started.add((Startable) child);
+            }
+        }
+        parallel.runAll(started, new ParallelLifecycle.Step<Startable>() {
+            public void run(final Startable child) {
+                child.stop();
+            }
+        });
+    }
+
     /**
      * Checks the status of the child container to see if it's been started
      * to prevent IllegalStateException upon stop
@@ -1029,11 +1312,16 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         lifecycleState.disposing(getName());
 
         try {
-	        for (PicoContainer child : children) {
-	            if (child instanceof MutablePicoContainer) {
-	                ((Disposable) child).dispose();
-	            }
-	        }
+            ParallelLifecycle parallel = parallelLifecycle;
+            if (parallel != null) {
+                disposeChildren(parallel);
+            } else {
+                for (PicoContainer child : children) {
+                    if (child instanceof MutablePicoContainer) {
+                        ((Disposable) child).dispose();
+                    }
+                }
+            }
         } finally {
         	try {
         		disposeAdapters();
@@ -1047,18 +1335,58 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         
     }
 
+    private void disposeChildren(final ParallelLifecycle parallel) {
+        List<Disposable> disposable = new ArrayList<Disposable>();
+        for (PicoContainer child : children) {
+            if (child instanceof MutablePicoContainer) {
+                disposable.add((Disposable) child);
+            }
+        }
+        parallel.runAll(disposable, new ParallelLifecycle.Step<Disposable>() {
+            public void run(final Disposable child) {
+                child.dispose();
+            }
+        });
+    }
+
+    /**
+     * Starts, stops and disposes the components of this container on the given executor, each component after
+     * the ones it depends on have started (and before they stop or are disposed of), and then the child
+     * containers all at once.  Dependencies are observed as components are instantiated from now on, so set
+     * this before any are; components instantiated earlier keep to instantiation order.  Child containers made
+     * afterwards by {@link #makeChildContainer()} use the same executor.
+     * <p/>
+     * The thread calling {@link #start()}, {@link #stop()} or {@link #dispose()} keeps this container's monitor
+     * until all the components are done, so that one transition never overlaps another.  The components can
+     * still look up their container from the executor's threads, but cannot add or remove components.
+     *
+     * @param executor the executor to use, or <code>null</code> for one at a time on the calling thread, the default
+     */
+    public void setLifecycleExecutor(final Executor executor) {
+        parallelLifecycle = executor == null ? null : new ParallelLifecycle(executor);
+    }
+
+    /**
+     * @return the executor lifecycle operations run on, or <code>null</code> if they run on the calling thread
+     */
+    public Executor getLifecycleExecutor() {
+        ParallelLifecycle parallel = parallelLifecycle;
+        return parallel == null ? null : parallel.getExecutor();
+    }
+
     /** {@inheritDoc} **/
-    public synchronized void setLifecycleState(final LifecycleState lifecycleState) {
+    public void setLifecycleState(final LifecycleState lifecycleState) {
         this.lifecycleState = lifecycleState;
     }
 
     /** {@inheritDoc} **/
-    public synchronized LifecycleState getLifecycleState() {
+    public LifecycleState getLifecycleState() {
     	return lifecycleState;
     }
 
     public MutablePicoContainer makeChildContainer() {
         DefaultPicoContainer pc = new DefaultPicoContainer(this, lifecycle, monitor, componentFactory);
+        pc.setLifecycleExecutor(getLifecycleExecutor());
         addChildContainer(pc);
         return pc;
     }
@@ -1205,11 +1533,19 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
         for (ComponentAdapter<?> adapter : adapters) {
             addAdapterIfStartable(adapter);
         }
-        adapters = getOrderedComponentAdapters();
-        // clone the adapters
-        List<ComponentAdapter<?>> adaptersClone = new ArrayList<ComponentAdapter<?>>(adapters);
-        for (final ComponentAdapter<?> adapter : adaptersClone) {
-            potentiallyStartAdapter(adapter);
+        // the list is only appended to while starting, so the adapters known now are the first ones in it.
+        List<ComponentAdapter<?>> ordered = getOrderedSnapshot();
+        ParallelLifecycle parallel = parallelLifecycle;
+        if (parallel != null) {
+            parallel.run(new ArrayList<ComponentAdapter<?>>(ordered), false, new ParallelLifecycle.Step<ComponentAdapter<?>>() {
+                public void run(final ComponentAdapter<?> adapter) {
+                    potentiallyStartAdapter(adapter);
+                }
+            });
+            return;
+        }
+        for (int i = 0, known = ordered.size(); i < known; i++) {
+            potentiallyStartAdapter(ordered.get(i));
         }
     }
 
@@ -1226,7 +1562,17 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
             ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
             if (componentLifecycle.componentHasLifecycle()) {
                 // create an instance, it will be added to the ordered CA list
-                instantiateComponentAsIsStartable(adapter);
+                ParallelLifecycle parallel = parallelLifecycle;
+                if (parallel != null) {
+                    parallel.resolving(adapter);
+                }
+                try {
+                    instantiateComponentAsIsStartable(adapter);
+                } finally {
+                    if (parallel != null) {
+                        parallel.resolved(adapter);
+                    }
+                }
                 addOrderedComponentAdapter(adapter);
             }
         }
@@ -1243,13 +1589,26 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
      * stop(PicoContainer) method on the ones which are LifecycleManagers
      */
     private void stopAdapters() {
-        for (int i = getOrderedComponentAdapters().size() - 1; 0 <= i; i--) {
-            ComponentAdapter<?> adapter = getOrderedComponentAdapters().get(i);
-            if (adapter instanceof ComponentLifecycle) {
-                ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
-                if (componentLifecycle.componentHasLifecycle() && componentLifecycle.isStarted()) {
-                    componentLifecycle.stop(DefaultPicoContainer.this);
+        ParallelLifecycle parallel = parallelLifecycle;
+        if (parallel != null) {
+            parallel.run(new ArrayList<ComponentAdapter<?>>(getOrderedSnapshot()), true, new ParallelLifecycle.Step<ComponentAdapter<?>>() {
+                public void run(final ComponentAdapter<?> adapter) {
+                    potentiallyStopAdapter(adapter);
                 }
+            });
+            return;
+        }
+        List<ComponentAdapter<?>> ordered = getOrderedSnapshot();
+        for (int i = ordered.size() - 1; 0 <= i; i--) {
+            potentiallyStopAdapter(ordered.get(i));
+        }
+    }
+
+    private void potentiallyStopAdapter(final ComponentAdapter<?> adapter) {
+        if (adapter instanceof ComponentLifecycle) {
+            ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
+            if (componentLifecycle.componentHasLifecycle() && componentLifecycle.isStarted()) {
+                componentLifecycle.stop(DefaultPicoContainer.this);
             }
         }
     }
@@ -1259,12 +1618,24 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
      * dispose(PicoContainer) method on the ones which are LifecycleManagers
      */
     private void disposeAdapters() {
-        for (int i = getOrderedComponentAdapters().size() - 1; 0 <= i; i--) {
-            ComponentAdapter<?> adapter = getOrderedComponentAdapters().get(i);
-            if (adapter instanceof ComponentLifecycle) {
-                ComponentLifecycle<?> componentLifecycle = (ComponentLifecycle<?>) adapter;
-                componentLifecycle.dispose(DefaultPicoContainer.this);
-            }
+        ParallelLifecycle parallel = parallelLifecycle;
+        if (parallel != null) {
+            parallel.run(new ArrayList<ComponentAdapter<?>>(getOrderedSnapshot()), true, new ParallelLifecycle.Step<ComponentAdapter<?>>() {
+                public void run(final ComponentAdapter<?> adapter) {
+                    disposeAdapter(adapter);
+                }
+            });
+            return;
+        }
+        List<ComponentAdapter<?>> ordered = getOrderedSnapshot();
+        for (int i = ordered.size() - 1; 0 <= i; i--) {
+            disposeAdapter(ordered.get(i));
+        }
+    }
+
+    private void disposeAdapter(final ComponentAdapter<?> adapter) {
+        if (adapter instanceof ComponentLifecycle) {
+            ((ComponentLifecycle<?>) adapter).dispose(DefaultPicoContainer.this);
         }
     }
 
@@ -1291,12 +1662,12 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
     }
 
     /** {@inheritDoc} **/
-    public synchronized void setName(final String name) {
+    public void setName(final String name) {
         this.name = name;
     }
 
     /** {@inheritDoc} **/
-    public synchronized String getName() {
+    public String getName() {
     	return name;
     }
 
@@ -1313,7 +1684,9 @@ public class DefaultPicoContainer implements MutablePicoContainer, Converting, C
      *
      * @return the converters
      */
-    public synchronized Converters getConverters() {
+    public Converters getConverters() {
+        // not synchronized, so components can convert while the container starts them on other threads;
+        // two threads may both make the built-in converters, which are interchangeable.
         if (converters == null) {
             if (parent == null || (parent instanceof Converting && ((Converting) parent).getConverters() instanceof ConvertsNothing)) {
                 converters = new BuiltInConverters();
@@ -0,0 +1,100 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+/**
+ * The component adapters whose instantiation a container has recorded, by identity.  It backs the
+ * container's ordered adapter list, so that the list need not be searched each time a component is
+ * fetched.
+ * <p/>
+ * {@link #contains(Object)} takes no locks.  Adapters are added into a shared open-addressing table,
+ * so a reader either finds one, or misses an addition in progress and goes on to the caller's locked
+ * path, which adds under the same lock as {@link #add(Object)} and {@link #remove(Object)}.
+ * Removals and growth publish a new table.
+ */
+@SuppressWarnings("serial")
+final class InstantiatedAdapters implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Object[] table = new Object[INITIAL_CAPACITY];
+
+    private int size;
+
+    public boolean contains(final Object adapter) {
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        for (int i = System.identityHashCode(adapter) & mask; ; i = (i + 1) & mask) {
+            Object present = tab[i];
+            if (present == adapter) {
+                return true;
+            } else if (present == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Callers hold the lock that guards the ordered list this backs.
+     * @return <code>true</code> if the adapter was not there before
+     */
+    public boolean add(final Object adapter) {
+        if (contains(adapter)) {
+            return false;
+        }
+        if ((size + 1) * 2 > table.length) {
+            table = rehash(table, table.length * 2, null);
+        }
+        insert(table, adapter);
+        size++;
+        return true;
+    }
+
+    /**
+     * Callers hold the lock that guards the ordered list this backs.
+     */
+    public void remove(final Object adapter) {
+        if (contains(adapter)) {
+            table = rehash(table, table.length, adapter);
+            size--;
+        }
+    }
+
+    private static Object[] rehash(final Object[] from, final int capacity, final Object leaveOut) {
+        Object[] to = new Object[capacity];
+        for (Object adapter : from) {
+            if (adapter != null && adapter != leaveOut) {
+                insert(to, adapter);
+            }
+        }
+        return to;
+    }
+
+    private static void insert(final Object[] tab, final Object adapter) {
+        int mask = tab.length - 1;
+        int i = System.identityHashCode(adapter) & mask;
+        while (tab[i] != null) {
+            i = (i + 1) & mask;
+        }
+        tab[i] = adapter;
+    }
+
+    /**
+     * Identity hash codes are not kept across serialization, so the table is laid out again.
+     */
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        table = rehash(table, table.length, null);
+    }
+
+}
@@ -0,0 +1,288 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the lifecycle of a container's components on an {@link Executor}, each as soon as the components
+ * it depends on are done, in place of one at a time in instantiation order.
+ * <p/>
+ * Dependencies are observed as the container resolves them: while one adapter is being fetched on a thread,
+ * any other local adapter fetched on that thread is taken to be one of its dependencies.  Adapters first
+ * fetched before the observation began are taken to depend on every adapter instantiated before them,
+ * which is the order a sequential start would give them anyway.
+ * <p/>
+ * The thread that starts, stops or disposes the container keeps its monitor until every step is done, so
+ * transitions and registrations cannot interleave with one.  The steps themselves need only the pass's own
+ * lock, so components can look up their container from the executor's threads while they start or stop, see
+ * {@link #isRunningStep()}.  Child containers run their own steps on the thread that starts, stops or disposes
+ * them, so that an executor with few threads cannot be starved by nested containers.
+ */
+final class ParallelLifecycle {
+
+    /**
+     * One lifecycle step for one adapter or child container.
+     */
+    interface Step<T> {
+        void run(T subject);
+    }
+
+    private static final ThreadLocal<ParallelLifecycle> RUNNING_STEP = new ThreadLocal<ParallelLifecycle>();
+
+    private final Executor executor;
+
+    private final ConcurrentMap<ComponentAdapter<?>, Set<ComponentAdapter<?>>> dependencies = new ConcurrentHashMap<ComponentAdapter<?>, Set<ComponentAdapter<?>>>();
+
+    private final ThreadLocal<List<ComponentAdapter<?>>> resolving = new ThreadLocal<List<ComponentAdapter<?>>>() {
+        @Override
+        protected List<ComponentAdapter<?>> initialValue() {
+            return new ArrayList<ComponentAdapter<?>>();
+        }
+    };
+
+    ParallelLifecycle(final Executor executor) {
+        this.executor = executor;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return whether the current thread is one of the executor's, running a step of a pass of this lifecycle,
+     *         while another thread holds the container's monitor for it
+     */
+    boolean isRunningStep() {
+        return RUNNING_STEP.get() == this;
+    }
+
+    /**
+     * Notes that an adapter is being fetched, and so is a dependency of the one being fetched around it, if any.
+     * Must be followed by {@link #resolved(ComponentAdapter)} on the same thread.
+     */
+    void resolving(final ComponentAdapter<?> adapter) {
+        List<ComponentAdapter<?>> stack = resolving.get();
+        if (!stack.isEmpty()) {
+            ComponentAdapter<?> dependent = stack.get(stack.size() - 1);
+            if (dependent != adapter) {
+                Set<ComponentAdapter<?>> known = observed(dependent);
+                if (!known.contains(adapter)) {
+                    known.add(adapter);
+                }
+            }
+        }
+        stack.add(adapter);
+    }
+
+    void resolved(final ComponentAdapter<?> adapter) {
+        List<ComponentAdapter<?>> stack = resolving.get();
+        stack.remove(stack.size() - 1);
+    }
+
+    /**
+     * Notes that an adapter was first fetched while dependencies were being observed, so they are known for it.
+     */
+    Set<ComponentAdapter<?>> observed(final ComponentAdapter<?> adapter) {
+        Set<ComponentAdapter<?>> known = dependencies.get(adapter);
+        if (known == null) {
+            known = Collections.newSetFromMap(new ConcurrentHashMap<ComponentAdapter<?>, Boolean>());
+            Set<ComponentAdapter<?>> raced = dependencies.putIfAbsent(adapter, known);
+            if (raced != null) {
+                known = raced;
+            }
+        }
+        return known;
+    }
+
+    void forget(final ComponentAdapter<?> adapter) {
+        dependencies.remove(adapter);
+    }
+
+    /**
+     * Runs a step for each adapter, after it has run for the adapter's dependencies, or with <code>reverse</code>,
+     * after it has run for the adapter's dependents.  Returns when all the steps have run, or have been given
+     * up after one failed, in which case the first failure is thrown.
+     * @param ordered the adapters in the order they were instantiated
+     */
+    void run(final List<ComponentAdapter<?>> ordered, final boolean reverse, final Step<ComponentAdapter<?>> step) {
+        int size = ordered.size();
+        Map<ComponentAdapter<?>, Integer> positions = new IdentityHashMap<ComponentAdapter<?>, Integer>();
+        for (int i = 0; i < size; i++) {
+            positions.put(ordered.get(i), i);
+        }
+        List<List<Integer>> after = new ArrayList<List<Integer>>(size);
+        int[] waitingFor = new int[size];
+        for (int i = 0; i < size; i++) {
+            after.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < size; i++) {
+            Set<ComponentAdapter<?>> known = dependencies.get(ordered.get(i));
+            if (known == null) {
+                for (int j = 0; j < i; j++) {
+                    addEdge(j, i, reverse, after, waitingFor);
+                }
+            } else {
+                for (ComponentAdapter<?> dependency : known) {
+                    Integer j = positions.get(dependency);
+                    // a dependency is instantiated before its dependent, which keeps the graph acyclic.
+                    if (j != null && j < i) {
+                        addEdge(j, i, reverse, after, waitingFor);
+                    }
+                }
+            }
+        }
+        new Run<ComponentAdapter<?>>(ordered, after, waitingFor, step).execute();
+    }
+
+    /**
+     * Runs a step for each of several independent subjects at once, such as child containers.
+     */
+    <T> void runAll(final List<T> subjects, final Step<T> step) {
+        List<List<Integer>> after = new ArrayList<List<Integer>>(subjects.size());
+        for (int i = 0; i < subjects.size(); i++) {
+            after.add(Collections.<Integer>emptyList());
+        }
+        new Run<T>(subjects, after, new int[subjects.size()], step).execute();
+    }
+
+    private static void addEdge(final int dependency, final int dependent, final boolean reverse,
+                                final List<List<Integer>> after, final int[] waitingFor) {
+        int first = reverse ? dependent : dependency;
+        int second = reverse ? dependency : dependent;
+        after.get(first).add(second);
+        waitingFor[second]++;
+    }
+
+    /**
+     * One pass over a graph.  Its counts are guarded by a lock of its own, never by the container's monitor,
+     * which the thread waiting for the pass holds throughout.  A pass begun by a step of
+     * another, such as a child container's start, runs its steps on that step's thread rather than waiting
+     * for threads of an executor that may be busy with the outer pass.
+     */
+    private final class Run<T> {
+        private final List<T> subjects;
+        private final List<List<Integer>> after;
+        private final int[] waitingFor;
+        private final Object lock = new Object();
+        private final Step<T> step;
+        private final boolean nested = RUNNING_STEP.get() != null;
+        private final LinkedList<Integer> ready = new LinkedList<Integer>();
+        private int unfinished;
+        private Throwable failure;
+
+        private Run(final List<T> subjects, final List<List<Integer>> after, final int[] waitingFor,
+                    final Step<T> step) {
+            this.subjects = subjects;
+            this.after = after;
+            this.waitingFor = waitingFor;
+            this.step = step;
+        }
+
+        private void execute() {
+            synchronized (lock) {
+                for (int i = 0; i < waitingFor.length; i++) {
+                    if (waitingFor[i] == 0) {
+                        submit(i);
+                    }
+                }
+                boolean interrupted = false;
+                while (unfinished > 0) {
+                    if (nested) {
+                        runStep(ready.removeFirst());
+                        continue;
+                    }
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new PicoLifecycleException(null, null, failure);
+            }
+        }
+
+        /**
+         * Called with the lock held.
+         */
+        private void submit(final int index) {
+            unfinished++;
+            if (nested) {
+                ready.add(index);
+                return;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        RUNNING_STEP.set(ParallelLifecycle.this);
+                        try {
+                            runStep(index);
+                        } finally {
+                            RUNNING_STEP.remove();
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                unfinished--;
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+
+        private void runStep(final int index) {
+            Throwable thrown = null;
+            try {
+                step.run(subjects.get(index));
+            } catch (Throwable t) {
+                thrown = t;
+            }
+            finished(index, thrown);
+        }
+
+        private void finished(final int index, final Throwable thrown) {
+            synchronized (lock) {
+                unfinished--;
+                if (thrown != null && failure == null) {
+                    failure = thrown;
+                    // steps not yet begun are given up
+                    unfinished -= ready.size();
+                    ready.clear();
+                }
+                if (failure == null) {
+                    for (int next : after.get(index)) {
+                        if (--waitingFor[next] == 0) {
+                            submit(next);
+                        }
+                    }
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+}
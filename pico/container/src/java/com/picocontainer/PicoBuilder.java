@@ -10,6 +10,7 @@
 package com.picocontainer;
 
 import static com.picocontainer.behaviors.Behaviors.caching;
+import static com.picocontainer.behaviors.Behaviors.concurrentCaching;
 import static com.picocontainer.behaviors.Behaviors.implementationHiding;
 import static com.picocontainer.injectors.Injectors.CDI;
 import static com.picocontainer.injectors.Injectors.SDI;
@@ -31,7 +32,9 @@ import com.picocontainer.behaviors.PropertyApplying;
 import com.picocontainer.behaviors.Synchronizing;
 import com.picocontainer.containers.EmptyPicoContainer;
 import com.picocontainer.containers.TransientPicoContainer;
+import com.picocontainer.injectors.AbstractInjectionType;
 import com.picocontainer.injectors.CompositeInjection;
+import com.picocontainer.injectors.MemberInvoker;
 import com.picocontainer.injectors.MethodInjection;
 import com.picocontainer.lifecycle.JavaEE5LifecycleStrategy;
 import com.picocontainer.lifecycle.NullLifecycleStrategy;
@@ -63,6 +66,7 @@ public class PicoBuilder {
     private final List<InjectionType> injectors = new ArrayList<InjectionType>();
     private Class<? extends ComponentMonitor> monitorClass = NullComponentMonitor.class;
     private Class<? extends LifecycleStrategy> lifecycleClass = NullLifecycleStrategy.class;
+    private MemberInvoker memberInvoker;
 
 
     public PicoBuilder(final PicoContainer parentContainer, final InjectionType injectionType) {
@@ -178,6 +182,12 @@ public class PicoBuilder {
         } else {
             componentFactory = new CompositeInjection(injectors.toArray(new InjectionType[injectors.size()]));
         }
+        if (memberInvoker != null) {
+            if (!(componentFactory instanceof AbstractInjectionType)) {
+                throw new PicoCompositionException("A member invoker can only be used with injection types extending AbstractInjectionType");
+            }
+            ((AbstractInjectionType) componentFactory).withMemberInvoker(memberInvoker);
+        }
 
         Stack<Object> clonedBehaviors = (Stack< Object >) behaviors.clone();
         while (!clonedBehaviors.empty()) {
@@ -295,6 +305,11 @@ public class PicoBuilder {
         return this;
     }
 
+    public PicoBuilder withConcurrentCaching() {
+        behaviors.push(concurrentCaching());
+        return this;
+    }
+
     public PicoBuilder withComponentFactory(final ComponentFactory componentFactory) {
         if (componentFactory == null) {
             throw new NullPointerException("CAF cannot be null");
@@ -356,6 +371,14 @@ public class PicoBuilder {
         return this;
     }
 
+    public PicoBuilder withMemberInvoker(final MemberInvoker memberInvoker) {
+        if (memberInvoker == null) {
+            throw new NullPointerException("memberInvoker cannot be null");
+        }
+        this.memberInvoker = memberInvoker;
+        return this;
+    }
+
     public PicoBuilder addChildToParent() {
         addChildToParent =  true;
         return this;
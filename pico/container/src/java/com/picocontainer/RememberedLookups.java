@@ -0,0 +1,82 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The answers to lookups made against registrations at one {@link Versioning#getRegistrationVersion() version},
+ * including lookups that found nothing.  Once the registrations change, a fresh instance takes over from this one,
+ * see {@link #at(RememberedLookups, long)}, so answers are never stale.
+ * <p/>
+ * Lookups that find something are bounded by what is registered, but those that find nothing are not, as any
+ * number of keys can be asked for.  Only the first {@link #MAX_NOT_FOUND} of those are remembered.
+ * <p/>
+ * Reading takes no locks.  Remembering an answer another thread remembered first keeps the first one.
+ */
+public final class RememberedLookups {
+
+    /**
+     * What {@link #get(Object)} answers for a key that was looked up and found nothing.
+     */
+    public static final Object NOT_FOUND = new Object();
+
+    public static final int MAX_NOT_FOUND = 1024;
+
+    private final long version;
+
+    private final ConcurrentMap<Object, Object> answers = new ConcurrentHashMap<Object, Object>();
+
+    private final AtomicInteger notFound = new AtomicInteger();
+
+    public RememberedLookups(final long version) {
+        this.version = version;
+    }
+
+    /**
+     * @param current the lookups remembered so far, if any
+     * @param version the version of the registrations now
+     * @return <code>current</code> if it was remembered at the given version, otherwise an empty instance for it
+     */
+    public static RememberedLookups at(final RememberedLookups current, final long version) {
+        return current != null && current.version == version ? current : new RememberedLookups(version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return what was found for the key, {@link #NOT_FOUND} if nothing was, or <code>null</code> if it is not known
+     */
+    public Object get(final Object key) {
+        return answers.get(key);
+    }
+
+    /**
+     * @param found what was found for the key, or <code>null</code> if nothing was
+     * @return what is remembered for the key, or <code>null</code> if nothing was found
+     */
+    public Object remember(final Object key, final Object found) {
+        if (found == null && notFound.get() >= MAX_NOT_FOUND) {
+            return null;
+        }
+        Object answer = found == null ? NOT_FOUND : found;
+        Object raced = answers.putIfAbsent(key, answer);
+        if (raced != null) {
+            answer = raced;
+        } else if (found == null) {
+            notFound.incrementAndGet();
+        }
+        return answer == NOT_FOUND ? null : answer;
+    }
+
+}
@@ -0,0 +1,31 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer;
+
+/**
+ * Interface for containers that can tell whether their component registrations, or those of the
+ * containers they resolve from, have changed.  Adapters and parameters use it to know when
+ * resolution results they have remembered are still good.
+ */
+public interface Versioning {
+
+    /**
+     * Returned by containers that cannot track their registrations, or that resolve from
+     * a container that cannot.
+     */
+    long UNVERSIONED = -1;
+
+    /**
+     * Retrieve the registration version.  The value changes whenever a component is added to or
+     * removed from the container, or from any container it resolves components from.
+     * @return the registration version, or {@link #UNVERSIONED}.
+     */
+    long getRegistrationVersion();
+
+}
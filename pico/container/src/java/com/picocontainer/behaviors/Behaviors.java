@@ -38,6 +38,10 @@ public class Behaviors {
         return new Caching();
     }
 
+    public static Behavior concurrentCaching() {
+        return new ConcurrentCaching();
+    }
+
     public static Behavior synchronizing() {
         return new Synchronizing();
     }
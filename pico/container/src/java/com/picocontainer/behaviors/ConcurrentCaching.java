@@ -0,0 +1,156 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+
+package com.picocontainer.behaviors;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.ObjectReference;
+import com.picocontainer.PicoCompositionException;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.parameters.ConstructorParameters;
+import com.picocontainer.parameters.FieldParameters;
+import com.picocontainer.parameters.MethodParameters;
+import com.picocontainer.references.VolatileReference;
+
+/**
+ * factory class creating cached behaviours that are safe to hit from many threads at once.
+ * Unlike {@link Caching}, each component is guaranteed to be instantiated only once, and unlike
+ * wrapping it in {@link Locking} or {@link Synchronizing}, looking up the instance takes no lock
+ * once it has been made.
+ * @see ConcurrentCached
+ */
+@SuppressWarnings("serial")
+public class ConcurrentCaching extends AbstractBehavior {
+
+    @Override
+	public <T> ComponentAdapter<T> createComponentAdapter(final ComponentMonitor monitor, final LifecycleStrategy lifecycle,
+			final Properties componentProps, final Object key, final Class<T> impl, final ConstructorParameters constructorParams, final FieldParameters[] fieldParams, final MethodParameters[] methodParams) throws PicoCompositionException {
+		if (removePropertiesIfPresent(componentProps, Characteristics.NO_CACHE)) {
+			return super.createComponentAdapter(monitor, lifecycle, componentProps, key, impl, constructorParams, fieldParams, methodParams);
+		}
+		removePropertiesIfPresent(componentProps, Characteristics.CACHE);
+        return monitor.changedBehavior(new ConcurrentCached<T>(
+                super.createComponentAdapter(monitor, lifecycle, componentProps, key, impl, constructorParams, fieldParams, methodParams)));
+	}
+
+	@Override
+	public <T> ComponentAdapter<T> addComponentAdapter(final ComponentMonitor monitor, final LifecycleStrategy lifecycle,
+			final Properties componentProps, final ComponentAdapter<T> adapter) {
+		if (removePropertiesIfPresent(componentProps, Characteristics.NO_CACHE)) {
+			return super.addComponentAdapter(monitor, lifecycle, componentProps, adapter);
+		}
+		removePropertiesIfPresent(componentProps, Characteristics.CACHE);
+        ComponentAdapter<T> delegate = super.addComponentAdapter(monitor, lifecycle, componentProps, adapter);
+        return monitor.changedBehavior(new ConcurrentCached<T>(delegate));
+	}
+
+    /**
+     * <p>
+     * A {@link Caching.Cached} that makes its instance exactly once, however many threads ask for it
+     * at the same time.
+     * </p>
+     * <p>
+     * The first thread to find no instance claims the construction with a compare-and-set and
+     * builds it; threads arriving meanwhile wait for that construction to finish.  If it fails, the
+     * next waiting thread gets to try.  Once the instance is published it is read with a single volatile
+     * read, without any locking.  A request for the component made by the constructing thread itself
+     * goes straight to the delegate, so that cyclic dependencies are reported rather than deadlocking.
+     * </p>
+     */
+    @SuppressWarnings("serial")
+    public static class ConcurrentCached<T> extends Caching.Cached<T> {
+
+        private transient AtomicReference<Construction> construction = new AtomicReference<Construction>();
+
+        public ConcurrentCached(final ComponentAdapter<T> delegate) {
+            super(delegate, new VolatileReference<Instance<T>>());
+        }
+
+        @Override
+		public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
+            ObjectReference<Instance<T>> reference = getInstanceReference();
+            while (true) {
+                Instance<T> inst = reference.get();
+                T instance = inst == null ? null : inst.instance;
+                if (instance != null) {
+                    return instance;
+                }
+                Construction current = construction.get();
+                if (current == null) {
+                    Construction mine = new Construction();
+                    if (construction.compareAndSet(null, mine)) {
+                        try {
+                            return construct(container, into, reference);
+                        } finally {
+                            construction.set(null);
+                            mine.done.countDown();
+                        }
+                    }
+                } else if (current.owner == Thread.currentThread()) {
+                    return getDelegate().getComponentInstance(container, into);
+                } else {
+                    current.awaitDone();
+                }
+            }
+        }
+
+        private T construct(final PicoContainer container, final Type into, final ObjectReference<Instance<T>> reference) {
+            Instance<T> inst = reference.get();
+            if (inst == null) {
+                inst = new Instance<T>();
+                reference.set(inst);
+            } else if (inst.instance != null) {
+                return inst.instance;
+            }
+            T instance = getDelegate().getComponentInstance(container, into);
+            inst.instance = instance;
+            return instance;
+        }
+
+        @Override
+		public String getDescriptor() {
+            return "ConcurrentCached" + getLifecycleDescriptor();
+        }
+
+        private void readObject(final java.io.ObjectInputStream stream)
+                throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            construction = new AtomicReference<Construction>();
+        }
+
+        private static class Construction {
+            private final Thread owner = Thread.currentThread();
+            private final CountDownLatch done = new CountDownLatch(1);
+
+            private void awaitDone() {
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        done.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
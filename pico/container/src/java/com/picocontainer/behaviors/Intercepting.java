@@ -50,7 +50,8 @@ public class Intercepting extends AbstractBehavior {
 
         private final Map<Class, Object> pres = new HashMap<Class, Object>();
         private final Map<Class, Object> posts = new HashMap<Class, Object>();
-        private final Controller controller = new ControllerWrapper(new InterceptorThreadLocal());
+        private final InterceptorThreadLocal controllers = new InterceptorThreadLocal();
+        private final Controller controller = new ControllerWrapper(controllers);
 
         public Intercepted(final ComponentAdapter<T> delegate) {
             super(delegate);
@@ -66,6 +67,7 @@ public class Intercepting extends AbstractBehavior {
 
         @Override
         protected Object invokeMethod(final Object componentInstance, final Method method, final Object[] args, final PicoContainer container) throws Throwable {
+            Controller controller = currentController();
             try {
                 controller.clear();
                 controller.instance(componentInstance);
@@ -95,6 +97,15 @@ public class Intercepting extends AbstractBehavior {
             return controller;
         }
 
+        /**
+         * The controller of the current thread itself, rather than the wrapper handed to interceptors, for use
+         * several times in one invocation.
+         * @return the current thread's controller
+         */
+        protected Controller currentController() {
+            return controllers.get();
+        }
+
         @Override
 		public String getDescriptor() {
             return "Intercepted";
@@ -39,6 +39,11 @@ public class Storing extends AbstractBehavior {
 
     @SuppressWarnings("rawtypes")
 	private StoreThreadLocal mapThreadLocalObjectReference = new StoreThreadLocal();
+
+    /**
+     * Each thread's own store, kept for {@link #recycleCacheForThread()}.
+     */
+    private RecycledStoreThreadLocal recycledStores = new RecycledStoreThreadLocal();
     
 	@Override
 	public void dispose() {
@@ -49,6 +54,9 @@ public class Storing extends AbstractBehavior {
 				mapThreadLocalObjectReference.remove();
 
 			}
+			if (recycledStores != null) {
+				recycledStores.remove();
+			}
 		}
 	}
 
@@ -101,7 +109,28 @@ public class Storing extends AbstractBehavior {
         return storeWrapper;
     }
 
+    /**
+     * Makes an empty store current for this thread, like {@link #resetCacheForThread()}, but
+     * reuses the thread's own store rather than allocating one each time.  As the thread's next
+     * recycle empties it again, a recycled store should not be kept with {@link #getCacheForThread()}.
+     */
+    public void recycleCacheForThread() {
+        Map map = recycledStores.get();
+        if (map == null) {
+            map = new HashMap();
+            recycledStores.set(map);
+        } else {
+            map.clear();
+        }
+        getThreadLocalStore().set(map);
+    }
+
     public void invalidateCacheForThread() {
+        Map current = (Map) getThreadLocalStore().get();
+        if (current != null && current == recycledStores.get()) {
+            // let go of the instances now rather than when the thread next recycles its store.
+            current.clear();
+        }
     	getThreadLocalStore().set(Collections.emptyMap());
     }
 
@@ -119,6 +148,7 @@ public class Storing extends AbstractBehavior {
 
     	stream.defaultReadObject();
     	mapThreadLocalObjectReference = new StoreThreadLocal();;
+    	recycledStores = new RecycledStoreThreadLocal();
     }    
 
     public static class StoreThreadLocal<T> extends ThreadLocal<Map<Object, T>> implements Serializable {
@@ -131,6 +161,10 @@ public class Storing extends AbstractBehavior {
     
     
 
+    @SuppressWarnings("rawtypes")
+    private static class RecycledStoreThreadLocal extends ThreadLocal<Map> implements Serializable {
+    }
+
     public static class StoreWrapper implements Serializable {
         private Map wrapped;
     }
@@ -147,6 +181,13 @@ public class Storing extends AbstractBehavior {
                     ? new RealComponentLifecycle<T>() : new NoComponentLifecycle<T>();
         }
 
+        /**
+         * @return the reference holding the stored instance and its lifecycle state.
+         */
+        protected ObjectReference<Instance<T>> getInstanceReference() {
+            return instanceReference;
+        }
+
         private void guardInstRef() {
             if (instanceReference.get() == null) {
                 instanceReference.set(new Instance<T>());
@@ -323,7 +364,7 @@ public class Storing extends AbstractBehavior {
         }
 
         public static class Instance<T> implements Serializable {
-            private T instance;
+            protected volatile T instance;
             protected boolean started;
             protected boolean disposed;
         }
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.
+ * ---------------------------------------------------------------------------
+ * The software in this package is published under the terms of the BSD style
+ * license a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ ******************************************************************************/
+package com.picocontainer.classname;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The names of the classes in jars, read once per jar and kept until the jar's modification time or
+ * size changes.  If given a directory, the index of each jar is also written there, so that later runs
+ * need not open the jar at all.  The shared index uses the directory named by the
+ * <code>picocontainer.classNameIndexDir</code> system property, if set.
+ * <p/>
+ * A jar is named by its path, or for a jar inside another jar, by the path of the outer jar and the
+ * entries of the inner ones, separated by <code>!/</code>.
+ */
+public final class ClassNameIndex {
+
+    private static final String NESTING = "!/";
+    private static final String INDEX_SUFFIX = ".classes";
+
+    private static final ClassNameIndex shared = new ClassNameIndex(getDefaultDirectory());
+
+    private final File directory;
+    private final ConcurrentMap<String, Entries> indexes = new ConcurrentHashMap<String, Entries>();
+
+    /**
+     * @param directory where to keep indexes between runs, or null to keep them in memory only
+     */
+    public ClassNameIndex(final File directory) {
+        this.directory = directory;
+    }
+
+    public static ClassNameIndex getSharedIndex() {
+        return shared;
+    }
+
+    private static File getDefaultDirectory() {
+        String dir = System.getProperty("picocontainer.classNameIndexDir");
+        return dir == null ? null : new File(dir);
+    }
+
+    /**
+     * Lists the class entries of a package in a jar, such as <code>com/picocontainer/DefaultPicoContainer.class</code>.
+     * @param jar the jar, possibly nested
+     * @param pkgName the package, with '/' separators
+     * @param recursive whether to include the classes of sub-packages
+     * @return the entry names, in the order of the jar
+     * @throws IOException if the jar cannot be read
+     */
+    public List<String> getClassEntries(final String jar, final String pkgName, final boolean recursive) throws IOException {
+        String[] names = getEntries(jar).names;
+        String prefix = pkgName.length() == 0 || pkgName.endsWith("/") ? pkgName : pkgName + "/";
+        List<String> result = new ArrayList<String>();
+        for (String name : names) {
+            if (name.startsWith(prefix) && (recursive || name.indexOf('/', prefix.length()) == -1)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indexes several jars at once, reading them in parallel, ahead of visits to them.
+     * @param jars the jars, possibly nested
+     * @throws IOException if one of the jars cannot be read
+     */
+    public void prepare(final Collection<String> jars) throws IOException {
+        if (jars.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(jars.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Entries>> indexing = new ArrayList<Future<Entries>>();
+            for (final String jar : jars) {
+                indexing.add(executor.submit(new Callable<Entries>() {
+                    public Entries call() throws IOException {
+                        return getEntries(jar);
+                    }
+                }));
+            }
+            for (Future<Entries> entries : indexing) {
+                entries.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (Error) e.getCause();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Entries getEntries(final String jar) throws IOException {
+        String[] path = jar.endsWith(NESTING) ? jar.substring(0, jar.length() - NESTING.length()).split(NESTING) : jar.split(NESTING);
+        File file = new File(path[0]);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(path[0]);
+        }
+        String key = file.getCanonicalPath();
+        for (int i = 1; i < path.length; i++) {
+            key = key + NESTING + path[i];
+        }
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        Entries entries = indexes.get(key);
+        if (entries != null && entries.isFor(lastModified, length)) {
+            return entries;
+        }
+        entries = readIndex(key, lastModified, length);
+        if (entries == null) {
+            entries = new Entries(lastModified, length, readJar(file, path));
+            writeIndex(key, entries);
+        }
+        indexes.put(key, entries);
+        return entries;
+    }
+
+    private static String[] readJar(final File file, final String[] path) throws IOException {
+        List<String> names = new ArrayList<String>();
+        ZipFile zip = new ZipFile(file);
+        try {
+            if (path.length == 1) {
+                for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+                    addClassEntry(e.nextElement(), names);
+                }
+            } else {
+                ZipEntry outer = zip.getEntry(path[1]);
+                if (outer == null) {
+                    throw new FileNotFoundException(path[1] + " in " + file);
+                }
+                ZipInputStream nested = new ZipInputStream(zip.getInputStream(outer));
+                for (int i = 2; i < path.length; i++) {
+                    nested = new ZipInputStream(findEntry(nested, path[i]));
+                }
+                for (ZipEntry entry = nested.getNextEntry(); entry != null; entry = nested.getNextEntry()) {
+                    addClassEntry(entry, names);
+                }
+            }
+        } finally {
+            zip.close();
+        }
+        return names.toArray(new String[names.size()]);
+    }
+
+    private static InputStream findEntry(final ZipInputStream zip, final String name) throws IOException {
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (entry.getName().equals(name)) {
+                return zip;
+            }
+        }
+        throw new FileNotFoundException(name);
+    }
+
+    private static void addClassEntry(final ZipEntry entry, final List<String> names) {
+        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+            names.add(entry.getName());
+        }
+    }
+
+    private File getIndexFile(final String key) {
+        String name = key.substring(key.lastIndexOf(File.separatorChar) + 1).replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(directory, name + "-" + Integer.toHexString(key.hashCode()) + INDEX_SUFFIX);
+    }
+
+    /**
+     * Reads a stored index, first line the jar, then its modification time and size, then its class entries.
+     * @return the index, or null if there is none or it is out of date
+     */
+    private Entries readIndex(final String key, final long lastModified, final long length) {
+        if (directory == null) {
+            return null;
+        }
+        File indexFile = getIndexFile(key);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), "UTF-8"));
+            try {
+                if (!key.equals(reader.readLine()) || !String.valueOf(lastModified).equals(reader.readLine())
+                        || !String.valueOf(length).equals(reader.readLine())) {
+                    return null;
+                }
+                List<String> names = new ArrayList<String>();
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    names.add(line);
+                }
+                return new Entries(lastModified, length, names.toArray(new String[names.size()]));
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores an index, if there is a directory to keep it in.  Written to a temporary file first, so
+     * that a concurrent reader never sees half of it.  Failure only means the jar is read again next time.
+     */
+    private void writeIndex(final String key, final Entries entries) {
+        if (directory == null || !(directory.isDirectory() || directory.mkdirs())) {
+            return;
+        }
+        File indexFile = getIndexFile(key);
+        try {
+            File tmp = File.createTempFile(indexFile.getName(), ".tmp", directory);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8"));
+            try {
+                writer.write(key + "\n" + entries.lastModified + "\n" + entries.length + "\n");
+                for (String name : entries.names) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+            if (!tmp.renameTo(indexFile)) {
+                indexFile.delete();
+                if (!tmp.renameTo(indexFile)) {
+                    tmp.delete();
+                }
+            }
+        } catch (IOException e) {
+            // the index is an optimization only
+        }
+    }
+
+    private static final class Entries {
+        private final long lastModified;
+        private final long length;
+        private final String[] names;
+
+        private Entries(final long lastModified, final long length, final String[] names) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.names = names;
+        }
+
+        private boolean isFor(final long lastModified, final long length) {
+            return this.lastModified == lastModified && this.length == length;
+        }
+    }
+
+}
@@ -20,15 +20,12 @@ import java.security.Permissions;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import javax.inject.Provider;
 
@@ -88,6 +85,7 @@ public class DefaultClassLoadingPicoContainer extends AbstractDelegatingMutableP
 
     private transient URLClassLoader componentClassLoader;
     private transient boolean componentClassLoaderLocked;
+    private transient boolean jarsPrepared;
 
     protected final Map<String, PicoContainer> namedChildContainers = new HashMap<String, PicoContainer>();
 
@@ -691,39 +689,49 @@ public class DefaultClassLoadingPicoContainer extends AbstractDelegatingMutableP
         }
     }
 
+    /**
+     * Visits the classes of a package in a jar, as listed by the {@link ClassNameIndex#getSharedIndex() shared index}.
+     * The jar may be inside another jar.
+     */
     public int visit(final String pkgName, final String codeSourceRoot, final Pattern compiledPattern, final boolean recursive, final ClassNameVisitor classNameVisitor) {
         int found = 0;
-        ZipFile zip = null;
+        String jar = codeSourceRoot.startsWith("file:") ? codeSourceRoot.substring("file:".length()) : codeSourceRoot;
+        prepareJars(jar);
         try {
-            zip = new ZipFile(new File(codeSourceRoot));
-            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
-                ZipEntry entry = e.nextElement();
-                String entryName = entry.getName();
-                if (entryName.startsWith(pkgName) && entryName.endsWith(".class")) {
-                    String name =  entryName.substring(pkgName.length()+1);
-                    if (name.endsWith("XStream.class")) {
-                        System.out.println();
-                    }
-                    int length = name.split("/").length;
-                    if (length == 1 || recursive) {
-                        found = visit(pkgName, compiledPattern, classNameVisitor, found, entryName.replace("/","."), null);
-                    }
-                }
+            for (String entryName : ClassNameIndex.getSharedIndex().getClassEntries(jar, pkgName, recursive)) {
+                found = visit(pkgName, compiledPattern, classNameVisitor, found, entryName.replace("/","."), null);
             }
         } catch (IOException e) {
             e.printStackTrace();
-        } finally {
-        	try {
-	        	if (zip != null) {
-	        		zip.close();
-	        	}
-        	} catch (IOException e) {
-        		e.printStackTrace();
-        	}
         }
         return found;
     }
 
+    /**
+     * On the first visit to a jar, indexes it together with the jars added to the class path, in parallel,
+     * so that visits to those that follow find them indexed already.
+     */
+    private synchronized void prepareJars(final String visitedJar) {
+        if (jarsPrepared) {
+            return;
+        }
+        jarsPrepared = true;
+        List<String> jars = new ArrayList<String>();
+        jars.add(visitedJar);
+        for (ClassPathElement cpe : classPathElements) {
+            URL url = cpe.getUrl();
+            if ("file".equals(url.getProtocol()) && new File(url.getFile()).isFile() && !jars.contains(url.getFile())) {
+                jars.add(url.getFile());
+            }
+        }
+        if (jars.size() > 1) {
+            try {
+                ClassNameIndex.getSharedIndex().prepare(jars);
+            } catch (IOException e) {
+                // only an optimization, each jar is indexed again when visited
+            }
+        }
+    }
 
     private int visit(final String pkgName, final Pattern pattern, final ClassNameVisitor classNameVisitor, int foundSoFar, String fileName, final String absolutePath) {
         boolean matches = pattern.matcher(fileName).matches();
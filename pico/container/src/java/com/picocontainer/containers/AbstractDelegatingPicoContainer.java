@@ -15,6 +15,7 @@ import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoException;
 import com.picocontainer.PicoVisitor;
+import com.picocontainer.Versioning;
 
 /**
  * Abstract base class for <i>immutable<i> delegation to a PicoContainer
@@ -23,7 +24,7 @@ import com.picocontainer.PicoVisitor;
  *
  */
 @SuppressWarnings("serial")
-public abstract class AbstractDelegatingPicoContainer implements PicoContainer, Converting, Serializable {
+public abstract class AbstractDelegatingPicoContainer implements PicoContainer, Converting, Versioning, Serializable {
 
     private PicoContainer delegate;
 
@@ -163,4 +164,12 @@ public abstract class AbstractDelegatingPicoContainer implements PicoContainer,
             return null;
         }
     }
+
+    public long getRegistrationVersion() {
+        if (delegate instanceof Versioning) {
+            return ((Versioning) delegate).getRegistrationVersion();
+        } else {
+            return UNVERSIONED;
+        }
+    }
 }
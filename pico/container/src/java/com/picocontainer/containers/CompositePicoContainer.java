@@ -12,6 +12,7 @@ package com.picocontainer.containers;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -24,76 +25,183 @@ import com.picocontainer.Converting;
 import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
+import com.picocontainer.RememberedLookups;
+import com.picocontainer.Versioning;
 
 /**
  * CompositePicoContainer takes a var-args list of containers and will query them
  * in turn for getComponent(*) and getComponentAdapter(*) requests.  Methods returning
  * lists and getParent/accept will not function.
+ * <p/>
+ * Optionally, the composite remembers which container answered for a key, type or converted type,
+ * and which were answered by none, for as long as the registrations of all the containers, each of
+ * them {@link Versioning}, do not change.  Only so many lookups answered by none are remembered, see
+ * {@link RememberedLookups}.  A remembered container that no longer answers is passed
+ * over for a search of all of them.  Answers that change without a registration changing, such as
+ * late resolutions by a component monitor, may then be missed.
  */
-public class CompositePicoContainer implements PicoContainer, Converting, Serializable {
+@SuppressWarnings("serial")
+public class CompositePicoContainer implements PicoContainer, Converting, Versioning, Serializable {
 
     private final PicoContainer[] containers;
     private final Converters compositeConverter = new CompositeConverters();
+    private final boolean rememberRoutes;
+
+    /**
+     * The containers that answered, good for one registration version of them all.
+     */
+    private transient volatile Routes routes;
 
     public class CompositeConverters implements Converters {
         public boolean canConvert(final Type type) {
-            for (PicoContainer container : containers) {
-                if (container instanceof Converting && ((Converting) container).getConverters().canConvert(type)) {
-                    return true;
-                }
-            }
-            return false;
+            return converterFor(type) != null;
         }
 
         public Object convert(final String paramValue, final Type type) {
-            for (PicoContainer container : containers) {
-                if (container instanceof Converting) {
-                    Converters converter = ((Converting) container).getConverters();
-                    if (converter.canConvert(type)) {
-                        return converter.convert(paramValue, type);
+            Converters converter = converterFor(type);
+            return converter == null ? null : converter.convert(paramValue, type);
+        }
+
+        private Converters converterFor(final Type type) {
+            return route(convertersOf(currentRoutes()), type, new Lookup<Converters>() {
+                public Converters in(final PicoContainer container) {
+                    if (container instanceof Converting) {
+                        Converters converter = ((Converting) container).getConverters();
+                        if (converter.canConvert(type)) {
+                            return converter;
+                        }
                     }
+                    return null;
                 }
-            }
-            return null;
+            });
         }
     }
 
     public CompositePicoContainer(final PicoContainer... containers) {
+        this(false, containers);
+    }
+
+    /**
+     * @param rememberRoutes whether to remember which container answered each lookup
+     * @param containers the containers to query in turn
+     */
+    public CompositePicoContainer(final boolean rememberRoutes, final PicoContainer... containers) {
         this.containers = containers;
+        this.rememberRoutes = rememberRoutes;
     }
 
-    public <T> T getComponentInto(final Class<T> componentType, final Type into) {
+    /**
+     * {@inheritDoc}
+     * The version of a composite moves with the registrations of any of its containers.
+     */
+    public long getRegistrationVersion() {
+        long version = 0;
         for (PicoContainer container : containers) {
-            T inst = container.getComponentInto(componentType, into);
-            if (inst != null) {
-                return inst;
+            long containerVersion = container instanceof Versioning
+                    ? ((Versioning) container).getRegistrationVersion() : UNVERSIONED;
+            if (containerVersion == UNVERSIONED) {
+                return UNVERSIONED;
             }
+            version += containerVersion;
         }
-        return null;
+        return version;
     }
 
-    public <T> T getComponentInto(final Generic<T> componentType, final Type into) {
-        for (PicoContainer container : containers) {
-            T inst = container.getComponentInto(componentType, into);
-            if (inst != null) {
-                return inst;
+    /**
+     * One lookup in one of the containers.
+     */
+    private interface Lookup<R> {
+        R in(PicoContainer container);
+    }
+
+    /**
+     * The routes for the current registration version, or none if routes are not remembered.
+     */
+    private Routes currentRoutes() {
+        if (!rememberRoutes) {
+            return null;
+        }
+        long version = getRegistrationVersion();
+        if (version == UNVERSIONED) {
+            return null;
+        }
+        Routes current = routes;
+        if (current == null || current.instances.getVersion() != version) {
+            current = new Routes(version);
+            routes = current;
+        }
+        return current;
+    }
+
+    /**
+     * Asks the container remembered for the key, or else each container in turn, remembering which answered.
+     * @param known the remembered containers for this kind of lookup, or null
+     */
+    private <R> R route(final RememberedLookups known, final Object key, final Lookup<R> lookup) {
+        if (known != null) {
+            Object index = known.get(key);
+            if (index == RememberedLookups.NOT_FOUND) {
+                return null;
+            } else if (index != null) {
+                R found = lookup.in(containers[(Integer) index]);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        for (int i = 0; i < containers.length; i++) {
+            R found = lookup.in(containers[i]);
+            if (found != null) {
+                if (known != null) {
+                    known.remember(key, i);
+                }
+                return found;
             }
         }
+        if (known != null) {
+            known.remember(key, null);
+        }
         return null;
     }
 
+    private static RememberedLookups instancesOf(final Routes routes) {
+        return routes == null ? null : routes.instances;
+    }
+
+    private static RememberedLookups adaptersOf(final Routes routes) {
+        return routes == null ? null : routes.adapters;
+    }
+
+    private static RememberedLookups convertersOf(final Routes routes) {
+        return routes == null ? null : routes.converters;
+    }
+
+    public <T> T getComponentInto(final Class<T> componentType, final Type into) {
+        return route(instancesOf(currentRoutes()), componentType, new Lookup<T>() {
+            public T in(final PicoContainer container) {
+                return container.getComponentInto(componentType, into);
+            }
+        });
+    }
+
+    public <T> T getComponentInto(final Generic<T> componentType, final Type into) {
+        return route(instancesOf(currentRoutes()), componentType, new Lookup<T>() {
+            public T in(final PicoContainer container) {
+                return container.getComponentInto(componentType, into);
+            }
+        });
+    }
+
     public Object getComponent(final Object keyOrType) {
         return getComponentInto(keyOrType, ComponentAdapter.NOTHING.class);
     }
 
     public Object getComponentInto(final Object keyOrType, final Type into) {
-        for (PicoContainer container : containers) {
-            Object inst = container.getComponentInto(keyOrType, into);
-            if (inst != null) {
-                return inst;
+        return route(instancesOf(currentRoutes()), keyOrType, new Lookup<Object>() {
+            public Object in(final PicoContainer container) {
+                return container.getComponentInto(keyOrType, into);
             }
-        }
-        return null;
+        });
     }
 
     public <T> T getComponent(final Class<T> componentType) {
@@ -102,43 +210,35 @@ public class CompositePicoContainer implements PicoContainer, Converting, Serial
 
 
     public <T> T getComponent(final Generic<T> componentType) {
-        for (PicoContainer container : containers) {
-            Object inst = container.getComponent(componentType);
-            if (inst != null) {
-                return (T) inst;
+        return route(instancesOf(currentRoutes()), componentType, new Lookup<T>() {
+            public T in(final PicoContainer container) {
+                return container.getComponent(componentType);
             }
-        }
-        return null;
+        });
     }
 
     public ComponentAdapter getComponentAdapter(final Object key) {
-        for (PicoContainer container : containers) {
-            ComponentAdapter inst = container.getComponentAdapter(key);
-            if (inst != null) {
-                return inst;
+        return route(adaptersOf(currentRoutes()), key, new Lookup<ComponentAdapter<?>>() {
+            public ComponentAdapter<?> in(final PicoContainer container) {
+                return container.getComponentAdapter(key);
             }
-        }
-        return null;
+        });
     }
 
     public <T> ComponentAdapter<T> getComponentAdapter(final Class<T> componentType, final NameBinding nameBinding) {
-        for (PicoContainer container : containers) {
-            ComponentAdapter<T> inst = container.getComponentAdapter(Generic.get(componentType), nameBinding);
-            if (inst != null) {
-                return inst;
-            }
-        }
-        return null;
+        return getComponentAdapter(Generic.get(componentType), nameBinding);
     }
 
+    /**
+     * Lookups with a name binding are not remembered, as the binding's name may be costly to find.
+     */
     public <T> ComponentAdapter<T> getComponentAdapter(final Generic<T> componentType, final NameBinding nameBinding) {
-        for (PicoContainer container : containers) {
-            ComponentAdapter<T> inst = container.getComponentAdapter(componentType, nameBinding);
-            if (inst != null) {
-                return inst;
+        Routes current = nameBinding == null ? currentRoutes() : null;
+        return route(current == null ? null : current.typedAdapters, componentType, new Lookup<ComponentAdapter<T>>() {
+            public ComponentAdapter<T> in(final PicoContainer container) {
+                return container.getComponentAdapter(componentType, nameBinding);
             }
-        }
-        return null;
+        });
     }
 
     public <T> ComponentAdapter<T> getComponentAdapter(final Class<T> componentType, final Class<? extends Annotation> binding) {
@@ -146,13 +246,13 @@ public class CompositePicoContainer implements PicoContainer, Converting, Serial
     }
 
     public <T> ComponentAdapter<T> getComponentAdapter(final Generic<T> componentType, final Class<? extends Annotation> binding) {
-        for (PicoContainer container : containers) {
-            ComponentAdapter<T> inst = container.getComponentAdapter(componentType, binding);
-            if (inst != null) {
-                return inst;
+        Routes current = currentRoutes();
+        return route(current == null ? null : current.boundAdapters, Arrays.<Object>asList(componentType, binding),
+                new Lookup<ComponentAdapter<T>>() {
+            public ComponentAdapter<T> in(final PicoContainer container) {
+                return container.getComponentAdapter(componentType, binding);
             }
-        }
-        return null;
+        });
     }
 
     public <T> T getComponent(final Class<T> componentType, final Class<? extends Annotation> binding, final Type into) {
@@ -201,4 +301,23 @@ public class CompositePicoContainer implements PicoContainer, Converting, Serial
     public Converters getConverters() {
         return compositeConverter;
     }
+
+    /**
+     * The index of the container that answered each kind of lookup, if any did, at one registration version.
+     */
+    private static final class Routes {
+        private final RememberedLookups instances;
+        private final RememberedLookups adapters;
+        private final RememberedLookups typedAdapters;
+        private final RememberedLookups boundAdapters;
+        private final RememberedLookups converters;
+
+        private Routes(final long version) {
+            instances = new RememberedLookups(version);
+            adapters = new RememberedLookups(version);
+            typedAdapters = new RememberedLookups(version);
+            boundAdapters = new RememberedLookups(version);
+            converters = new RememberedLookups(version);
+        }
+    }
 }
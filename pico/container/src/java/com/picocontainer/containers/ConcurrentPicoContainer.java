@@ -0,0 +1,103 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.containers;
+
+import com.picocontainer.ComponentFactory;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AdaptingBehavior;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+
+/**
+ * A {@link DefaultPicoContainer} with a read-mostly registry, for containers that are set up once
+ * and then shared between many threads.
+ * <p/>
+ * Component adapters are kept in copy-on-write lists and a concurrent map, so lookups such as
+ * {@link #getComponent(Class)} and {@link #getComponents(Class)} take no locks.  Registrations
+ * copy what they change and are made one at a time, and start, stop and dispose stay synchronized.
+ * Use it with a thread-safe caching behavior such as {@link com.picocontainer.behaviors.ConcurrentCaching}.
+ */
+@SuppressWarnings("serial")
+public class ConcurrentPicoContainer extends DefaultPicoContainer {
+
+    /**
+     * Creates a new container with a custom ComponentFactory, LifecycleStrategy for instance registration,
+     * and a parent container.
+     *
+     * @param componentFactory the factory to use for creation of ComponentAdapters.
+     * @param lifecycle        the lifecycle strategy chosen for registered
+     *                         instance (not implementations!)
+     * @param parent           the parent container (used for component dependency lookups).
+     * @param monitor          the ComponentMonitor to use
+     */
+    public ConcurrentPicoContainer(final ComponentFactory componentFactory, final LifecycleStrategy lifecycle,
+                                   final PicoContainer parent, final ComponentMonitor monitor) {
+        super(true, parent, lifecycle, monitor, componentFactory);
+    }
+
+    /**
+     * Creates a new container with a custom ComponentFactory, LifecycleStrategy for instance registration,
+     * and a parent container.
+     *
+     * @param componentFactory the factory to use for creation of ComponentAdapters.
+     * @param lifecycle        the lifecycle strategy chosen for registered
+     *                         instance (not implementations!)
+     * @param parent           the parent container (used for component dependency lookups).
+     */
+    public ConcurrentPicoContainer(final ComponentFactory componentFactory, final LifecycleStrategy lifecycle,
+                                   final PicoContainer parent) {
+        this(componentFactory, lifecycle, parent, new NullComponentMonitor());
+    }
+
+    /**
+     * Creates a new container with a custom ComponentFactory and a parent container.
+     *
+     * @param componentFactory the factory to use for creation of ComponentAdapters.
+     * @param parent           the parent container (used for component dependency lookups).
+     */
+    public ConcurrentPicoContainer(final ComponentFactory componentFactory, final PicoContainer parent) {
+        this(componentFactory, new StartableLifecycleStrategy(new NullComponentMonitor()), parent);
+    }
+
+    /**
+     * Creates a new container with a custom ComponentFactory and no parent container.
+     *
+     * @param componentFactory the ComponentFactory to use.
+     */
+    public ConcurrentPicoContainer(final ComponentFactory componentFactory) {
+        this(componentFactory, null);
+    }
+
+    /**
+     * Creates a new container with a {@link AdaptingBehavior} and a parent container.
+     *
+     * @param parent the parent container (used for component dependency lookups).
+     */
+    public ConcurrentPicoContainer(final PicoContainer parent) {
+        this(new AdaptingBehavior(), parent);
+    }
+
+    /** Creates a new container with a {@link AdaptingBehavior} and no parent container. */
+    public ConcurrentPicoContainer() {
+        this(new AdaptingBehavior(), null);
+    }
+
+    @Override
+    public MutablePicoContainer makeChildContainer() {
+        ConcurrentPicoContainer child = new ConcurrentPicoContainer(super.componentFactory, super.lifecycle, this, super.monitor);
+        child.setLifecycleExecutor(getLifecycleExecutor());
+        addChildContainer(child);
+        return child;
+    }
+
+}
@@ -24,6 +24,7 @@ import com.picocontainer.Converting;
 import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
+import com.picocontainer.Versioning;
 import com.picocontainer.converters.ConvertsNothing;
 
 /**
@@ -34,7 +35,7 @@ import com.picocontainer.converters.ConvertsNothing;
  * @author Konstantin Pribluda
  */
 @SuppressWarnings("serial")
-public class EmptyPicoContainer implements PicoContainer, Converting, Serializable {
+public class EmptyPicoContainer implements PicoContainer, Converting, Versioning, Serializable {
 
     public Object getComponent(final Object keyOrType) {
         return null;
@@ -137,4 +138,8 @@ public class EmptyPicoContainer implements PicoContainer, Converting, Serializab
         return new ConvertsNothing();
     }
 
+    public long getRegistrationVersion() {
+        return 0;
+    }
+
 }
@@ -23,6 +23,7 @@ import com.picocontainer.Converting;
 import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
+import com.picocontainer.Versioning;
 import com.picocontainer.converters.ConvertsNothing;
 
 /**
@@ -32,7 +33,7 @@ import com.picocontainer.converters.ConvertsNothing;
  * @author Konstantin Pribluda
  */
 @SuppressWarnings("serial")
-public final class ImmutablePicoContainer implements PicoContainer, Converting, Serializable {
+public final class ImmutablePicoContainer implements PicoContainer, Converting, Versioning, Serializable {
 
     private final PicoContainer delegate;
 
@@ -156,4 +157,11 @@ public final class ImmutablePicoContainer implements PicoContainer, Converting,
         }
         return new ConvertsNothing();
     }
+
+    public long getRegistrationVersion() {
+        if (delegate instanceof Versioning) {
+            return ((Versioning) delegate).getRegistrationVersion();
+        }
+        return UNVERSIONED;
+    }
 }
@@ -18,6 +18,11 @@ import com.picocontainer.injectors.AdaptingInjection;
 @SuppressWarnings("serial")
 public class TieringPicoContainer extends DefaultPicoContainer {
 
+    /**
+     * The view of the parent given to lookups, made once.
+     */
+    private transient volatile TieringGuard guard;
+
     /**
      * Creates a new container with a custom ComponentFactory, LifecycleStrategy for instance registration,
      * and a parent container.
@@ -115,7 +120,25 @@ public class TieringPicoContainer extends DefaultPicoContainer {
 
     @Override
 	public PicoContainer getParent() {
-        return new TieringGuard(super.getParent());
+        TieringGuard parentView = guard;
+        if (parentView == null) {
+            PicoContainer parent = super.getParent();
+            if (parent == null) {
+                return null;
+            }
+            parentView = new TieringGuard(parent);
+            guard = parentView;
+        }
+        return parentView;
+    }
+
+    /**
+     * The guard answers the same for a key until the parent's registrations change, except while the
+     * parent is itself being asked by a child, when it answers nothing.
+     */
+    @Override
+    protected boolean canRememberParentLookups(final PicoContainer parentView) {
+        return parentView == guard && !TieringGuard.isAskingParentForComponent();
     }
 
     @Override
@@ -190,6 +213,10 @@ public class TieringPicoContainer extends DefaultPicoContainer {
             return askingParentForComponent.get() == Boolean.FALSE;
         }
 
+        private static boolean isAskingParentForComponent() {
+            return askingParentForComponent.get() != Boolean.FALSE;
+        }
+
         @Override
 		public ComponentAdapter<?> getComponentAdapter(final Object key) {
             boolean iDidIt = false;
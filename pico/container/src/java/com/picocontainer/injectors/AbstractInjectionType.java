@@ -18,6 +18,26 @@ import com.picocontainer.monitors.NullComponentMonitor;
 @SuppressWarnings("serial")
 public abstract class AbstractInjectionType implements InjectionType, Serializable {
 
+    private MemberInvoker memberInvoker;
+
+    /**
+     * Have the injectors this injection type creates from now on call constructors, methods and fields
+     * through the given backend rather than plain reflection.
+     * @param memberInvoker the backend to use
+     * @return this injection type
+     */
+    public AbstractInjectionType withMemberInvoker(final MemberInvoker memberInvoker) {
+        if (memberInvoker == null) {
+            throw new NullPointerException("memberInvoker");
+        }
+        this.memberInvoker = memberInvoker;
+        return this;
+    }
+
+    protected MemberInvoker getMemberInvoker() {
+        return memberInvoker;
+    }
+
     public void verify(final PicoContainer container) {
     }
 
@@ -27,6 +47,12 @@ public abstract class AbstractInjectionType implements InjectionType, Serializab
 
 
     protected <T> ComponentAdapter<T> wrapLifeCycle(final Injector<T> injector, final LifecycleStrategy lifecycle) {
+        if (memberInvoker != null) {
+            AbstractInjector<?> abstractInjector = injector.findAdapterOfType(AbstractInjector.class);
+            if (abstractInjector != null) {
+                abstractInjector.withMemberInvoker(memberInvoker);
+            }
+        }
         if (lifecycle instanceof NullLifecycleStrategy) {
             return injector;
         } else {
@@ -18,8 +18,10 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 
 import com.googlecode.jtype.Generic;
@@ -59,6 +61,9 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
     /** The strategy used to control the lifecycle */
     private final boolean useNames;
 
+    /** The backend used to call constructors, methods and fields */
+    private MemberInvoker memberInvoker = new ReflectionMemberInvoker();
+
     /**
      * Constructs a new ComponentAdapter for the given key and implementation.
      * @param key the search key for this implementation
@@ -106,6 +111,23 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
         return useNames;
     }
 
+    /**
+     * Use another backend for calling the constructors, methods and fields this injector has resolved.
+     * @param memberInvoker the backend to use
+     * @return this injector
+     */
+    public AbstractInjector<T> withMemberInvoker(final MemberInvoker memberInvoker) {
+        if (memberInvoker == null) {
+            throw new NullPointerException("memberInvoker");
+        }
+        this.memberInvoker = memberInvoker;
+        return this;
+    }
+
+    protected MemberInvoker getMemberInvoker() {
+        return memberInvoker;
+    }
+
     private void checkConcrete() throws NotConcreteRegistrationException {
         // Assert that the component class is concrete.
         boolean isAbstract = (getComponentImplementation().getModifiers() & Modifier.ABSTRACT) == Modifier.ABSTRACT;
@@ -351,7 +373,7 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
     protected T newInstance(final Constructor<T> constructor, final Object[] parameters)
             throws InstantiationException, IllegalAccessException, InvocationTargetException {
         try {
-			return constructor.newInstance(parameters);
+			return memberInvoker.newInstance(constructor, parameters);
 		} catch (IllegalArgumentException e) {
 			//Chain it with the calling parameters to give us some real information.
 			throw new IllegalArgumentException("Type mismatch calling constructor "
@@ -473,6 +495,40 @@ public abstract class AbstractInjector<T> extends AbstractAdapter<T> implements
 		return isStaticFields != null ? isStaticFields : Boolean.FALSE;
 	}
 
+    /**
+     * The cyclic dependency guards of the outermost calls in progress on each thread, by the injector
+     * that made them.  Calls nested on the same thread share their guard, while other threads never
+     * see it, so that one thread cannot clear a guard that another is still using.
+     */
+    private static final ThreadLocal<Map<Object, ThreadLocalCyclicDependencyGuard<?>>> GUARDS_IN_PROGRESS =
+            new ThreadLocal<Map<Object, ThreadLocalCyclicDependencyGuard<?>>>() {
+                @Override
+                protected Map<Object, ThreadLocalCyclicDependencyGuard<?>> initialValue() {
+                    return new IdentityHashMap<Object, ThreadLocalCyclicDependencyGuard<?>>();
+                }
+            };
+
+    /**
+     * @return the guard of a call of the given injector in progress on this thread, or <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ThreadLocalCyclicDependencyGuard<T> guardInProgress(final Object injector) {
+        return (ThreadLocalCyclicDependencyGuard<T>) GUARDS_IN_PROGRESS.get().get(injector);
+    }
+
+    static void guardStarted(final Object injector, final ThreadLocalCyclicDependencyGuard<?> guard) {
+        GUARDS_IN_PROGRESS.get().put(injector, guard);
+    }
+
+    static void guardFinished(final Object injector, final ThreadLocalCyclicDependencyGuard<?> guard) {
+        guard.remove();
+        Map<Object, ThreadLocalCyclicDependencyGuard<?>> guards = GUARDS_IN_PROGRESS.get();
+        guards.remove(injector);
+        if (guards.isEmpty()) {
+            GUARDS_IN_PROGRESS.remove();
+        }
+    }
+
     /**
      * Abstract utility class to detect recursion cycles.
      * Derive from this class and implement {@link ThreadLocalCyclicDependencyGuard#run}.
@@ -77,6 +77,16 @@ public class AdaptingInjection extends AbstractInjectionType {
 		annotatedFieldInjection = new AnnotatedFieldInjection();
 	}
 
+	@Override
+	public AbstractInjectionType withMemberInvoker(final MemberInvoker memberInvoker) {
+		constructorInjection.withMemberInvoker(memberInvoker);
+		methodInjection.withMemberInvoker(memberInvoker);
+		setterInjection.withMemberInvoker(memberInvoker);
+		annotatedMethodInjection.withMemberInvoker(memberInvoker);
+		annotatedFieldInjection.withMemberInvoker(memberInvoker);
+		return super.withMemberInvoker(memberInvoker);
+	}
+
 
 
 	public <T> ComponentAdapter<T> createComponentAdapter(final ComponentMonitor monitor, final LifecycleStrategy lifecycle,
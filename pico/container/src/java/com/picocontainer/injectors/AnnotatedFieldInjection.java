@@ -186,7 +186,7 @@ public class AnnotatedFieldInjection extends AbstractInjectionType {
 
             AnnotationInjectionUtils.setMemberAccessible(member);
 
-            field.set(componentInstance, toInject);
+            getMemberInvoker().set(field, componentInstance, toInject);
             return null;
         }
 
@@ -65,6 +65,16 @@ public class CompositeInjection extends AbstractInjectionType {
         return wrapLifeCycle(monitor.newInjector(new CompositeInjector<T>(key, impl, monitor, useNames, injectors)), lifecycle);
     }
 
+    @Override
+    public AbstractInjectionType withMemberInvoker(final MemberInvoker memberInvoker) {
+        for (InjectionType injectionType : injectionTypes) {
+            if (injectionType instanceof AbstractInjectionType) {
+                ((AbstractInjectionType) injectionType).withMemberInvoker(memberInvoker);
+            }
+        }
+        return super.withMemberInvoker(memberInvoker);
+    }
+
     public static class CompositeInjector<T> extends AbstractInjector<T> {
 
         private final Injector<T>[] injectors;
@@ -75,6 +85,17 @@ public class CompositeInjection extends AbstractInjectionType {
             this.injectors = injectors;
         }
 
+        @Override
+        public AbstractInjector<T> withMemberInvoker(final MemberInvoker memberInvoker) {
+            for (Injector<T> injector : injectors) {
+                AbstractInjector<?> abstractInjector = injector.findAdapterOfType(AbstractInjector.class);
+                if (abstractInjector != null) {
+                    abstractInjector.withMemberInvoker(memberInvoker);
+                }
+            }
+            return super.withMemberInvoker(memberInvoker);
+        }
+
         @Override
         public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
 	            T instance = null;
@@ -38,7 +38,9 @@ import com.picocontainer.NameBinding;
 import com.picocontainer.Parameter;
 import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
+import com.picocontainer.Versioning;
 import com.picocontainer.behaviors.AbstractBehavior;
+import com.picocontainer.monitors.ComponentMonitorHelper;
 import com.picocontainer.monitors.NullComponentMonitor;
 import com.picocontainer.parameters.AccessibleObjectParameterSet;
 import com.picocontainer.parameters.ConstructorParameters;
@@ -51,7 +53,8 @@ import com.picocontainer.parameters.MethodParameters;
  *
  * If there is more than one constructor for the component, the one with the
  * most satisfiable parameters will be used.  By default, the choice of
- * constructor for the component in question will be remembered between usages.
+ * constructor for the component in question will be remembered between usages,
+ * for as long as the registrations of a {@link Versioning} container do not change.
  *
  * @author Paul Hammant
  * @author Jon Tirs&eacute;n
@@ -103,9 +106,8 @@ public class ConstructorInjection extends AbstractInjectionType {
     public static class ConstructorInjector<T> extends MultiArgMemberInjector<T> {
 
         private transient List<Constructor<T>> sortedMatchingConstructors;
-        private transient ThreadLocalCyclicDependencyGuard<T> instantiationGuard;
         private boolean rememberChosenConstructor = true;
-        private transient CtorAndAdapters<T> chosenConstructor;
+        private transient volatile ResolutionPlan chosenConstructor;
         private boolean enableEmjection = false;
         private boolean allowNonPublicClasses = false;
 
@@ -178,25 +180,39 @@ public class ConstructorInjection extends AbstractInjectionType {
 
 
         private CtorAndAdapters<T> getGreediestSatisfiableConstructor(final PicoContainer guardedContainer, final Class<? extends T> impl) {
-            CtorAndAdapters<T> ctor = null;
+            long registrationVersion = guardedContainer instanceof Versioning
+                    ? ((Versioning) guardedContainer).getRegistrationVersion() : Versioning.UNVERSIONED;
+            ResolutionPlan plan = chosenConstructor;
+            if (plan != null && plan.registrationVersion == registrationVersion) {
+                return plan.ctorAndAdapters;
+            }
+            CtorAndAdapters<T> ctor;
             try {
-                if (chosenConstructor == null) {
-                    ctor = getGreediestSatisfiableConstructor(guardedContainer);
-                }
-                if (rememberChosenConstructor) {
-                    if (chosenConstructor == null) {
-                        chosenConstructor = ctor;
-                    } else {
-                        ctor = chosenConstructor;
-                    }
-                }
+                ctor = getGreediestSatisfiableConstructor(guardedContainer);
             } catch (AmbiguousComponentResolutionException e) {
                 e.setComponent(getComponentImplementation());
                 throw e;
             }
+            if (rememberChosenConstructor) {
+                chosenConstructor = new ResolutionPlan(ctor, registrationVersion);
+            }
             return ctor;
         }
 
+        /**
+         * The remembered constructor, along with the registration version of the container it was
+         * resolved against.  It is good until the registrations change.
+         */
+        private class ResolutionPlan {
+            private final CtorAndAdapters<T> ctorAndAdapters;
+            private final long registrationVersion;
+
+            private ResolutionPlan(final CtorAndAdapters<T> ctorAndAdapters, final long registrationVersion) {
+                this.ctorAndAdapters = ctorAndAdapters;
+                this.registrationVersion = registrationVersion;
+            }
+        }
+
         @SuppressWarnings({ "synthetic-access", "rawtypes" })
         protected CtorAndAdapters<T> getGreediestSatisfiableConstructor(final PicoContainer container) throws PicoCompositionException {
             final Set<Constructor<?>> conflicts = new HashSet<Constructor<?>>();
@@ -378,19 +394,14 @@ public class ConstructorInjection extends AbstractInjectionType {
             private final Constructor<TYPE> ctor;
             private final Parameter[] constructorParameters;
             private final ComponentAdapter<?>[] injecteeAdapters;
+            private final Type[] boxedParameterTypes;
+            private final Annotation[] bindings;
 
             @SuppressWarnings("rawtypes")
 			public CtorAndAdapters(final Constructor<TYPE> ctor, final Parameter[] parameters, final ComponentAdapter[] injecteeAdapters) {
                 this.ctor = ctor;
                 this.constructorParameters = parameters;
                 this.injecteeAdapters = injecteeAdapters;
-            }
-
-            public Constructor<TYPE> getConstructor() {
-                return ctor;
-            }
-
-            public Object[] getParameterArguments(final PicoContainer container, final Type into) {
                 Type[] parameterTypes = ctor.getGenericParameterTypes();
                 // as per fixParameterType()
                 for (int i = 0; i < parameterTypes.length; i++) {
@@ -400,11 +411,19 @@ public class ConstructorInjection extends AbstractInjectionType {
                     }
                 }
                 boxParameters(parameterTypes);
+                this.boxedParameterTypes = parameterTypes;
+                this.bindings = getBindings(ctor.getParameterAnnotations());
+            }
+
+            public Constructor<TYPE> getConstructor() {
+                return ctor;
+            }
+
+            public Object[] getParameterArguments(final PicoContainer container, final Type into) {
                 Object[] result = new Object[constructorParameters.length];
-                Annotation[] bindings = getBindings(ctor.getParameterAnnotations());
                 for (int i = 0; i < constructorParameters.length; i++) {
 
-                    result[i] = getParameter(container, ctor, i, parameterTypes[i],
+                    result[i] = getParameter(container, ctor, i, boxedParameterTypes[i],
                             bindings[i], constructorParameters[i], injecteeAdapters[i], into);
 
 
@@ -428,6 +447,7 @@ public class ConstructorInjection extends AbstractInjectionType {
         public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
         	boolean i_Instantiated = false;
         	T inst;
+        	ThreadLocalCyclicDependencyGuard<T> instantiationGuard = guardInProgress(this);
         	try {
 	            if (instantiationGuard == null) {
 	            	i_Instantiated = true;
@@ -440,6 +460,10 @@ public class ConstructorInjection extends AbstractInjectionType {
 	                        Constructor<T> ctor = ctorAndAdapters.getConstructor();
 	                        try {
 	                            Object[] ctorParameters = ctorAndAdapters.getParameterArguments(guardedContainer, into);
+	                            if (ComponentMonitorHelper.isSilent(monitor)) {
+	                                changeAccessToModifierifNeeded(ctor);
+	                                return newInstance(ctor, ctorParameters);
+	                            }
 	                            ctor = monitor.instantiating(container, ConstructorInjector.this, ctor);
 	                            if(ctor == null) {
 	                                throw new NullPointerException("Component Monitor " + monitor
@@ -467,14 +491,14 @@ public class ConstructorInjection extends AbstractInjectionType {
 	                        }
 	                    }
 	                };
+	                guardStarted(this, instantiationGuard);
 	            }
 	            instantiationGuard.setGuardedContainer(container);
 	            inst = instantiationGuard.observe(getComponentImplementation(), null);
 	            decorate(inst, container);
         	} finally {
 	            if (i_Instantiated) {
-	            	instantiationGuard.remove();
-	            	instantiationGuard = null;
+	            	guardFinished(this, instantiationGuard);
 	            }
         	}
             return inst;
@@ -30,6 +30,7 @@ import com.picocontainer.Parameter;
 import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.annotations.Bind;
+import com.picocontainer.monitors.ComponentMonitorHelper;
 import com.picocontainer.parameters.AccessibleObjectParameterSet;
 import com.thoughtworks.paranamer.AdaptiveParanamer;
 import com.thoughtworks.paranamer.AnnotationParanamer;
@@ -45,8 +46,6 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
 
     private static final Object[] NONE = new Object[0];
 
-    private transient ThreadLocalCyclicDependencyGuard<T> instantiationGuard;
-
     protected volatile transient List<AccessibleObject> injectionMembers;
     protected transient Type[] injectionTypes;
     protected transient Annotation[] bindings;
@@ -301,6 +300,7 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
         final Constructor<?> constructor = getConstructor();
         boolean iInstantiated = false;
         T result;
+        ThreadLocalCyclicDependencyGuard<T> instantiationGuard = guardInProgress(this);
         try {
 	        if (instantiationGuard == null) {
 	        	iInstantiated = true;
@@ -312,13 +312,13 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
 	                    return  decorateComponentInstance(matchingParameters, currentMonitor(), componentInstance, container, guardedContainer, into, null);
 	                }
 	            };
+	            guardStarted(this, instantiationGuard);
 	        }
 	        instantiationGuard.setGuardedContainer(container);
 	        result = instantiationGuard.observe(getComponentImplementation(), null);
         } finally {
 	        if (iInstantiated) {
-	        	instantiationGuard.remove();
-	        	instantiationGuard = null;
+	        	guardFinished(this, instantiationGuard);
 	        }
         }
         return result;
@@ -328,6 +328,7 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
         AccessibleObject member = null;
         Object injected[] = new Object[injectionMembers.size()];
         Object lastReturn = null;
+        boolean silent = ComponentMonitorHelper.isSilent(monitor);
         try {
             for (int i = 0; i < matchingParameters.length; i++) {
             	if (matchingParameters[i] != null) {
@@ -346,6 +347,11 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
                     Object toInject = matchingParameters[i].getAccessibleObjectParameters().getParams()[0].resolve(guardedContainer, this, null, injectionTypes[i],
                                                                             makeParameterNameImpl(injectionMembers.get(i)),
                                                                             useNames(), bindings[i]).resolveInstance(into);
+                    if (silent) {
+                        lastReturn = injectIntoMember(member, componentInstance, toInject);
+                        injected[i] = toInject;
+                        continue;
+                    }
                     Object rv = monitor.invoking(container, this, (Member) member, componentInstance, new Object[] {toInject});
                     if (rv == ComponentMonitor.KEEP) {
                         long str = System.currentTimeMillis();
@@ -368,8 +374,9 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
     protected abstract Object memberInvocationReturn(Object lastReturn, AccessibleObject member, Object instance);
 
     private Object makeInstance(final PicoContainer container, final Constructor constructor, final ComponentMonitor monitor) {
-        long startTime = System.currentTimeMillis();
-        Constructor constructorToUse = monitor.instantiating(container,
+        boolean silent = ComponentMonitorHelper.isSilent(monitor);
+        long startTime = silent ? 0 : System.currentTimeMillis();
+        Constructor constructorToUse = silent ? constructor : monitor.instantiating(container,
                                                                       IterativeInjector.this, constructor);
         Object componentInstance;
         try {
@@ -387,12 +394,14 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
         } catch (IllegalAccessException e) {
             return caughtIllegalAccessException(monitor, constructor, e, container);
         }
-        monitor.instantiated(container,
-                                      IterativeInjector.this,
-                                      constructorToUse,
-                                      componentInstance,
-                                      NONE,
-                                      System.currentTimeMillis() - startTime);
+        if (!silent) {
+            monitor.instantiated(container,
+                                          IterativeInjector.this,
+                                          constructorToUse,
+                                          componentInstance,
+                                          NONE,
+                                          System.currentTimeMillis() - startTime);
+        }
         return componentInstance;
     }
 
@@ -406,6 +415,7 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
     public Object partiallyDecorateComponentInstance(final PicoContainer container, final Type into, final T instance, final Class<?> superclassPortion) {
     	boolean iInstantiated = false;
     	T result;
+    	ThreadLocalCyclicDependencyGuard<T> instantiationGuard = guardInProgress(this);
     	try {
 	        if (instantiationGuard == null) {
 	        	iInstantiated = true;
@@ -416,13 +426,13 @@ public abstract class IterativeInjector<T> extends AbstractInjector<T> {
 	                    return decorateComponentInstance(matchingParameters, currentMonitor(), inst, container, guardedContainer, into, superclassPortion);
 	                }
 	            };
+	            guardStarted(this, instantiationGuard);
 	        }
         	instantiationGuard.setGuardedContainer(container);
         	result =  instantiationGuard.observe(getComponentImplementation(), instance);
     	} finally {
 	        if (iInstantiated) {
-	        	instantiationGuard.remove();
-	        	instantiationGuard = null;
+	        	guardFinished(this, instantiationGuard);
 	        }
     	}
         return result;
@@ -0,0 +1,57 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Backend that injectors use to create instances and to inject into methods and fields once these
+ * have been resolved.  Implementations may trade the reflective calls for something quicker, as long
+ * as they keep the reflection contract: failures of the member itself are reported as
+ * {@link InvocationTargetException}.
+ *
+ * @see ReflectionMemberInvoker
+ * @see AbstractInjector#withMemberInvoker(MemberInvoker)
+ */
+public interface MemberInvoker {
+
+    /**
+     * Calls a constructor.
+     * @param constructor the constructor to call
+     * @param args the arguments for it
+     * @return the new instance
+     * @see Constructor#newInstance(Object...)
+     */
+    <T> T newInstance(Constructor<T> constructor, Object[] args)
+            throws InstantiationException, IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Calls a method.
+     * @param method the method to call
+     * @param instance the instance to call it on, ignored for static methods
+     * @param args the arguments for it
+     * @return the value returned, or <code>null</code> for void methods
+     * @see Method#invoke(Object, Object...)
+     */
+    Object invoke(Method method, Object instance, Object[] args)
+            throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Sets a field.
+     * @param field the field to set
+     * @param instance the instance to set it on, ignored for static fields
+     * @param value the value to set
+     * @see Field#set(Object, Object)
+     */
+    void set(Field field, Object instance, Object value) throws IllegalAccessException;
+
+}
@@ -32,6 +32,7 @@ import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.annotations.Nullable;
 import com.picocontainer.behaviors.AbstractBehavior;
+import com.picocontainer.monitors.ComponentMonitorHelper;
 import com.picocontainer.parameters.AccessibleObjectParameterSet;
 import com.picocontainer.parameters.ConstructorParameters;
 import com.picocontainer.parameters.FieldParameters;
@@ -65,6 +66,12 @@ public class MethodInjection extends AbstractInjectionType {
         return delegate.createComponentAdapter(monitor, lifecycle, componentProps, key, impl, constructorParams, fieldParams, methodParams);
     }
 
+    @Override
+    public AbstractInjectionType withMemberInvoker(final MemberInvoker memberInvoker) {
+        delegate.withMemberInvoker(memberInvoker);
+        return super.withMemberInvoker(memberInvoker);
+    }
+
     public class MethodInjectionByName extends AbstractInjectionType {
         private final String injectionMethodName;
 
@@ -111,7 +118,6 @@ public class MethodInjection extends AbstractInjectionType {
      * @author Mauro Talevi
      */
     public static class MethodInjector<T> extends MultiArgMemberInjector<T> {
-        private transient ThreadLocalCyclicDependencyGuard<Object> instantiationGuard;
         private final String methodNamePrefix;
 
         /**
@@ -220,6 +226,7 @@ public class MethodInjection extends AbstractInjectionType {
         public T getComponentInstance(final PicoContainer container, final Type into) throws PicoCompositionException {
         	boolean i_Instantiated = false;
         	T result;
+        	ThreadLocalCyclicDependencyGuard<Object> instantiationGuard = guardInProgress(this);
         	try {
 	            if (instantiationGuard == null) {
 	            	i_Instantiated = true;
@@ -232,8 +239,12 @@ public class MethodInjection extends AbstractInjectionType {
 	                        ComponentMonitor monitor = currentMonitor();
 	                        Method lastMethod = null;
 	                        try {
-	                            monitor.instantiating(container, MethodInjector.this, null);
-	                            long startTime = System.currentTimeMillis();
+	                            boolean silent = ComponentMonitorHelper.isSilent(monitor);
+	                            long startTime = 0;
+	                            if (!silent) {
+	                                monitor.instantiating(container, MethodInjector.this, null);
+	                                startTime = System.currentTimeMillis();
+	                            }
 	                            Object[] methodParameters = null;
 	                            inst = getComponentImplementation().newInstance();
 	                            for (Method method : methods) {
@@ -241,8 +252,10 @@ public class MethodInjection extends AbstractInjectionType {
 	                                methodParameters = getMemberArguments(guardedContainer, method, into);
 	                                invokeMethod(method, methodParameters, inst, container);
 	                            }
-	                            monitor.instantiated(container, MethodInjector.this,
-	                                                          null, inst, methodParameters, System.currentTimeMillis() - startTime);
+	                            if (!silent) {
+	                                monitor.instantiated(container, MethodInjector.this,
+	                                                              null, inst, methodParameters, System.currentTimeMillis() - startTime);
+	                            }
 	                            return inst;
 	                        } catch (InstantiationException e) {
 	                            return caughtInstantiationException(monitor, null, e, container);
@@ -252,13 +265,13 @@ public class MethodInjection extends AbstractInjectionType {
 	                        }
 	                    }
 	                };
+	                guardStarted(this, instantiationGuard);
 	            }
 	            instantiationGuard.setGuardedContainer(container);
 	            result =  (T) instantiationGuard.observe(getComponentImplementation(), null);
         	} finally {
 	            if (i_Instantiated) {
-	            	instantiationGuard.remove();
-	            	instantiationGuard = null;
+	            	guardFinished(this, instantiationGuard);
 	            }
         	}
             return result;
@@ -281,6 +294,7 @@ public class MethodInjection extends AbstractInjectionType {
 				final Class<?> injectionTypeFilter) {
 			boolean iInstantiated = false;
 			Object o;
+			ThreadLocalCyclicDependencyGuard<Object> instantiationGuard = guardInProgress(this);
 			try {
 	            if (instantiationGuard == null) {
 	            	iInstantiated = true;
@@ -306,13 +320,13 @@ public class MethodInjection extends AbstractInjectionType {
 	                    }
 
 	                };
+	                guardStarted(this, instantiationGuard);
 	            }
 	            instantiationGuard.setGuardedContainer(container);
 	            o = instantiationGuard.observe(getComponentImplementation(), instance);
 			} finally {
 	            if (iInstantiated) {
-	            	instantiationGuard.remove();
-	            	instantiationGuard = null;
+	            	guardFinished(this, instantiationGuard);
 	            }
 			}
 
@@ -332,11 +346,15 @@ public class MethodInjection extends AbstractInjectionType {
 
         Object invokeMethod(final Method method, final Object[] methodParameters, final T instance, final PicoContainer container) {
             try {
+                if (ComponentMonitorHelper.isSilent(currentMonitor())) {
+                    makeAccessibleIfDesired(method);
+                    return getMemberInvoker().invoke(method, instance, methodParameters);
+                }
                 Object rv = currentMonitor().invoking(container, MethodInjector.this, (Member) method, instance, methodParameters);
                 if (rv == ComponentMonitor.KEEP) {
                     long str = System.currentTimeMillis();
                     makeAccessibleIfDesired(method);
-                    rv = method.invoke(instance, methodParameters);
+                    rv = getMemberInvoker().invoke(method, instance, methodParameters);
                     currentMonitor().invoked(container, MethodInjector.this, method, instance, System.currentTimeMillis() - str, rv, methodParameters);
                 }
                 return rv;
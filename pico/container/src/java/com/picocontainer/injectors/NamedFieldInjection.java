@@ -145,7 +145,7 @@ public class NamedFieldInjection extends AbstractInjectionType {
             throws IllegalAccessException, InvocationTargetException {
             Field field = (Field) member;
             field.setAccessible(true);
-            field.set(componentInstance, toInject);
+            getMemberInvoker().set(field, componentInstance, toInject);
             return null;
         }
 
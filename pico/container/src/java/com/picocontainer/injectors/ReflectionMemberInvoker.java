@@ -0,0 +1,37 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.injectors;
+
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * The default {@link MemberInvoker}, calling straight through to reflection.
+ */
+@SuppressWarnings("serial")
+public class ReflectionMemberInvoker implements MemberInvoker, Serializable {
+
+    public <T> T newInstance(final Constructor<T> constructor, final Object[] args)
+            throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return constructor.newInstance(args);
+    }
+
+    public Object invoke(final Method method, final Object instance, final Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        return method.invoke(instance, args);
+    }
+
+    public void set(final Field field, final Object instance, final Object value) throws IllegalAccessException {
+        field.set(instance, value);
+    }
+
+}
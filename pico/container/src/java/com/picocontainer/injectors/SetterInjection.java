@@ -144,7 +144,7 @@ public class SetterInjection extends AbstractInjectionType {
         @Override
         protected Object injectIntoMember(final AccessibleObject member, final Object componentInstance, final Object toInject)
             throws IllegalAccessException, InvocationTargetException {
-            return ((Method)member).invoke(componentInstance, toInject);
+            return getMemberInvoker().invoke((Method) member, componentInstance, new Object[] {toInject});
         }
 
         @Override
@@ -43,8 +43,6 @@ public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implement
 
     private boolean isStaticInjection = false;
 
-    private transient ThreadLocalCyclicDependencyGuard<T> instantiationGuard;
-
     /**
      * Ugly hack to pass the initialized reference set to the inject method
      * without affecting base class signatures.
@@ -92,6 +90,7 @@ public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implement
 		}
 
         boolean iInstantiated = false;
+        ThreadLocalCyclicDependencyGuard<T> instantiationGuard = guardInProgress(this);
         try {
 	        if (instantiationGuard == null) {
 	        	iInstantiated = true;
@@ -105,13 +104,13 @@ public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implement
 	                    return  decorateComponentInstance(matchingParameters, currentMonitor(), null, container, guardedContainer, into, null);
 	                }
 	            };
+	            guardStarted(this, instantiationGuard);
 	        }
 	        instantiationGuard.setGuardedContainer(container);
 	        instantiationGuard.observe(getComponentImplementation(), null);
         } finally {
 	        if (iInstantiated) {
-	        	instantiationGuard.remove();
-	        	instantiationGuard = null;
+	        	guardFinished(this, instantiationGuard);
 	        }
 
 	        this.initializedReferenceSet = null;
@@ -180,7 +179,7 @@ public class SpecificFieldInjector<T> extends AbstractFieldInjector<T> implement
 			}
 	    });
 
-	    field.set(componentInstance, toInject);
+	    getMemberInvoker().set(field, componentInstance, toInject);
 	}
 
 	@Override
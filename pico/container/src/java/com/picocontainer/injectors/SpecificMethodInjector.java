@@ -31,7 +31,6 @@ import com.picocontainer.parameters.MethodParameters;
 public class SpecificMethodInjector<T> extends MethodInjection.MethodInjector<T> implements StaticInjector<T> {
     private final List<Method> injectionMethods;
 	private boolean isStaticInjection;
-    private transient ThreadLocalCyclicDependencyGuard<Object> instantiationGuard;
 	private StaticsInitializedReferenceSet initializedReferenceSet;
 
 
@@ -87,6 +86,7 @@ public class SpecificMethodInjector<T> extends MethodInjection.MethodInjector<T>
 		}
 
     	boolean i_Instantiated = false;
+    	ThreadLocalCyclicDependencyGuard<Object> instantiationGuard = guardInProgress(this);
     	try {
             if (instantiationGuard == null) {
             	i_Instantiated = true;
@@ -103,13 +103,13 @@ public class SpecificMethodInjector<T> extends MethodInjection.MethodInjector<T>
                         return null;
                     }
                 };
+                guardStarted(this, instantiationGuard);
             }
             instantiationGuard.setGuardedContainer(container);
             instantiationGuard.observe(getComponentImplementation(), null);
     	} finally {
             if (i_Instantiated) {
-            	instantiationGuard.remove();
-            	instantiationGuard = null;
+            	guardFinished(this, instantiationGuard);
             }
     	}
 
@@ -136,7 +136,7 @@ public class TypedFieldInjection extends AbstractInjectionType {
             throws IllegalAccessException, InvocationTargetException {
             Field field = (Field) member;
             field.setAccessible(true);
-            field.set(componentInstance, toInject);
+            getMemberInvoker().set(field, componentInstance, toInject);
             return null;
         }
 
@@ -13,6 +13,8 @@ import com.picocontainer.ComponentAdapter;
 import com.picocontainer.ComponentMonitor;
 import com.picocontainer.ComponentMonitorStrategy;
 import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.monitors.ComponentMonitorHelper;
+import com.picocontainer.monitors.SilentComponentMonitor;
 
 /**
  * Abstract base class for lifecycle strategy implementation supporting a {@link ComponentMonitor}.
@@ -56,6 +58,15 @@ public abstract class AbstractMonitoringLifecycleStrategy implements LifecycleSt
         return monitor;
     }
 
+    /**
+     * Whether lifecycle invocations are reported to the monitor.  A {@link SilentComponentMonitor}
+     * ignores them, so they need not be timed for it.  Failures are reported regardless.
+     * @return <code>false</code> if the current monitor is silent
+     */
+    protected boolean isMonitoringInvocations() {
+        return !ComponentMonitorHelper.isSilent(monitor);
+    }
+
     public boolean isLazy(final ComponentAdapter<?> adapter) {
         return false;
     }
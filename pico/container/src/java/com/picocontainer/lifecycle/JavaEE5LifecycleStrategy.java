@@ -28,6 +28,8 @@ import com.picocontainer.injectors.AnnotationInjectionUtils;
 @SuppressWarnings("serial")
 public final class JavaEE5LifecycleStrategy extends AbstractMonitoringLifecycleStrategy {
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     /**
      * Construct a JavaEE5LifecycleStrategy.
      *
@@ -68,12 +70,16 @@ public final class JavaEE5LifecycleStrategy extends AbstractMonitoringLifecycleS
 
             if (method.isAnnotationPresent(annotation) && !doneAlready.contains(signature)) {
                 try {
-                    long str = System.currentTimeMillis();
-                    currentMonitor().invoking(null, null, method, component, new Object[0]);
                     AnnotationInjectionUtils.setMemberAccessible(method);
-                    method.invoke(component);
+                    if (isMonitoringInvocations()) {
+                        long str = System.currentTimeMillis();
+                        currentMonitor().invoking(null, null, method, component, NO_ARGS);
+                        method.invoke(component);
+                        currentMonitor().invoked(null, null, method, component, System.currentTimeMillis() - str, null, NO_ARGS);
+                    } else {
+                        method.invoke(component);
+                    }
                     doneAlready.add(signature);
-                    currentMonitor().invoked(null, null, method, component, System.currentTimeMillis() - str, null, new Object[0]);
                 } catch (IllegalAccessException e) {
                     throw new PicoLifecycleException(method, component, e);
                 } catch (InvocationTargetException e) {
@@ -7,10 +7,12 @@
  *****************************************************************************/
 package com.picocontainer.lifecycle;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.picocontainer.ComponentMonitor;
 
@@ -51,10 +53,12 @@ public class ReflectionLifecycleStrategy extends AbstractMonitoringLifecycleStra
 	 */
     private final String[] methodNames;
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     /**
-     * Map of classes mapped to method arrays that are cached for reflection.
+     * Map of classes mapped to their lifecycle methods, looked up once per class.  Reads take no lock.
      */
-    private final transient Map<Class<?>, Method[]> methodMap = new HashMap<Class<?>, Method[]>();
+    private transient ConcurrentMap<Class<?>, LifecycleMethods> methodMap = new ConcurrentHashMap<Class<?>, LifecycleMethods>();
 
     /**
      * Construct a ReflectionLifecycleStrategy.
@@ -85,30 +89,36 @@ public class ReflectionLifecycleStrategy extends AbstractMonitoringLifecycleStra
 
     /** {@inheritDoc} **/
     public void start(final Object component) {
-    	Method[] methods = init(component.getClass());
-        invokeMethod(component, methods[START]);
-
+        if (component != null) {
+            invokeMethod(component, init(component.getClass()).methods[START]);
+        }
     }
 
 	/** {@inheritDoc} **/
     public void stop(final Object component) {
-        Method[] methods = init(component.getClass());
-        invokeMethod(component, methods[STOP]);
+        if (component != null) {
+            invokeMethod(component, init(component.getClass()).methods[STOP]);
+        }
     }
 
     /** {@inheritDoc} **/
     public void dispose(final Object component) {
-        Method[] methods = init(component.getClass());
-        invokeMethod(component, methods[DISPOSE]);
+        if (component != null) {
+            invokeMethod(component, init(component.getClass()).methods[DISPOSE]);
+        }
     }
 
     private void invokeMethod(final Object component, final Method method) {
-        if (component != null && method != null) {
+        if (method != null) {
             try {
-                long str = System.currentTimeMillis();
-                currentMonitor().invoking(null, null, method, component, new Object[0]);
-                method.invoke(component);
-                currentMonitor().invoked(null, null, method, component, System.currentTimeMillis() - str, null, new Object[0]);
+                if (isMonitoringInvocations()) {
+                    long str = System.currentTimeMillis();
+                    currentMonitor().invoking(null, null, method, component, NO_ARGS);
+                    method.invoke(component);
+                    currentMonitor().invoked(null, null, method, component, System.currentTimeMillis() - str, null, NO_ARGS);
+                } else {
+                    method.invoke(component);
+                }
             } catch (IllegalAccessException e) {
                 monitorAndThrowReflectionLifecycleException(method, e, component);
             } catch (InvocationTargetException e) {
@@ -136,41 +146,56 @@ public class ReflectionLifecycleStrategy extends AbstractMonitoringLifecycleStra
      * {@inheritDoc} The component has a lifecycle if at least one of the three methods is present.
      */
     public boolean hasLifecycle(final Class<?> type) {
-        Method[] methods = init(type);
-        for (Method method : methods) {
-            if (method != null) {
-                return true;
-            }
-        }
-        return false;
+        return init(type).any;
     }
 
     /**
-     * Initializes the method array with the given type.
+     * Looks up the lifecycle methods of the given type, the first time only.
      * @param type the type to examine for reflection lifecycle methods.
-     * @return Method array containing start/stop/dispose methods.
+     * @return the start/stop/dispose methods.
      */
-    private Method[] init(final Class<?> type) {
-        Method[] methods;
-        synchronized (methodMap) {
-            methods = methodMap.get(type);
-            if (methods == null) {
-                methods = new Method[methodNames.length];
-                for (int i = 0; i < methods.length; i++) {
-                    try {
-                    	 final String methodName = methodNames[i];
-                    	 	if (methodName == null) {
-                    	 	// skipping, we're not interested in this lifecycle method.
-                    	 		continue;
-                    	 }
-                    	 methods[i] = type.getMethod(methodName);
-                    } catch (NoSuchMethodException e) {
+    private LifecycleMethods init(final Class<?> type) {
+        LifecycleMethods found = methodMap.get(type);
+        if (found == null) {
+            Method[] methods = new Method[methodNames.length];
+            for (int i = 0; i < methods.length; i++) {
+                try {
+                    final String methodName = methodNames[i];
+                    if (methodName == null) {
+                        // skipping, we're not interested in this lifecycle method.
                         continue;
                     }
+                    methods[i] = type.getMethod(methodName);
+                } catch (NoSuchMethodException e) {
+                    continue;
                 }
-                methodMap.put(type, methods);
             }
+            // a race only looks the methods up twice
+            found = new LifecycleMethods(methods);
+            methodMap.put(type, found);
+        }
+        return found;
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        methodMap = new ConcurrentHashMap<Class<?>, LifecycleMethods>();
+    }
+
+    /**
+     * The lifecycle methods of one type, and whether it has any at all.
+     */
+    private static final class LifecycleMethods {
+        private final Method[] methods;
+        private final boolean any;
+
+        private LifecycleMethods(final Method[] methods) {
+            this.methods = methods;
+            boolean any = false;
+            for (Method method : methods) {
+                any |= method != null;
+            }
+            this.any = any;
         }
-        return methods;
     }
 }
@@ -31,6 +31,8 @@ import com.picocontainer.Startable;
 public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrategy {
 
 
+    private static final Object[] NO_ARGS = new Object[0];
+
 	private transient Method start, stop, dispose;
 
     public StartableLifecycleStrategy(final ComponentMonitor monitor) {
@@ -83,11 +85,15 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
 	public void start(final Object component) {
         doMethodsIfNotDone();
         if (component != null && getStartableInterface().isAssignableFrom(component.getClass())) {
-            long str = System.currentTimeMillis();
-            currentMonitor().invoking(null, null, start, component, new Object[0]);
             try {
-                startComponent(component);
-                currentMonitor().invoked(null, null, start, component, System.currentTimeMillis() - str, null, new Object[0]);
+                if (isMonitoringInvocations()) {
+                    long str = System.currentTimeMillis();
+                    currentMonitor().invoking(null, null, start, component, NO_ARGS);
+                    startComponent(component);
+                    currentMonitor().invoked(null, null, start, component, System.currentTimeMillis() - str, null, NO_ARGS);
+                } else {
+                    startComponent(component);
+                }
             } catch (RuntimeException cause) {
                 currentMonitor().lifecycleInvocationFailed(null, null, start, component, cause); // may re-throw
             }
@@ -123,11 +129,15 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
 	public void stop(final Object component) {
         doMethodsIfNotDone();
         if (component != null && getStartableInterface().isAssignableFrom(component.getClass())) {
-            long str = System.currentTimeMillis();
-            currentMonitor().invoking(null, null, stop, component, new Object[0]);
             try {
-                stopComponent(component);
-                currentMonitor().invoked(null, null, stop, component, System.currentTimeMillis() - str, null, new Object[0]);
+                if (isMonitoringInvocations()) {
+                    long str = System.currentTimeMillis();
+                    currentMonitor().invoking(null, null, stop, component, NO_ARGS);
+                    stopComponent(component);
+                    currentMonitor().invoked(null, null, stop, component, System.currentTimeMillis() - str, null, NO_ARGS);
+                } else {
+                    stopComponent(component);
+                }
             } catch (RuntimeException cause) {
                 currentMonitor().lifecycleInvocationFailed(null, null, stop, component, cause); // may re-throw
             }
@@ -139,11 +149,15 @@ public class StartableLifecycleStrategy extends AbstractMonitoringLifecycleStrat
 	public void dispose(final Object component) {
         doMethodsIfNotDone();
         if (component != null && getDisposableInterface().isAssignableFrom(component.getClass())) {
-            long str = System.currentTimeMillis();
-            currentMonitor().invoking(null, null, dispose, component, new Object[0]);
             try {
-                disposeComponent(component);
-                currentMonitor().invoked(null, null, dispose, component, System.currentTimeMillis() - str, null, new Object[0]);
+                if (isMonitoringInvocations()) {
+                    long str = System.currentTimeMillis();
+                    currentMonitor().invoking(null, null, dispose, component, NO_ARGS);
+                    disposeComponent(component);
+                    currentMonitor().invoked(null, null, dispose, component, System.currentTimeMillis() - str, null, NO_ARGS);
+                } else {
+                    disposeComponent(component);
+                }
             } catch (RuntimeException cause) {
                 currentMonitor().lifecycleInvocationFailed(null, null, dispose, component, cause); // may re-throw
             }
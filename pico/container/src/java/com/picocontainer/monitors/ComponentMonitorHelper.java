@@ -34,6 +34,15 @@ public final class ComponentMonitorHelper  {
     public final static String LIFECYCLE_INVOCATION_FAILED = "PicoContainer: lifecycle invocation failed: {0} on {1}, reason: {2}";
     public final static String NO_COMPONENT = "PicoContainer: No component for key: {0}";
 
+    /**
+     * Whether a monitor can be left out of instantiations and invocations.
+     * @param monitor the monitor
+     * @return <code>true</code> for a {@link SilentComponentMonitor} or a plain {@link NullComponentMonitor}
+     */
+    public static boolean isSilent(final ComponentMonitor monitor) {
+        return monitor.getClass() == NullComponentMonitor.class || monitor instanceof SilentComponentMonitor;
+    }
+
     public static String format(final String template, final Object... arguments) {
         return MessageFormat.format(template, arguments);
     }
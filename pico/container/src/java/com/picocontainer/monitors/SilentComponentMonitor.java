@@ -0,0 +1,25 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import com.picocontainer.ComponentMonitor;
+
+/**
+ * Marks a {@link ComponentMonitor} that does not listen to instantiations and invocations: its
+ * <code>instantiating</code> returns the constructor it is given, its <code>invoking</code> returns
+ * {@link ComponentMonitor#KEEP}, and its <code>instantiated</code> and <code>invoked</code> do nothing.
+ * Injectors and lifecycle strategies then skip those calls, with their timings and argument arrays.
+ * Failures are still reported to it.
+ * <p/>
+ * A {@link NullComponentMonitor} is treated as silent without being marked, but its subclasses are not,
+ * as they usually override some of those methods.
+ *
+ * @see ComponentMonitorHelper#isSilent(ComponentMonitor)
+ */
+public interface SilentComponentMonitor extends ComponentMonitor {
+}
@@ -9,7 +9,12 @@
  *****************************************************************************/
 package com.picocontainer.parameters;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
@@ -17,6 +22,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -27,7 +33,8 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.googlecode.jtype.Generic;
 import com.picocontainer.ComponentAdapter;
@@ -37,6 +44,7 @@ import com.picocontainer.Parameter;
 import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
+import com.picocontainer.Versioning;
 
 /**
  * A CollectionComponentParameter should be used to support inject an
@@ -44,6 +52,10 @@ import com.picocontainer.PicoVisitor;
  * The collection will contain all components of a special type and additionally
  * the type of the key may be specified. In case of a map, the map's keys are
  * the one of the component adapter.
+ * <p/>
+ * If asked to, the matching component adapters are remembered for each container, type of the components
+ * and adapter to leave out, for as long as the {@link Versioning registration version} of the container
+ * stays the same.  Containers are held weakly.  The components themselves are fetched for each injection.
  *
  * @author Aslak Helles&oslash;y
  * @author J&ouml;rg Schaible
@@ -65,6 +77,9 @@ public class CollectionComponentParameter extends AbstractParameter implements P
 	private final boolean emptyCollection;
 	private final Class<?> keyType;
 	private final Generic<?> componentValueType;
+	private final boolean rememberMatches;
+	private transient ConcurrentMap<ContainerKey, ConcurrentMap<MatchKey, Matches>> matches;
+	private transient ReferenceQueue<PicoContainer> collectedContainers;
 
 	/**
 	 * Expect an {@link Array}of an appropriate type as parameter. At least one
@@ -111,9 +126,37 @@ public class CollectionComponentParameter extends AbstractParameter implements P
 	 */
 	public CollectionComponentParameter(final Class<?> keyType, final Generic<?> componentValueType,
 			final boolean emptyCollection) {
+		this(keyType, componentValueType, emptyCollection, false);
+	}
+
+	/**
+	 * Expect any of the collection types {@link Array},{@link Collection}or
+	 * {@link Map}as parameter.
+	 *
+	 * @param keyType
+	 *            the type of the component's key
+	 * @param componentValueType
+	 *            the type of the components (ignored in case of an Array)
+	 * @param emptyCollection
+	 *            <code>true</code> if an empty collection resolves the
+	 * @param rememberMatches
+	 *            <code>true</code> to remember the matching components for as
+	 *            long as the registration version of the container stays the
+	 *            same.  Only ask for this if {@link #evaluate(ComponentAdapter)}
+	 *            depends on nothing but the adapter it is given
+	 */
+	public CollectionComponentParameter(final Class<?> keyType, final Generic<?> componentValueType,
+			final boolean emptyCollection, final boolean rememberMatches) {
 		this.emptyCollection = emptyCollection;
 		this.keyType = keyType;
 		this.componentValueType = componentValueType;
+		this.rememberMatches = rememberMatches;
+		initMatches();
+	}
+
+	private void initMatches() {
+		matches = new ConcurrentHashMap<ContainerKey, ConcurrentMap<MatchKey, Matches>>();
+		collectedContainers = new ReferenceQueue<PicoContainer>();
 	}
 
 	/**
@@ -140,8 +183,8 @@ public class CollectionComponentParameter extends AbstractParameter implements P
 			final boolean useNames, final Annotation binding) {
 		final Class collectionType = getCollectionType(expectedType);
 		if (collectionType != null) {
-			final Map<Object, ComponentAdapter<?>> componentAdapters = getMatchingComponentAdapters(container,
-					forAdapter, keyType, getValueType(expectedType));
+			final Map<Object, ComponentAdapter<?>> componentAdapters = getRememberedComponentAdapters(container,
+					forAdapter, getValueType(expectedType));
 			return new Resolver() {
 				public boolean isResolved() {
 					return emptyCollection || componentAdapters.size() > 0;
@@ -225,7 +268,7 @@ public class CollectionComponentParameter extends AbstractParameter implements P
 		final Class collectionType = getCollectionType(expectedType);
 		if (collectionType != null) {
 			final Generic<?> valueType = getValueType(expectedType);
-			final Collection componentAdapters = getMatchingComponentAdapters(container, adapter, keyType, valueType)
+			final Collection componentAdapters = getRememberedComponentAdapters(container, adapter, valueType)
 					.values();
 			if (componentAdapters.isEmpty()) {
 				if (!emptyCollection) {
@@ -303,6 +346,119 @@ public class CollectionComponentParameter extends AbstractParameter implements P
 		return adapterMap;
 	}
 
+	/**
+	 * The matching component adapters, as remembered for the container's registration version, or looked up.
+	 */
+	private Map<Object, ComponentAdapter<?>> getRememberedComponentAdapters(final PicoContainer container,
+			final ComponentAdapter<?> adapter, final Generic<?> valueType) {
+		final long version = rememberMatches && container instanceof Versioning
+				? ((Versioning) container).getRegistrationVersion() : Versioning.UNVERSIONED;
+		if (version == Versioning.UNVERSIONED) {
+			return getMatchingComponentAdapters(container, adapter, keyType, valueType);
+		}
+		ConcurrentMap<MatchKey, Matches> known = matches.get(new ContainerKey(container, null));
+		if (known == null) {
+			forgetCollectedContainers();
+			known = new ConcurrentHashMap<MatchKey, Matches>();
+			final ConcurrentMap<MatchKey, Matches> raced = matches.putIfAbsent(
+					new ContainerKey(container, collectedContainers), known);
+			if (raced != null) {
+				known = raced;
+			}
+		}
+		final MatchKey key = new MatchKey(valueType, adapter == null ? null : adapter.getComponentKey());
+		Matches found = known.get(key);
+		if (found == null || found.version != version) {
+			found = new Matches(version, Collections.unmodifiableMap(
+					getMatchingComponentAdapters(container, adapter, keyType, valueType)));
+			known.put(key, found);
+		}
+		return found.adapters;
+	}
+
+	private void forgetCollectedContainers() {
+		for (Reference<? extends PicoContainer> collected = collectedContainers.poll(); collected != null;
+				collected = collectedContainers.poll()) {
+			matches.remove(collected);
+		}
+	}
+
+	private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		initMatches();
+	}
+
+	/**
+	 * A container the matching component adapters were looked up in, held weakly and compared by identity.
+	 */
+	private static final class ContainerKey extends WeakReference<PicoContainer> {
+		private final int hashCode;
+
+		private ContainerKey(final PicoContainer container, final ReferenceQueue<PicoContainer> queue) {
+			super(container, queue);
+			hashCode = System.identityHashCode(container);
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ContainerKey)) {
+				return false;
+			}
+			final PicoContainer container = get();
+			return container != null && container == ((ContainerKey) other).get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * What the matching component adapters were looked up for in one container.  The type of the keys
+	 * is the parameter's own.
+	 */
+	private static final class MatchKey {
+		private final Generic<?> valueType;
+		private final Object excludedKey;
+
+		private MatchKey(final Generic<?> valueType, final Object excludedKey) {
+			this.valueType = valueType;
+			this.excludedKey = excludedKey;
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (!(other instanceof MatchKey)) {
+				return false;
+			}
+			final MatchKey that = (MatchKey) other;
+			return valueType.equals(that.valueType)
+					&& (excludedKey == null ? that.excludedKey == null : excludedKey.equals(that.excludedKey));
+		}
+
+		@Override
+		public int hashCode() {
+			return valueType.hashCode() * 31 + (excludedKey == null ? 0 : excludedKey.hashCode());
+		}
+	}
+
+	/**
+	 * The matching component adapters, good for as long as the container's registration version is the same.
+	 */
+	private static final class Matches {
+		private final long version;
+		private final Map<Object, ComponentAdapter<?>> adapters;
+
+		private Matches(final long version, final Map<Object, ComponentAdapter<?>> adapters) {
+			this.version = version;
+			this.adapters = adapters;
+		}
+	}
+
 	private Class getCollectionType(final Class collectionType) {
 		if (collectionType.isArray() || Map.class.isAssignableFrom(collectionType)
 				|| Collection.class.isAssignableFrom(collectionType)) {
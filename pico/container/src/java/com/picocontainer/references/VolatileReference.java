@@ -0,0 +1,30 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.references;
+
+import java.io.Serializable;
+
+import com.picocontainer.ObjectReference;
+
+/**
+ * Instance implementation of ObjectReference whose value, once set, is seen by all threads.
+ */
+@SuppressWarnings("serial")
+public class VolatileReference<T> implements ObjectReference<T>, Serializable {
+
+    private volatile T instance;
+
+    public T get() {
+        return instance;
+    }
+
+    public void set(final T item) {
+        this.instance = item;
+    }
+}
@@ -25,7 +25,7 @@ import com.picocontainer.parameters.MethodParameters;
 
 public final class SecurityWrappingPicoContainer implements MutablePicoContainer {
 
-	private static final class DefaultAccessWrapper implements AccessControllerWrapper {
+	static final class DefaultAccessWrapper implements AccessControllerWrapper {
 		public void checkPermission(final Permission checkingPermission) throws AccessControlException {
 			 SecurityManager security = System.getSecurityManager();
 		     if (security != null) {
@@ -45,6 +45,16 @@ public final class SecurityWrappingPicoContainer implements MutablePicoContainer
 	private final AccessControllerWrapper accessWrapper;
 
 	public SecurityWrappingPicoContainer(String scope, MutablePicoContainer pico) {
+		this(scope, pico, new DefaultAccessWrapper());
+	}
+
+	/**
+	 * @param scope the scope named by the permissions checked, or null for none
+	 * @param pico the container to guard
+	 * @param accessWrapper decides on each permission, for example a {@link ThreadCachingAccessControllerWrapper}
+	 *   shared by the wrappers of several scopes
+	 */
+	public SecurityWrappingPicoContainer(String scope, MutablePicoContainer pico, AccessControllerWrapper accessWrapper) {
 		if (scope == null) {
 			scope = "";
 		}
@@ -58,7 +68,10 @@ public final class SecurityWrappingPicoContainer implements MutablePicoContainer
 		readCheck = new PicoAccessPermission(scope, PicoAccessPermission.READ);
 		writeCheck = new PicoAccessPermission(scope, PicoAccessPermission.WRITE);
 		
-		accessWrapper = new DefaultAccessWrapper();
+		if (accessWrapper == null) {
+			throw new NullPointerException("accessWrapper");
+		}
+		this.accessWrapper = accessWrapper;
 					
 	}
 	
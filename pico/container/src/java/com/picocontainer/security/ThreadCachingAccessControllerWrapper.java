@@ -0,0 +1,95 @@
+package com.picocontainer.security;
+
+import java.security.AccessControlContext;
+import java.security.AccessControlException;
+import java.security.AccessController;
+import java.security.Permission;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@link AccessControllerWrapper} that remembers the permissions a thread has been granted, from
+ * {@link #beginCaching()} until {@link #endCaching()}, so that each is checked once in that time rather
+ * than on every call.  A grant is only remembered for the {@link AccessControlContext} it was made in,
+ * that is for callers with the same protection domains, so code with fewer privileges that runs later on
+ * the same thread is still checked.  Use it around units of work that run with one set of privileges, such as a web request,
+ * and share it between the {@link SecurityWrappingPicoContainer}s of the scopes involved.
+ * <p>
+ * Denials are never remembered.  Outside of a caching period, or if the security manager has been
+ * changed since it began, every check goes to the delegate.
+ */
+public final class ThreadCachingAccessControllerWrapper implements AccessControllerWrapper {
+
+	private static final class Granted {
+
+		private final Map<AccessControlContext, Set<Permission>> permissions = new HashMap<AccessControlContext, Set<Permission>>();
+
+		private SecurityManager securityManager;
+
+		private boolean caching;
+	}
+
+	private final AccessControllerWrapper delegate;
+
+	private final ThreadLocal<Granted> granted = new ThreadLocal<Granted>() {
+		@Override
+		protected Granted initialValue() {
+			return new Granted();
+		}
+	};
+
+	/**
+	 * Checks against the installed {@link SecurityManager}, if any.
+	 */
+	public ThreadCachingAccessControllerWrapper() {
+		this(new SecurityWrappingPicoContainer.DefaultAccessWrapper());
+	}
+
+	public ThreadCachingAccessControllerWrapper(final AccessControllerWrapper delegate) {
+		if (delegate == null) {
+			throw new NullPointerException("delegate");
+		}
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Starts remembering granted permissions for the current thread, forgetting any from before.
+	 */
+	public void beginCaching() {
+		Granted current = granted.get();
+		current.permissions.clear();
+		current.securityManager = System.getSecurityManager();
+		current.caching = true;
+	}
+
+	/**
+	 * Stops remembering granted permissions for the current thread, and forgets those it had.
+	 */
+	public void endCaching() {
+		Granted current = granted.get();
+		current.permissions.clear();
+		current.securityManager = null;
+		current.caching = false;
+	}
+
+	public void checkPermission(final Permission checkingPermission) throws AccessControlException {
+		Granted current = granted.get();
+		if (!current.caching || current.securityManager != System.getSecurityManager()) {
+			delegate.checkPermission(checkingPermission);
+			return;
+		}
+		AccessControlContext context = AccessController.getContext();
+		Set<Permission> permissions = current.permissions.get(context);
+		if (permissions == null || !permissions.contains(checkingPermission)) {
+			delegate.checkPermission(checkingPermission);
+			if (permissions == null) {
+				permissions = new HashSet<Permission>();
+				current.permissions.put(context, permissions);
+			}
+			permissions.add(checkingPermission);
+		}
+	}
+
+}
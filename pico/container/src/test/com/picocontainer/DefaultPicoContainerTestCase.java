@@ -63,6 +63,8 @@ import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
 import com.picocontainer.Startable;
+import com.picocontainer.adapters.InstanceAdapter;
+import com.picocontainer.behaviors.AbstractBehavior;
 import com.picocontainer.behaviors.AdaptingBehavior;
 import com.picocontainer.behaviors.Caching;
 import com.picocontainer.containers.EmptyPicoContainer;
@@ -1039,4 +1041,117 @@ public final class DefaultPicoContainerTestCase extends AbstractPicoContainerTes
 		assertTrue(mpc.getLifecycleState().isDisposed());
 	}    
 
-}
\ No newline at end of file
+
+	@Test
+	public void testTypeResolutionFollowsRegistrationsAndRemovals() {
+		MutablePicoContainer mpc = createPicoContainer(null);
+		mpc.addComponent("simple", SimpleTouchable.class);
+		mpc.addComponent(DependsOnTouchable.class);
+		assertTrue(mpc.getComponent(Touchable.class) instanceof SimpleTouchable);
+		assertEquals(2, mpc.getComponentAdapters(Serializable.class).size());
+		assertEquals(2, mpc.getComponentAdapters(Object.class).size());
+
+		mpc.addComponent("another", SimpleTouchable.class);
+		try {
+			mpc.getComponent(Touchable.class);
+			fail("should have been ambiguous");
+		} catch (AbstractInjector.AmbiguousComponentResolutionException e) {
+			assertNotNull(e.getMessage());
+		}
+
+		mpc.removeComponent("simple");
+		assertSame(mpc.getComponentAdapter("another"), mpc.getComponentAdapter(Touchable.class, (NameBinding) null));
+		mpc.removeComponent("another");
+		assertEquals(null, mpc.getComponent(Touchable.class));
+		assertEquals(1, mpc.getComponentAdapters(Object.class).size());
+	}
+
+	@Test
+	public void testPrimitiveTypeResolutionMatchesBoxedInstances() {
+		MutablePicoContainer mpc = createPicoContainer(null);
+		mpc.addComponent("one", 1);
+		assertEquals(1, mpc.getComponentAdapters(Generic.get(int.class)).size());
+		assertEquals(0, mpc.getComponentAdapters(Generic.get(long.class)).size());
+	}
+
+	@Test
+	public void testParentLookupsAreRememberedUntilTheParentsRegistrationsChange() {
+		MutablePicoContainer application = createPicoContainer(null);
+		MutablePicoContainer session = application.makeChildContainer();
+		MutablePicoContainer request = session.makeChildContainer();
+		application.addComponent(SimpleTouchable.class);
+
+		ComponentAdapter<?> adapter = request.getComponentAdapter(SimpleTouchable.class);
+		assertNotNull(adapter);
+		assertSame(adapter, request.getComponentAdapter(SimpleTouchable.class));
+		assertEquals(null, request.getComponentAdapter(DependsOnTouchable.class));
+
+		application.addComponent(DependsOnTouchable.class);
+		assertNotNull(request.getComponentAdapter(DependsOnTouchable.class));
+		assertNotSame(adapter, request.getComponentAdapter(SimpleTouchable.class));
+
+		application.removeComponent(SimpleTouchable.class);
+		assertEquals(null, request.getComponentAdapter(SimpleTouchable.class));
+	}
+
+	@Test
+	public void testEachAdapterIsRecordedOnceInInstantiationOrderUntilRemoved() {
+		DefaultPicoContainer pico = new DefaultPicoContainer(new Caching());
+		pico.addComponent(DependsOnTouchable.class);
+		pico.addComponent(SimpleTouchable.class);
+
+		pico.getComponent(DependsOnTouchable.class);
+		pico.getComponent(DependsOnTouchable.class);
+		pico.getComponent(SimpleTouchable.class);
+		List<ComponentAdapter<?>> ordered = pico.getOrderedComponentAdapters();
+		assertEquals(2, ordered.size());
+		assertSame(pico.getComponentAdapter(SimpleTouchable.class), ordered.get(0));
+		assertSame(pico.getComponentAdapter(DependsOnTouchable.class), ordered.get(1));
+
+		pico.removeComponent(SimpleTouchable.class);
+		pico.addComponent(SimpleTouchable.class);
+		pico.getComponent(SimpleTouchable.class);
+		assertEquals(2, ordered.size());
+		assertSame(pico.getComponentAdapter(DependsOnTouchable.class), ordered.get(0));
+		assertSame(pico.getComponentAdapter(SimpleTouchable.class), ordered.get(1));
+	}
+
+	@SuppressWarnings("serial")
+	public static class ImplementationCounting<T> extends AbstractBehavior.AbstractChangedBehavior<T> {
+		private int asked;
+
+		public ImplementationCounting(final ComponentAdapter<T> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public Class<? extends T> getComponentImplementation() {
+			asked++;
+			return super.getComponentImplementation();
+		}
+
+		public String getDescriptor() {
+			return "ImplementationCounting";
+		}
+	}
+
+	@Test
+	public void testRegistrationAsksAdaptersForNothingButTheirKey() {
+		MutablePicoContainer mpc = new DefaultPicoContainer(new ConstructorInjection());
+		ImplementationCounting<SimpleTouchable> first = new ImplementationCounting<SimpleTouchable>(
+				new InstanceAdapter<SimpleTouchable>("first", new SimpleTouchable()));
+		ImplementationCounting<SimpleTouchable> second = new ImplementationCounting<SimpleTouchable>(
+				new InstanceAdapter<SimpleTouchable>("second", new SimpleTouchable()));
+		mpc.addAdapter(first);
+		mpc.addAdapter(second);
+		mpc.removeComponent("second");
+		assertEquals(0, first.asked);
+		assertEquals(0, second.asked);
+
+		assertSame(first, mpc.getComponentAdapter(Touchable.class, (NameBinding) null));
+		assertEquals(0, second.asked);
+		mpc.removeComponent("first");
+		assertEquals(null, mpc.getComponent(Touchable.class));
+	}
+
+}
@@ -0,0 +1,61 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class RememberedLookupsTestCase {
+
+    @Test
+    public void testFoundAndNotFoundAnswersAreRemembered() {
+        RememberedLookups lookups = new RememberedLookups(3);
+        assertNull(lookups.get("found"));
+        assertEquals("value", lookups.remember("found", "value"));
+        assertEquals("value", lookups.get("found"));
+        assertNull(lookups.remember("missing", null));
+        assertSame(RememberedLookups.NOT_FOUND, lookups.get("missing"));
+    }
+
+    @Test
+    public void testTheFirstAnswerRememberedForAKeyIsKept() {
+        RememberedLookups lookups = new RememberedLookups(3);
+        lookups.remember("key", "first");
+        assertEquals("first", lookups.remember("key", "second"));
+        assertEquals("first", lookups.remember("key", null));
+    }
+
+    @Test
+    public void testOnlyABoundedNumberOfNotFoundAnswersAreRemembered() {
+        RememberedLookups lookups = new RememberedLookups(3);
+        for (int i = 0; i < RememberedLookups.MAX_NOT_FOUND; i++) {
+            lookups.remember(i, null);
+        }
+        assertNull(lookups.remember("one too many", null));
+        assertNull(lookups.get("one too many"));
+        assertSame(RememberedLookups.NOT_FOUND, lookups.get(0));
+        assertEquals("value", lookups.remember("found", "value"));
+    }
+
+    @Test
+    public void testAnswersAreOnlyKeptForTheVersionTheyWereRememberedAt() {
+        RememberedLookups lookups = RememberedLookups.at(null, 3);
+        lookups.remember("key", "value");
+        assertSame(lookups, RememberedLookups.at(lookups, 3));
+        RememberedLookups changed = RememberedLookups.at(lookups, 4);
+        assertNotSame(lookups, changed);
+        assertEquals(4, changed.getVersion());
+        assertNull(changed.get("key"));
+    }
+
+}
@@ -0,0 +1,141 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.behaviors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentFactory;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Startable;
+import com.picocontainer.containers.EmptyPicoContainer;
+import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
+import com.picocontainer.tck.AbstractComponentFactoryTest;
+
+public class ConcurrentCachingTestCase extends AbstractComponentFactoryTest {
+
+    @Override
+	protected ComponentFactory createComponentFactory() {
+        return new ConcurrentCaching().wrap(new ConstructorInjection());
+    }
+
+    @Test public void testAddComponentUsesConcurrentCachingBehavior() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.addComponent("foo", String.class);
+        ComponentAdapter<?> foo = pico.getComponentAdapter("foo");
+        assertEquals(ConcurrentCaching.ConcurrentCached.class, foo.getClass());
+        assertEquals(ConstructorInjection.ConstructorInjector.class, foo.getDelegate().getDelegate().getClass());
+    }
+
+    @Test public void testAddComponentDoesNotUseCachingBehaviorWhenNoCachePropertyIsSpecified() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(),
+                new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.change(Characteristics.NO_CACHE).addComponent("foo", String.class);
+        ComponentAdapter<?> foo = pico.getComponentAdapter("foo");
+        assertEquals(ConstructorInjection.ConstructorInjector.class, foo.getClass());
+    }
+
+    public static class Slow {
+        static final AtomicInteger instantiations = new AtomicInteger();
+        static final AtomicInteger failuresToGo = new AtomicInteger();
+
+        public Slow() throws InterruptedException {
+            instantiations.incrementAndGet();
+            Thread.sleep(20);
+            if (failuresToGo.getAndDecrement() > 0) {
+                throw new IllegalStateException("not this time");
+            }
+        }
+    }
+
+    @Test public void testComponentIsInstantiatedOnlyOnceWhenManyThreadsAskForItAtOnce() throws Exception {
+        Slow.instantiations.set(0);
+        Slow.failuresToGo.set(0);
+        final DefaultPicoContainer pico = new DefaultPicoContainer(new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.addComponent(Slow.class);
+
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final Object[] results = new Object[threadCount];
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        results[index] = pico.getComponent(Slow.class);
+                    } catch (InterruptedException e) {
+                        results[index] = e;
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, Slow.instantiations.get());
+        for (Object result : results) {
+            assertSame(results[0], result);
+        }
+    }
+
+    @Test public void testFailedInstantiationIsRetriedOnNextRequest() {
+        Slow.instantiations.set(0);
+        Slow.failuresToGo.set(1);
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ConcurrentCaching().wrap(new ConstructorInjection()));
+        pico.addComponent(Slow.class);
+        try {
+            pico.getComponent(Slow.class);
+            fail("should have barfed");
+        } catch (IllegalStateException expected) {
+        }
+        Slow slow = pico.getComponent(Slow.class);
+        assertSame(slow, pico.getComponent(Slow.class));
+        assertEquals(2, Slow.instantiations.get());
+    }
+
+    public static class Lifecycled implements Startable {
+        boolean started;
+
+        public void start() {
+            started = true;
+        }
+
+        public void stop() {
+            started = false;
+        }
+    }
+
+    @Test public void testLifecycleIsAppliedToTheCachedInstance() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new ConcurrentCaching());
+        pico.addComponent(Lifecycled.class);
+        pico.start();
+        Lifecycled lifecycled = pico.getComponent(Lifecycled.class);
+        assertTrue(lifecycled.started);
+        pico.stop();
+        assertSame(lifecycled, pico.getComponent(Lifecycled.class));
+        assertEquals(false, lifecycled.started);
+    }
+
+}
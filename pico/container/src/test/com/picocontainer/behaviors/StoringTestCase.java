@@ -257,6 +257,33 @@ public class StoringTestCase {
     }
 
 
+    @Test public void testThatRecycledCacheMapIsEmptiedForEachSimulatedRequest() {
+
+        DefaultPicoContainer parent = new DefaultPicoContainer(new Caching());
+        final Storing storeCaching = new Storing();
+        final DefaultPicoContainer child = new DefaultPicoContainer(parent, new NullLifecycleStrategy(), storeCaching);
+
+        parent.addComponent(StringBuilder.class);
+        child.addComponent(Foo.class);
+
+        StringBuilder sb = parent.getComponent(StringBuilder.class);
+
+        storeCaching.recycleCacheForThread();
+        Foo one = child.getComponent(Foo.class);
+        assertSame(one, child.getComponent(Foo.class));
+        assertEquals(1, storeCaching.getCacheSize());
+        storeCaching.invalidateCacheForThread();
+
+        storeCaching.recycleCacheForThread();
+        assertEquals(0, storeCaching.getCacheSize());
+        Foo two = child.getComponent(Foo.class);
+        assertNotSame(one, two);
+        assertSame(two, child.getComponent(Foo.class));
+        storeCaching.invalidateCacheForThread();
+
+        assertEquals("<Foo<Foo", sb.toString());
+    }
+
     private void sleepALittle() {
         try {
             Thread.sleep(100);
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.
+ * ---------------------------------------------------------------------------
+ * The software in this package is published under the terms of the BSD style
+ * license a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ ******************************************************************************/
+package com.picocontainer.classname;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassNameIndexTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] jar(final String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        for (String entry : entries) {
+            zip.putNextEntry(new ZipEntry(entry));
+            zip.closeEntry();
+        }
+        zip.close();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] jarWithNestedJar(final String name, final byte[] nested) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+        zip.closeEntry();
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(nested);
+        zip.closeEntry();
+        zip.close();
+        return bytes.toByteArray();
+    }
+
+    private File write(final String name, final byte[] contents) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    @Test
+    public void testListsTheClassesOfAPackageWithOrWithoutSubPackages() throws IOException {
+        File jar = write("a.jar", jar("a/b/C.class", "a/b/D.class", "a/b/e/F.class", "a/bc/G.class", "a/b/README.txt", "a/H.class"));
+        ClassNameIndex index = new ClassNameIndex(null);
+
+        assertEquals(Arrays.asList("a/b/C.class", "a/b/D.class"), index.getClassEntries(jar.getPath(), "a/b", false));
+        assertEquals(Arrays.asList("a/b/C.class", "a/b/D.class", "a/b/e/F.class"), index.getClassEntries(jar.getPath(), "a/b", true));
+        assertEquals(Arrays.asList(), index.getClassEntries(jar.getPath(), "x", true));
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenTheJarChanges() throws IOException {
+        File jar = write("a.jar", jar("a/B.class"));
+        ClassNameIndex index = new ClassNameIndex(null);
+        assertEquals(Arrays.asList("a/B.class"), index.getClassEntries(jar.getPath(), "a", false));
+
+        write("a.jar", jar("a/B.class", "a/Longer.class"));
+        assertEquals(Arrays.asList("a/B.class", "a/Longer.class"), index.getClassEntries(jar.getPath(), "a", false));
+    }
+
+    @Test
+    public void testIndexIsKeptInADirectoryForLaterRuns() throws IOException {
+        File jar = write("a.jar", jar("a/B.class"));
+        File indexes = folder.newFolder("indexes");
+        new ClassNameIndex(indexes).getClassEntries(jar.getPath(), "a", false);
+        File[] stored = indexes.listFiles();
+        assertEquals(1, stored.length);
+
+        // a later run with a stored index does not read the jar
+        long lastModified = jar.lastModified();
+        byte[] unreadable = new byte[(int) jar.length()];
+        write("a.jar", unreadable);
+        assertTrue(jar.setLastModified(lastModified));
+        assertEquals(Arrays.asList("a/B.class"), new ClassNameIndex(indexes).getClassEntries(jar.getPath(), "a", false));
+    }
+
+    @Test
+    public void testListsTheClassesOfANestedJar() throws IOException {
+        File outer = write("outer.jar", jarWithNestedJar("lib/inner.jar", jar("a/B.class", "a/c/D.class")));
+        ClassNameIndex index = new ClassNameIndex(null);
+
+        assertEquals(Arrays.asList("a/B.class"), index.getClassEntries(outer.getPath() + "!/lib/inner.jar!/", "a", false));
+        assertEquals(Arrays.asList("a/B.class", "a/c/D.class"), index.getClassEntries(outer.getPath() + "!/lib/inner.jar", "a", true));
+    }
+
+    @Test
+    public void testPreparesSeveralJarsAtOnce() throws IOException {
+        File one = write("one.jar", jar("a/B.class"));
+        File two = write("two.jar", jar("c/D.class"));
+        ClassNameIndex index = new ClassNameIndex(null);
+        index.prepare(Arrays.asList(one.getPath(), two.getPath()));
+
+        assertEquals(Arrays.asList("a/B.class"), index.getClassEntries(one.getPath(), "a", false));
+        assertEquals(Arrays.asList("c/D.class"), index.getClassEntries(two.getPath(), "c", false));
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void testPreparingAMissingJarFails() throws IOException {
+        new ClassNameIndex(null).prepare(Arrays.asList(new File(folder.getRoot(), "missing.jar").getPath()));
+    }
+
+}
@@ -22,6 +22,7 @@ import org.junit.runner.RunWith;
 
 import com.picocontainer.ComponentAdapter;
 import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
 import com.picocontainer.NameBinding;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoVisitor;
@@ -146,6 +147,66 @@ public class CompositePicoContainerTestCase {
         assertEquals(HashMap.class, mapAdapter.getComponentImplementation());
     }
 
+    @SuppressWarnings("serial")
+    public static class CountingPicoContainer extends AbstractDelegatingPicoContainer {
+        private int lookups;
+
+        public CountingPicoContainer(final PicoContainer delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public ComponentAdapter<?> getComponentAdapter(final Object key) {
+            lookups++;
+            return super.getComponentAdapter(key);
+        }
+    }
+
+    @Test
+    public void testRoutesAreRememberedUntilRegistrationsChange() {
+        MutablePicoContainer mutable = new DefaultPicoContainer();
+        CountingPicoContainer first = new CountingPicoContainer(mutable);
+        two.addComponent("two", "from two");
+        PicoContainer routing = new CompositePicoContainer(true, first, two);
+
+        assertEquals("from two", routing.getComponentAdapter("two").getComponentInstance(routing, null));
+        assertEquals("from two", routing.getComponentAdapter("two").getComponentInstance(routing, null));
+        assertNull(routing.getComponentAdapter("three"));
+        assertNull(routing.getComponentAdapter("three"));
+        assertEquals(2, first.lookups);
+
+        mutable.addComponent("two", "from one");
+        mutable.addComponent("three", "from one");
+        assertEquals("from one", routing.getComponentAdapter("two").getComponentInstance(routing, null));
+        assertEquals("from one", routing.getComponentAdapter("three").getComponentInstance(routing, null));
+    }
+
+    @Test
+    public void testRoutesAreNotRememberedByDefault() {
+        CountingPicoContainer first = new CountingPicoContainer(new DefaultPicoContainer());
+        PicoContainer plain = new CompositePicoContainer(first, two);
+
+        assertNull(plain.getComponentAdapter("three"));
+        assertNull(plain.getComponentAdapter("three"));
+        assertEquals(2, first.lookups);
+    }
+
+    @Test
+    public void testRememberedRoutesStillPrioritizeTheFirstInCompositeList() {
+        PicoContainer routing = new CompositePicoContainer(true, one, two);
+        assertTrue(routing.getComponent(Map.class) instanceof HashMap);
+        one.removeComponent(Map.class);
+        assertTrue(routing.getComponent(Map.class) instanceof ConcurrentHashMap);
+        assertTrue(routing.getComponentAdapter(Map.class, (NameBinding) null).getComponentImplementation() == ConcurrentHashMap.class);
+    }
+
+    @Test
+    public void testConvertersAreRouted() {
+        CompositePicoContainer routing = new CompositePicoContainer(true, one, two);
+        assertTrue(routing.getConverters().canConvert(Integer.class));
+        assertEquals(42, routing.getConverters().convert("42", Integer.class));
+    }
+
     @Test
     public void testOtherMethodsReturnNothing() {
         assertEquals(Collections.EMPTY_LIST, composite.getComponents());
@@ -0,0 +1,152 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.containers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.picocontainer.Characteristics;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AdaptingBehavior;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+import com.picocontainer.tck.AbstractPicoContainerTest;
+import com.picocontainer.testmodel.DependsOnTouchable;
+import com.picocontainer.testmodel.SimpleTouchable;
+import com.picocontainer.testmodel.Touchable;
+
+public class ConcurrentPicoContainerTestCase extends AbstractPicoContainerTest {
+
+    @Override
+    protected MutablePicoContainer createPicoContainer(final PicoContainer parent) {
+        return new ConcurrentPicoContainer(new AdaptingBehavior(), new StartableLifecycleStrategy(new NullComponentMonitor()), parent);
+    }
+
+    @Override
+    protected Properties[] getProperties() {
+        return new Properties[0];
+    }
+
+    @Override
+    protected void addContainers(final List expectedList) {
+        expectedList.add(ConcurrentPicoContainer.class);
+    }
+
+    @Test public void testChildContainersAreConcurrentToo() {
+        MutablePicoContainer pico = createPicoContainer(null);
+        assertTrue(pico.makeChildContainer() instanceof ConcurrentPicoContainer);
+    }
+
+    @Test public void testCanBeChosenWithPicoBuilder() {
+        MutablePicoContainer pico = new PicoBuilder().withCaching().implementedBy(ConcurrentPicoContainer.class).build();
+        assertTrue(pico instanceof ConcurrentPicoContainer);
+        pico.addComponent(SimpleTouchable.class);
+        assertSame(pico.getComponent(Touchable.class), pico.getComponent(Touchable.class));
+    }
+
+    @Test public void testLookupsCarryOnWhileComponentsAreRegistered() throws InterruptedException {
+        final MutablePicoContainer pico = createPicoContainer(null);
+        pico.addComponent(SimpleTouchable.class);
+        pico.addComponent(DependsOnTouchable.class);
+
+        final int readers = 8;
+        final CountDownLatch go = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(readers);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        for (int i = 0; i < readers; i++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        go.await();
+                        for (int j = 0; j < 500; j++) {
+                            assertEquals(1, pico.getComponents(Touchable.class).size());
+                            pico.getComponent(DependsOnTouchable.class);
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+        go.countDown();
+        List<String> keys = new ArrayList<String>();
+        for (int i = 0; i < 200; i++) {
+            String key = "key" + i;
+            pico.addComponent(key, key);
+            keys.add(key);
+        }
+        for (String key : keys) {
+            pico.removeComponent(key);
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(2, pico.getComponentAdapters().size());
+    }
+
+    public static class SetterInjected {
+        private Touchable touchable;
+
+        public void setTouchable(final Touchable touchable) {
+            this.touchable = touchable;
+        }
+    }
+
+    @Test public void testComponentsThatAreNotCachedCanBeMadeOnManyThreadsAtOnce() throws InterruptedException {
+        final MutablePicoContainer pico = createPicoContainer(null);
+        pico.addComponent(SimpleTouchable.class);
+        pico.addComponent(DependsOnTouchable.class);
+        pico.as(Characteristics.SDI).addComponent(SetterInjected.class);
+
+        final int threads = 8;
+        final CountDownLatch go = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        for (int i = 0; i < threads; i++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        go.await();
+                        for (int j = 0; j < 2000; j++) {
+                            assertNotNull(pico.getComponent(DependsOnTouchable.class));
+                            assertNotNull(pico.getComponent(SetterInjected.class).touchable);
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+        go.countDown();
+        done.await();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+}
@@ -3,6 +3,8 @@ package com.picocontainer.containers;
 import static com.picocontainer.Key.annotatedKey;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -174,6 +176,31 @@ public class TieringPicoContainerTestCase {
 
     }
 
+    @Test
+    public void testParentIsGuardedByTheSameViewEachTime() {
+        MutablePicoContainer parent = new TieringPicoContainer();
+        MutablePicoContainer child = parent.makeChildContainer();
+
+        assertSame(child.getParent(), child.getParent());
+        assertNull(parent.getParent());
+    }
+
+    @Test
+    public void testRememberedParentLookupsKeepTheTiers() {
+        MutablePicoContainer grandparent = new TieringPicoContainer();
+        MutablePicoContainer parent = grandparent.makeChildContainer();
+        MutablePicoContainer child = parent.makeChildContainer();
+        grandparent.addComponent(Couch.class);
+
+        for (int i = 0; i < 2; i++) {
+            assertNull(child.getComponentAdapter(Couch.class));
+            assertNotNull(parent.getComponentAdapter(Couch.class));
+        }
+
+        parent.addComponent(Couch.class);
+        assertNotNull(child.getComponentAdapter(Couch.class));
+    }
+
     @Test public void testRepresentationOfContainerTree() {
 		TieringPicoContainer parent = new TieringPicoContainer();
         parent.setName("parent");
@@ -160,6 +160,90 @@ public class CollectionComponentParameterTestCase {
 		assertNotSame(bowl.cods[0], bowl.cods[1]);
 	}
 
+	static public class Aquarium {
+		private final Fish[] fishes;
+
+		public Aquarium(final Fish[] fishes) {
+			this.fishes = fishes;
+		}
+	}
+
+	static public class CountingCollectionComponentParameter extends CollectionComponentParameter {
+		private int lookups;
+
+		public CountingCollectionComponentParameter() {
+			super(Object.class, Generic.get(Fish.class), false);
+		}
+
+		public CountingCollectionComponentParameter(final boolean rememberMatches) {
+			super(Object.class, Generic.get(Fish.class), false, rememberMatches);
+		}
+
+		@Override
+		protected Map<Object, ComponentAdapter<?>> getMatchingComponentAdapters(final PicoContainer container,
+				final ComponentAdapter adapter, final Class keyType, final Generic<?> valueType) {
+			if (container.getParent() == null) {
+				lookups++;
+			}
+			return super.getMatchingComponentAdapters(container, adapter, keyType, valueType);
+		}
+	}
+
+	@Test
+	public void testMatchesAreRememberedUntilRegistrationsChange() {
+		MutablePicoContainer parent = new DefaultPicoContainer();
+		parent.addComponent(Cod.class);
+		MutablePicoContainer child = new DefaultPicoContainer(parent);
+		CountingCollectionComponentParameter parameter = new CountingCollectionComponentParameter(true);
+		child.addComponent(Aquarium.class, Aquarium.class, parameter);
+		child.addComponent(Shark.class);
+
+		assertEquals(2, child.getComponent(Aquarium.class).fishes.length);
+		assertEquals(2, child.getComponent(Aquarium.class).fishes.length);
+		int lookups = parameter.lookups;
+
+		parent.addComponent("Nemo", new Cod());
+		assertEquals(3, child.getComponent(Aquarium.class).fishes.length);
+		assertEquals(lookups + 1, parameter.lookups);
+
+		child.removeComponent(Shark.class);
+		assertEquals(2, child.getComponent(Aquarium.class).fishes.length);
+		assertEquals(2, child.getComponent(Aquarium.class).fishes.length);
+		assertEquals(lookups + 2, parameter.lookups);
+	}
+
+	@Test
+	public void testMatchesAreLookedUpForEachInjectionUnlessAskedToBeRemembered() {
+		MutablePicoContainer mpc = new DefaultPicoContainer();
+		CountingCollectionComponentParameter parameter = new CountingCollectionComponentParameter();
+		mpc.addComponent(Aquarium.class, Aquarium.class, parameter);
+		mpc.addComponent(Shark.class);
+
+		mpc.getComponent(Aquarium.class);
+		int lookups = parameter.lookups;
+		mpc.getComponent(Aquarium.class);
+		assertTrue(parameter.lookups > lookups);
+	}
+
+	@Test
+	public void testRememberedMatchesAreKeptApartForSiblingContainers() {
+		MutablePicoContainer parent = new DefaultPicoContainer();
+		CountingCollectionComponentParameter parameter = new CountingCollectionComponentParameter(true);
+		MutablePicoContainer one = parent.makeChildContainer();
+		one.addComponent(Aquarium.class, Aquarium.class, parameter);
+		one.addComponent(Cod.class);
+		MutablePicoContainer another = parent.makeChildContainer();
+		another.addComponent(Aquarium.class, Aquarium.class, parameter);
+		another.addComponent(Shark.class);
+
+		Fish[] fishes = one.getComponent(Aquarium.class).fishes;
+		assertEquals(1, fishes.length);
+		assertTrue(fishes[0] instanceof Cod);
+		fishes = another.getComponent(Aquarium.class).fishes;
+		assertEquals(1, fishes.length);
+		assertTrue(fishes[0] instanceof Shark);
+	}
+
 	static public class CollectedBowl {
 		private final Cod[] cods;
 		private final Fish[] fishes;
@@ -11,6 +11,8 @@
 package com.picocontainer.defaults;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static com.picocontainer.tck.MockFactory.mockeryWithCountingNamingScheme;
 
@@ -18,6 +20,13 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import junit.framework.Assert;
 
@@ -37,6 +46,7 @@ import com.picocontainer.ComponentMonitor;
 import com.picocontainer.DefaultPicoContainer;
 import com.picocontainer.LifecycleStrategy;
 import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.PicoLifecycleException;
 import com.picocontainer.Startable;
@@ -544,4 +554,270 @@ public class DefaultPicoContainerLifecycleTestCase {
         parent.stop();
 
     }
-}
\ No newline at end of file
+
+    public static class Steps {
+        private final List<String> steps = new ArrayList<String>();
+        private final CyclicBarrier bothSides = new CyclicBarrier(2);
+        private final CountDownLatch slowStartBegun = new CountDownLatch(1);
+
+        public synchronized void add(final String step) {
+            steps.add(step);
+        }
+
+        public synchronized List<String> get() {
+            return new ArrayList<String>(steps);
+        }
+
+        public void meetOtherSide() {
+            try {
+                bothSides.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } catch (BrokenBarrierException e) {
+                throw new IllegalStateException(e);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("the other side did not start at the same time", e);
+            }
+        }
+
+        public void beginSlowStart() {
+            slowStartBegun.countDown();
+        }
+
+        public void awaitSlowStart() throws InterruptedException {
+            assertTrue("the slow start did not begin", slowStartBegun.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    public abstract static class Step implements Startable {
+        protected final Steps steps;
+
+        protected Step(final Steps steps) {
+            this.steps = steps;
+        }
+
+        public void start() {
+            steps.add("start " + getClass().getSimpleName());
+        }
+
+        public void stop() {
+            steps.add("stop " + getClass().getSimpleName());
+        }
+    }
+
+    public static class Root extends Step {
+        public Root(final Steps steps) {
+            super(steps);
+        }
+    }
+
+    public static class Left extends Step {
+        public Left(final Steps steps, final Root root) {
+            super(steps);
+        }
+
+        @Override
+        public void start() {
+            steps.meetOtherSide();
+            super.start();
+        }
+    }
+
+    public static class Right extends Step {
+        public Right(final Steps steps, final Root root) {
+            super(steps);
+        }
+
+        @Override
+        public void start() {
+            steps.meetOtherSide();
+            super.start();
+        }
+    }
+
+    public static class Top extends Step {
+        public Top(final Steps steps, final Left left, final Right right) {
+            super(steps);
+        }
+    }
+
+    @Test public void testLifecycleExecutorStartsIndependentComponentsTogetherAfterTheirDependencies() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DefaultPicoContainer pico = new DefaultPicoContainer(new Caching());
+            pico.setLifecycleExecutor(executor);
+            pico.addComponent(Steps.class);
+            pico.addComponent(Top.class);
+            pico.addComponent(Left.class);
+            pico.addComponent(Right.class);
+            pico.addComponent(Root.class);
+
+            pico.start();
+            List<String> started = pico.getComponent(Steps.class).get();
+            assertEquals(4, started.size());
+            assertEquals("start Root", started.get(0));
+            assertTrue(started.subList(1, 3).contains("start Left"));
+            assertTrue(started.subList(1, 3).contains("start Right"));
+            assertEquals("start Top", started.get(3));
+
+            pico.stop();
+            List<String> stopped = pico.getComponent(Steps.class).get().subList(4, 8);
+            assertEquals("stop Top", stopped.get(0));
+            assertTrue(stopped.subList(1, 3).contains("stop Left"));
+            assertTrue(stopped.subList(1, 3).contains("stop Right"));
+            assertEquals("stop Root", stopped.get(3));
+            pico.dispose();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class FailsToStart extends Step {
+        public FailsToStart(final Steps steps) {
+            super(steps);
+        }
+
+        @Override
+        public void start() {
+            throw new IllegalStateException("cannot start");
+        }
+    }
+
+    public static class DependsOnFailsToStart extends Step {
+        public DependsOnFailsToStart(final Steps steps, final FailsToStart failsToStart) {
+            super(steps);
+        }
+    }
+
+    @Test public void testLifecycleExecutorDoesNotStartDependentsOfAComponentThatFailedToStart() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            DefaultPicoContainer pico = new DefaultPicoContainer(new Caching());
+            pico.setLifecycleExecutor(executor);
+            pico.addComponent(Steps.class);
+            pico.addComponent(DependsOnFailsToStart.class);
+            pico.addComponent(FailsToStart.class);
+            try {
+                pico.start();
+                fail("should have failed to start");
+            } catch (PicoLifecycleException e) {
+                assertEquals("cannot start", e.getCause().getMessage());
+            }
+            assertEquals(0, pico.getComponent(Steps.class).get().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test public void testChildContainersShareTheLifecycleExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            DefaultPicoContainer parent = new DefaultPicoContainer(new Caching());
+            parent.setLifecycleExecutor(executor);
+            DefaultPicoContainer child = (DefaultPicoContainer) parent.makeChildContainer();
+            assertEquals(executor, child.getLifecycleExecutor());
+
+            parent.addComponent(Steps.class);
+            child.addComponent(Root.class);
+            parent.start();
+            assertEquals("[start Root]", parent.getComponent(Steps.class).get().toString());
+            parent.stop();
+            assertEquals("[start Root, stop Root]", parent.getComponent(Steps.class).get().toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class SlowToStart extends Step {
+        public SlowToStart(final Steps steps) {
+            super(steps);
+        }
+
+        @Override
+        public void start() {
+            steps.beginSlowStart();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            super.start();
+        }
+    }
+
+    @Test public void testStopCalledDuringAParallelStartWaitsForTheStartToFinish() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final DefaultPicoContainer pico = new DefaultPicoContainer(new Caching());
+            pico.setLifecycleExecutor(executor);
+            pico.addComponent(Steps.class);
+            pico.addComponent(SlowToStart.class);
+            Steps steps = pico.getComponent(Steps.class);
+
+            final Throwable[] startFailure = new Throwable[1];
+            Thread starter = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        pico.start();
+                    } catch (Throwable t) {
+                        startFailure[0] = t;
+                    }
+                }
+            };
+            starter.start();
+            steps.awaitSlowStart();
+            pico.stop();
+            starter.join(10000);
+
+            assertNull(startFailure[0]);
+            assertEquals("[start SlowToStart, stop SlowToStart]", steps.get().toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class Window {
+        private final MutablePicoContainer container;
+
+        public Window(final MutablePicoContainer container) {
+            this.container = container;
+        }
+    }
+
+    public static class LooksAround extends Step {
+        private final MutablePicoContainer container;
+
+        public LooksAround(final Steps steps, final Window window) {
+            super(steps);
+            this.container = window.container;
+        }
+
+        @Override
+        public void start() {
+            steps.add("sees " + container.getComponents(Step.class).size() + " in " + container.getName());
+            try {
+                container.addComponent(Root.class);
+                steps.add("added Root");
+            } catch (PicoCompositionException e) {
+                steps.add("cannot add Root");
+            }
+        }
+    }
+
+    @Test public void testComponentsStartingInParallelCanLookUpTheirContainerButNotChangeIt() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            DefaultPicoContainer pico = new DefaultPicoContainer(new Caching());
+            pico.setName("pico");
+            pico.setLifecycleExecutor(executor);
+            pico.addComponent(Steps.class);
+            pico.addComponent(new Window(pico));
+            pico.addComponent(LooksAround.class);
+            pico.start();
+            assertEquals("[sees 1 in pico, cannot add Root]", pico.getComponent(Steps.class).get().toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
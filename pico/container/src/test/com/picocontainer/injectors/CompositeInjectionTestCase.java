@@ -15,6 +15,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -23,6 +28,8 @@ import com.picocontainer.ComponentMonitor;
 import com.picocontainer.ComponentMonitorStrategy;
 import com.picocontainer.DefaultPicoContainer;
 import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
 import com.picocontainer.ComponentAdapter.NOTHING;
 import com.picocontainer.annotations.Inject;
 import com.picocontainer.containers.EmptyPicoContainer;
@@ -297,4 +304,48 @@ public class CompositeInjectionTestCase {
     	checkFields(instance);
     }
 
-}
\ No newline at end of file
+    public static class CountingMemberInvoker extends ReflectionMemberInvoker {
+        private final List<String> calls = new ArrayList<String>();
+
+        @Override
+        public <T> T newInstance(final Constructor<T> constructor, final Object[] args)
+                throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            calls.add("new " + constructor.getDeclaringClass().getSimpleName());
+            return super.newInstance(constructor, args);
+        }
+
+        @Override
+        public Object invoke(final Method method, final Object instance, final Object[] args)
+                throws IllegalAccessException, InvocationTargetException {
+            calls.add(method.getName());
+            return super.invoke(method, instance, args);
+        }
+    }
+
+    @Test public void testMemberInvokerIsPassedToEachInjector() {
+        CountingMemberInvoker invoker = new CountingMemberInvoker();
+        DefaultPicoContainer dpc = new DefaultPicoContainer(
+                new EmptyPicoContainer(), new NullLifecycleStrategy(),
+                new CompositeInjection(new ConstructorInjection(), new SetterInjection()).withMemberInvoker(invoker));
+        dpc.addComponent(Bar.class);
+        dpc.addComponent(Baz.class);
+        dpc.addComponent(Foo.class);
+        Foo foo = dpc.getComponent(Foo.class);
+        assertNotNull(foo.baz);
+        assertTrue(invoker.calls.contains("new Foo"));
+        assertTrue(invoker.calls.contains("setBaz"));
+    }
+
+    @Test public void testMemberInvokerCanBeChosenWithPicoBuilder() {
+        CountingMemberInvoker invoker = new CountingMemberInvoker();
+        MutablePicoContainer mpc = new PicoBuilder().withMemberInvoker(invoker).build();
+        mpc.addComponent(Bar.class);
+        mpc.addComponent(Baz.class);
+        mpc.addComponent(Foo3.class);
+        Foo3 foo = mpc.getComponent(Foo3.class);
+        assertNotNull(foo.baz);
+        assertTrue(invoker.calls.contains("new Foo3"));
+        assertTrue(invoker.calls.contains("fjshdfkjhsdkfjh"));
+    }
+
+}
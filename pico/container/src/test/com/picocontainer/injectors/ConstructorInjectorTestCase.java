@@ -417,6 +417,38 @@ public class ConstructorInjectorTestCase extends AbstractComponentAdapterTest {
         assertTrue("'with' should be less than 'without' but they were in fact with: " + with + ", and without:" + without, with < without);
     }
 
+    public static class Greedy {
+        private final Two two;
+        public Greedy() {
+            two = null;
+        }
+        public Greedy(final Two two) {
+            this.two = two;
+        }
+    }
+
+    @Test public void testRememberedConstructorIsReconsideredWhenRegistrationsChange() {
+        DefaultPicoContainer dpc = new DefaultPicoContainer(new ConstructorInjection());
+        dpc.addComponent(Greedy.class);
+        assertEquals(null, dpc.getComponent(Greedy.class).two);
+        assertEquals(null, dpc.getComponent(Greedy.class).two);
+        Two two = new Two();
+        dpc.addComponent(two);
+        assertTrue(dpc.getComponent(Greedy.class).two == two);
+        dpc.removeComponent(Two.class);
+        assertEquals(null, dpc.getComponent(Greedy.class).two);
+    }
+
+    @Test public void testRememberedConstructorIsReconsideredWhenParentRegistrationsChange() {
+        DefaultPicoContainer parent = new DefaultPicoContainer(new ConstructorInjection());
+        MutablePicoContainer child = new DefaultPicoContainer(parent, new ConstructorInjection());
+        child.addComponent(Greedy.class);
+        assertEquals(null, child.getComponent(Greedy.class).two);
+        Two two = new Two();
+        parent.addComponent(two);
+        assertTrue(child.getComponent(Greedy.class).two == two);
+    }
+
 	private void garbageCollect() throws Error {
 		Runtime rt = Runtime.getRuntime();
         rt.gc();
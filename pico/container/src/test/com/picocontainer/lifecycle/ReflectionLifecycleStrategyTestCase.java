@@ -9,8 +9,14 @@ package com.picocontainer.lifecycle;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static com.picocontainer.tck.MockFactory.mockeryWithCountingNamingScheme;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
@@ -196,6 +202,27 @@ public class ReflectionLifecycleStrategyTestCase {
 
 	}
 
+	@Test
+	public void testLifecycleMethodsAreFoundAgainAfterSerialization() throws IOException, ClassNotFoundException {
+		strategy = new ReflectionLifecycleStrategy(new NullComponentMonitor());
+		DummyLifecycle dummyTest = new DummyLifecycle();
+		strategy.start(dummyTest);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(strategy);
+		out.close();
+		strategy = (ReflectionLifecycleStrategy) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertTrue(strategy.hasLifecycle(DummyLifecycle.class));
+		assertFalse(strategy.hasLifecycle(Object.class));
+		strategy.stop(dummyTest);
+		strategy.dispose(dummyTest);
+		assertEquals(1, dummyTest.startCount);
+		assertEquals(1, dummyTest.stopCount);
+		assertEquals(1, dummyTest.disposeCount);
+	}
+
 	/**
 	 * <a href="http://jira.codehaus.org/browse/PICO-379">PICO-379</a>
 	 */
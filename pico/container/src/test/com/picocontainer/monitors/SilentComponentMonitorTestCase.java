@@ -0,0 +1,123 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.monitors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+
+import org.junit.Test;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.Startable;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.injectors.MethodInjection;
+import com.picocontainer.injectors.SetterInjection;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+
+public class SilentComponentMonitorTestCase {
+
+    @SuppressWarnings("serial")
+    public static class NotToBeCalledMonitor extends NullComponentMonitor implements SilentComponentMonitor {
+        @Override
+        public <T> Constructor<T> instantiating(final PicoContainer container, final ComponentAdapter<T> componentAdapter,
+                                                final Constructor<T> constructor) {
+            throw new AssertionError("instantiating");
+        }
+
+        @Override
+        public <T> void instantiated(final PicoContainer container, final ComponentAdapter<T> componentAdapter,
+                                     final Constructor<T> constructor, final Object instantiated, final Object[] injected,
+                                     final long duration) {
+            throw new AssertionError("instantiated");
+        }
+
+        @Override
+        public Object invoking(final PicoContainer container, final ComponentAdapter<?> componentAdapter,
+                               final Member member, final Object instance, final Object... args) {
+            throw new AssertionError("invoking");
+        }
+
+        @Override
+        public void invoked(final PicoContainer container, final ComponentAdapter<?> componentAdapter,
+                            final Member member, final Object instance, final long duration, final Object retVal,
+                            final Object... args) {
+            throw new AssertionError("invoked");
+        }
+    }
+
+    public static class Dependency {
+    }
+
+    public static class ByConstructor implements Startable {
+        private final Dependency dependency;
+        private boolean started;
+
+        public ByConstructor(final Dependency dependency) {
+            this.dependency = dependency;
+        }
+
+        public void start() {
+            started = true;
+        }
+
+        public void stop() {
+        }
+    }
+
+    public static class BySetter {
+        private Dependency dependency;
+
+        public void setDependency(final Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    public static class ByMethod {
+        private Dependency dependency;
+
+        public void inject(final Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    @Test public void testNullComponentMonitorIsSilentButNotItsSubclasses() {
+        assertTrue(ComponentMonitorHelper.isSilent(new NullComponentMonitor()));
+        assertTrue(ComponentMonitorHelper.isSilent(new NotToBeCalledMonitor()));
+        assertFalse(ComponentMonitorHelper.isSilent(new NullComponentMonitor() {
+        }));
+        assertFalse(ComponentMonitorHelper.isSilent(new ConsoleComponentMonitor()));
+    }
+
+    @Test public void testInjectorsAndLifecycleLeaveOutASilentMonitor() {
+        NotToBeCalledMonitor monitor = new NotToBeCalledMonitor();
+        DefaultPicoContainer pico = new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor, new Caching(), new ConstructorInjection());
+        pico.addComponent(Dependency.class);
+        pico.addComponent(ByConstructor.class);
+        pico.start();
+        ByConstructor byConstructor = pico.getComponent(ByConstructor.class);
+        assertNotNull(byConstructor.dependency);
+        assertTrue(byConstructor.started);
+
+        DefaultPicoContainer setters = new DefaultPicoContainer(pico, new StartableLifecycleStrategy(monitor), monitor, new SetterInjection());
+        setters.addComponent(BySetter.class);
+        assertSame(byConstructor.dependency, setters.getComponent(BySetter.class).dependency);
+
+        DefaultPicoContainer methods = new DefaultPicoContainer(pico, new StartableLifecycleStrategy(monitor), monitor, new MethodInjection());
+        methods.addComponent(ByMethod.class);
+        assertSame(byConstructor.dependency, methods.getComponent(ByMethod.class).dependency);
+        pico.stop();
+    }
+}
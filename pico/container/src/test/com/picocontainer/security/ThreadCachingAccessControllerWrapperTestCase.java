@@ -0,0 +1,142 @@
+package com.picocontainer.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.security.AccessControlContext;
+import java.security.AccessControlException;
+import java.security.AccessController;
+import java.security.AllPermission;
+import java.security.Permission;
+import java.security.Permissions;
+import java.security.Policy;
+import java.security.PrivilegedAction;
+import java.security.ProtectionDomain;
+
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+
+public class ThreadCachingAccessControllerWrapperTestCase {
+
+	private static final Permission readPermission = new PicoAccessPermission(PicoAccessPermission.REQUEST_SCOPE, PicoAccessPermission.READ);
+
+	private static final Permission writePermission = new PicoAccessPermission(PicoAccessPermission.REQUEST_SCOPE, PicoAccessPermission.WRITE);
+
+	public static class CountingReadOnlyAccessControllerWrapper implements AccessControllerWrapper {
+		private int checks;
+
+		public void checkPermission(Permission checkingPermission) throws AccessControlException {
+			checks++;
+			if (!readPermission.implies(checkingPermission)) {
+				throw new AccessControlException("Write not allowed");
+			}
+		}
+	}
+
+	@Test
+	public void testGrantsAreCheckedOncePerCachingPeriod() {
+		CountingReadOnlyAccessControllerWrapper counting = new CountingReadOnlyAccessControllerWrapper();
+		ThreadCachingAccessControllerWrapper caching = new ThreadCachingAccessControllerWrapper(counting);
+		MutablePicoContainer delegate = new DefaultPicoContainer();
+		delegate.addComponent(StringBuilder.class);
+		SecurityWrappingPicoContainer pico = new SecurityWrappingPicoContainer(PicoAccessPermission.REQUEST_SCOPE, delegate, caching);
+
+		caching.beginCaching();
+		pico.getComponent(StringBuilder.class);
+		pico.getComponent(StringBuilder.class);
+		pico.getComponentAdapter(StringBuilder.class);
+		assertEquals(1, counting.checks);
+		caching.endCaching();
+
+		pico.getComponent(StringBuilder.class);
+		pico.getComponent(StringBuilder.class);
+		assertEquals(3, counting.checks);
+
+		caching.beginCaching();
+		pico.getComponent(StringBuilder.class);
+		assertEquals(4, counting.checks);
+		caching.endCaching();
+	}
+
+	@Test
+	public void testDenialsAreNotRemembered() {
+		CountingReadOnlyAccessControllerWrapper counting = new CountingReadOnlyAccessControllerWrapper();
+		ThreadCachingAccessControllerWrapper caching = new ThreadCachingAccessControllerWrapper(counting);
+
+		caching.beginCaching();
+		for (int i = 0; i < 2; i++) {
+			try {
+				caching.checkPermission(writePermission);
+				fail("should have been denied");
+			} catch (AccessControlException e) {
+				// expected
+			}
+		}
+		assertEquals(2, counting.checks);
+		caching.endCaching();
+	}
+
+	@Test
+	public void testGrantsAreRememberedPerThread() throws InterruptedException {
+		final CountingReadOnlyAccessControllerWrapper counting = new CountingReadOnlyAccessControllerWrapper();
+		final ThreadCachingAccessControllerWrapper caching = new ThreadCachingAccessControllerWrapper(counting);
+
+		caching.beginCaching();
+		caching.checkPermission(readPermission);
+		Thread other = new Thread() {
+			@Override
+			public void run() {
+				caching.checkPermission(readPermission);
+			}
+		};
+		other.start();
+		other.join();
+		caching.checkPermission(readPermission);
+		assertEquals(2, counting.checks);
+		caching.endCaching();
+	}
+
+	@Test
+	public void testGrantsAreOnlyRememberedForTheProtectionDomainsTheyWereMadeFor() {
+		final ThreadCachingAccessControllerWrapper caching = new ThreadCachingAccessControllerWrapper(new AccessControllerWrapper() {
+			public void checkPermission(final Permission checkingPermission) throws AccessControlException {
+				AccessController.checkPermission(checkingPermission);
+			}
+		});
+		Permissions all = new Permissions();
+		all.add(new AllPermission());
+		AccessControlContext privileged = new AccessControlContext(new ProtectionDomain[] {new ProtectionDomain(null, all)});
+		AccessControlContext unprivileged = new AccessControlContext(new ProtectionDomain[] {new ProtectionDomain(null, new Permissions())});
+		PrivilegedAction<Void> check = new PrivilegedAction<Void>() {
+			public Void run() {
+				caching.checkPermission(readPermission);
+				return null;
+			}
+		};
+
+		// grant everything to the classes on the class path, leaving the decision to the domains above
+		Policy policy = Policy.getPolicy();
+		Policy.setPolicy(new Policy() {
+			@Override
+			public boolean implies(final ProtectionDomain domain, final Permission permission) {
+				return true;
+			}
+		});
+		caching.beginCaching();
+		try {
+			AccessController.doPrivileged(check, privileged);
+			try {
+				AccessController.doPrivileged(check, unprivileged);
+				fail("should have been denied");
+			} catch (AccessControlException e) {
+				// expected
+			}
+		} finally {
+			caching.endCaching();
+			Policy.setPolicy(policy);
+		}
+	}
+
+}
@@ -9,12 +9,18 @@
  *****************************************************************************/
 package com.picocontainer.gems.behaviors;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.FieldVisitor;
@@ -93,6 +99,14 @@ public class AsmImplementationHiding extends AbstractBehavior {
     @SuppressWarnings("serial")
     public static class AsmHiddenImplementation<T> extends AbstractChangedBehavior<T> implements Opcodes {
 
+        /**
+         * Proxy constructors by the class loader of the implementations they hide, then by interface names.
+         * Both are held weakly, so that a loader and its proxies can go once no adapter is using them.
+         */
+        private static final Map<ClassLoader, Map<List<String>, WeakReference<Constructor<?>>>> proxyConstructors
+                = new WeakHashMap<ClassLoader, Map<List<String>, WeakReference<Constructor<?>>>>();
+
+        private transient volatile ProxyConstructor proxyConstructor;
 
         public AsmHiddenImplementation(final ComponentAdapter<T> delegate) {
             super(delegate);
@@ -103,11 +117,8 @@ public class AsmImplementationHiding extends AbstractBehavior {
             T o = getDelegate().getComponentInstance(container, into);
             Class[] interfaces = o.getClass().getInterfaces();
             if (interfaces.length != 0) {
-                byte[] bytes = makeProxy("XX", interfaces, true);
-                AsmClassLoader cl = new AsmClassLoader(HotSwapping.HotSwappable.Swappable.class.getClassLoader());
-                Class<?> pClazz = cl.defineClass("XX", bytes);
                 try {
-                    Constructor<T> ctor = (Constructor<T>) pClazz.getConstructor(HotSwapping.HotSwappable.Swappable.class);
+                    Constructor<T> ctor = getProxyConstructor(o.getClass(), interfaces);
                     final HotSwapping.HotSwappable.Swappable swappable = getSwappable();
                     swappable.swap(o);
                     return ctor.newInstance(swappable);
@@ -120,6 +131,43 @@ public class AsmImplementationHiding extends AbstractBehavior {
             return o;
         }
 
+        /**
+         * The adapter keeps the constructor it last used strongly, which is what keeps it in the shared cache.
+         */
+        @SuppressWarnings("unchecked")
+        private Constructor<T> getProxyConstructor(final Class<?> implClass, final Class[] interfaces) throws NoSuchMethodException {
+            ProxyConstructor pc = proxyConstructor;
+            if (pc == null || pc.implClass != implClass) {
+                pc = new ProxyConstructor(implClass, makeProxyConstructor(implClass.getClassLoader(), interfaces));
+                proxyConstructor = pc;
+            }
+            return (Constructor<T>) pc.ctor;
+        }
+
+        private Constructor<?> makeProxyConstructor(final ClassLoader loader, final Class[] interfaces) throws NoSuchMethodException {
+            List<String> names = new ArrayList<String>(interfaces.length);
+            for (Class<?> iface : interfaces) {
+                names.add(iface.getName());
+            }
+            synchronized (proxyConstructors) {
+                Map<List<String>, WeakReference<Constructor<?>>> forLoader = proxyConstructors.get(loader);
+                if (forLoader == null) {
+                    forLoader = new HashMap<List<String>, WeakReference<Constructor<?>>>();
+                    proxyConstructors.put(loader, forLoader);
+                }
+                WeakReference<Constructor<?>> ref = forLoader.get(names);
+                Constructor<?> ctor = ref == null ? null : ref.get();
+                if (ctor == null) {
+                    byte[] bytes = makeProxy("XX", interfaces, true);
+                    AsmClassLoader cl = new AsmClassLoader(HotSwapping.HotSwappable.Swappable.class.getClassLoader());
+                    Class<?> pClazz = cl.defineClass("XX", bytes);
+                    ctor = pClazz.getConstructor(HotSwapping.HotSwappable.Swappable.class);
+                    forLoader.put(names, new WeakReference<Constructor<?>>(ctor));
+                }
+                return ctor;
+            }
+        }
+
         public String getDescriptor() {
             return "Hidden";
         }
@@ -315,6 +363,16 @@ public class AsmImplementationHiding extends AbstractBehavior {
             }
         }
 
+        private static class ProxyConstructor {
+            private final Class<?> implClass;
+            private final Constructor<?> ctor;
+
+            private ProxyConstructor(final Class<?> implClass, final Constructor<?> ctor) {
+                this.implClass = implClass;
+                this.ctor = ctor;
+            }
+        }
+
         private static class AsmClassLoader extends ClassLoader {
 
             public AsmClassLoader(final ClassLoader parent) {
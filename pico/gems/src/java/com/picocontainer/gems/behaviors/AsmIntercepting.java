@@ -0,0 +1,504 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.gems.behaviors;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.PicoCompositionException;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AbstractBehavior;
+import com.picocontainer.behaviors.Intercepting;
+import com.picocontainer.parameters.ConstructorParameters;
+import com.picocontainer.parameters.FieldParameters;
+import com.picocontainer.parameters.MethodParameters;
+
+/**
+ * The same behavior as {@link Intercepting}, but with proxies generated by ASM.  Each method of a generated
+ * proxy calls the pre-invocation interceptor, the component and the post-invocation interceptor directly,
+ * rather than through {@link java.lang.reflect.Proxy} and reflection, and consults the
+ * {@link Intercepting.Controller} in the same way.
+ * <p/>
+ * Interfaces whose methods take or return types that generated code cannot see are left to the dynamic
+ * proxy of {@link Intercepting.Intercepted}.
+ * <pre>
+ * MutablePicoContainer pico = new DefaultPicoContainer(new AsmIntercepting());
+ * pico.addComponent(Dao.class, JdbcDao.class);
+ * pico.getComponentAdapter(Dao.class).findAdapterOfType(Intercepting.Intercepted.class).addPreInvocation(Dao.class, auditor);
+ * </pre>
+ */
+@SuppressWarnings("serial")
+public class AsmIntercepting extends AbstractBehavior {
+
+    @Override
+    public <T> ComponentAdapter<T> createComponentAdapter(final ComponentMonitor monitor,
+                                                          final LifecycleStrategy lifecycle,
+                                                          final Properties componentProps,
+                                                          final Object key,
+                                                          final Class<T> impl,
+                                                          final ConstructorParameters constructorParams, final FieldParameters[] fieldParams, final MethodParameters[] methodParams) throws PicoCompositionException {
+        return monitor.changedBehavior(new AsmIntercepted<T>(super.createComponentAdapter(monitor,
+                lifecycle, componentProps, key,
+                impl, constructorParams, fieldParams, methodParams)));
+    }
+
+    /**
+     * An {@link Intercepting.Intercepted} whose proxy class is generated once, when the first proxy is made.
+     */
+    @SuppressWarnings("serial")
+    public static class AsmIntercepted<T> extends Intercepting.Intercepted<T> implements Opcodes {
+
+        private static final String PROXY = Type.getInternalName(InterceptingProxy.class);
+        private static final String CONTROLLER = Type.getInternalName(Intercepting.Controller.class);
+        private static final String PROXY_CONSTRUCTOR = "(" + Type.getDescriptor(AsmIntercepted.class)
+                + Type.getDescriptor(PicoContainer.class) + ")V";
+
+        private static final AtomicInteger proxyCount = new AtomicInteger();
+
+        private Map<Class, Object> pres = Collections.emptyMap();
+        private Map<Class, Object> posts = Collections.emptyMap();
+
+        private transient volatile Interceptors interceptors;
+        private transient volatile Constructor<?> proxyConstructor;
+        private transient Class<?>[] declaringClasses;
+        private transient boolean dynamicProxy;
+
+        public AsmIntercepted(final ComponentAdapter<T> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public synchronized void addPreInvocation(final Class type, final Object interceptor) {
+            super.addPreInvocation(type, interceptor);
+            Map<Class, Object> map = new HashMap<Class, Object>(pres);
+            map.put(type, interceptor);
+            pres = map;
+            interceptors = null;
+        }
+
+        @Override
+        public synchronized void addPostInvocation(final Class type, final Object interceptor) {
+            super.addPostInvocation(type, interceptor);
+            Map<Class, Object> map = new HashMap<Class, Object>(posts);
+            map.put(type, interceptor);
+            posts = map;
+            interceptors = null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected T createProxy(final Class[] interfaces, final PicoContainer container, final ClassLoader classLoader) {
+            Constructor<?> ctor = getProxyConstructor(interfaces, classLoader);
+            if (ctor == null) {
+                return super.createProxy(interfaces, container, classLoader);
+            }
+            try {
+                return (T) ctor.newInstance(this, container);
+            } catch (InstantiationException e) {
+                throw new PicoCompositionException("Cannot make intercepting proxy for " + getComponentKey(), e);
+            } catch (IllegalAccessException e) {
+                throw new PicoCompositionException("Cannot make intercepting proxy for " + getComponentKey(), e);
+            } catch (InvocationTargetException e) {
+                throw new PicoCompositionException("Cannot make intercepting proxy for " + getComponentKey(), e.getTargetException());
+            }
+        }
+
+        Intercepting.Controller threadController() {
+            return currentController();
+        }
+
+        Interceptors interceptors() {
+            Interceptors result = interceptors;
+            if (result == null) {
+                result = resolveInterceptors();
+            }
+            return result;
+        }
+
+        private synchronized Interceptors resolveInterceptors() {
+            if (interceptors == null) {
+                Object[] pre = new Object[declaringClasses.length];
+                Object[] post = new Object[declaringClasses.length];
+                for (int i = 0; i < declaringClasses.length; i++) {
+                    pre[i] = pres.get(declaringClasses[i]);
+                    post[i] = posts.get(declaringClasses[i]);
+                }
+                interceptors = new Interceptors(pre, post);
+            }
+            return interceptors;
+        }
+
+        private synchronized Constructor<?> getProxyConstructor(final Class[] interfaces, final ClassLoader classLoader) {
+            if (proxyConstructor == null && !dynamicProxy) {
+                List<Method> methods = getProxiedMethods(interfaces);
+                if (!isGeneratable(interfaces, methods)) {
+                    dynamicProxy = true;
+                    return null;
+                }
+                List<Class<?>> declaring = new ArrayList<Class<?>>();
+                for (Method method : methods) {
+                    if (!declaring.contains(method.getDeclaringClass())) {
+                        declaring.add(method.getDeclaringClass());
+                    }
+                }
+                String name = "com/picocontainer/gems/behaviors/generated/InterceptingProxy" + proxyCount.incrementAndGet();
+                byte[] bytes = generateProxy(name, interfaces, methods, declaring);
+                try {
+                    Class<?> proxyClass = new ProxyClassLoader(classLoader).defineClass(name.replace('/', '.'), bytes);
+                    Constructor<?> ctor = proxyClass.getConstructor(AsmIntercepted.class, PicoContainer.class);
+                    declaringClasses = declaring.toArray(new Class<?>[declaring.size()]);
+                    interceptors = null;
+                    proxyConstructor = ctor;
+                } catch (LinkageError e) {
+                    dynamicProxy = true;
+                } catch (NoSuchMethodException e) {
+                    dynamicProxy = true;
+                }
+            }
+            return proxyConstructor;
+        }
+
+        /**
+         * The methods a proxy implements, in the order and with the declaring classes that
+         * {@link java.lang.reflect.Proxy} would hand to its invocation handler.
+         */
+        private static List<Method> getProxiedMethods(final Class[] interfaces) {
+            List<Method> methods = new ArrayList<Method>();
+            Set<String> signatures = new HashSet<String>();
+            try {
+                addMethod(Object.class.getMethod("hashCode"), methods, signatures);
+                addMethod(Object.class.getMethod("equals", Object.class), methods, signatures);
+                addMethod(Object.class.getMethod("toString"), methods, signatures);
+            } catch (NoSuchMethodException e) {
+                throw new PicoCompositionException("java.lang.Object is missing a method", e);
+            }
+            for (Class<?> iface : interfaces) {
+                for (Method method : iface.getMethods()) {
+                    if (!Modifier.isStatic(method.getModifiers())) {
+                        addMethod(method, methods, signatures);
+                    }
+                }
+            }
+            return methods;
+        }
+
+        private static void addMethod(final Method method, final List<Method> methods, final Set<String> signatures) {
+            if (signatures.add(method.getName() + Type.getMethodDescriptor(method))) {
+                methods.add(method);
+            }
+        }
+
+        private static boolean isGeneratable(final Class[] interfaces, final List<Method> methods) {
+            for (Class<?> iface : interfaces) {
+                if (!isPublic(iface)) {
+                    return false;
+                }
+            }
+            for (Method method : methods) {
+                if (!isPublic(method.getReturnType())) {
+                    return false;
+                }
+                for (Class<?> type : method.getParameterTypes()) {
+                    if (!isPublic(type)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isPublic(final Class<?> type) {
+            Class<?> elementType = type;
+            while (elementType.isArray()) {
+                elementType = elementType.getComponentType();
+            }
+            return elementType.isPrimitive() || Modifier.isPublic(elementType.getModifiers());
+        }
+
+        private static byte[] generateProxy(final String name, final Class[] interfaces, final List<Method> methods, final List<Class<?>> declaringClasses) {
+            String[] interfaceNames = new String[interfaces.length];
+            for (int i = 0; i < interfaces.length; i++) {
+                interfaceNames[i] = Type.getInternalName(interfaces[i]);
+            }
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            cw.visit(V1_5, ACC_PUBLIC + ACC_SUPER, name, null, PROXY, interfaceNames);
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", PROXY_CONSTRUCTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKESPECIAL, PROXY, "<init>", PROXY_CONSTRUCTOR);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+            for (Method method : methods) {
+                generateMethod(cw, method, declaringClasses.indexOf(method.getDeclaringClass()));
+            }
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        /**
+         * Generates the equivalent of {@link Intercepting.Intercepted#invokeMethod} for one method,
+         * with direct calls in place of the reflective ones.
+         */
+        private static void generateMethod(final ClassWriter cw, final Method method, final int declaringIndex) {
+            String descriptor = Type.getMethodDescriptor(method);
+            Type returnType = Type.getReturnType(method);
+            boolean isVoid = returnType == Type.VOID_TYPE;
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, method.getName(), descriptor, null,
+                    getInternalNames(method.getExceptionTypes()));
+            mv.visitCode();
+
+            int target = 1;
+            for (Type argumentType : Type.getArgumentTypes(method)) {
+                target += argumentType.getSize();
+            }
+            int controller = target + 1;
+            int interceptor = controller + 1;
+            int result = interceptor + 1;
+            int interceptorResult = result + returnType.getSize();
+
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKEVIRTUAL, PROXY, "target", "()Ljava/lang/Object;");
+            mv.visitVarInsn(ASTORE, target);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, target);
+            mv.visitMethodInsn(INVOKEVIRTUAL, PROXY, "begin", "(Ljava/lang/Object;)L" + CONTROLLER + ";");
+            mv.visitVarInsn(ASTORE, controller);
+
+            Label noPre = new Label();
+            loadInterceptor(mv, "pre", declaringIndex, interceptor);
+            mv.visitJumpInsn(IFNULL, noPre);
+            invoke(mv, method, interceptor);
+            if (!isVoid) {
+                mv.visitVarInsn(returnType.getOpcode(ISTORE), interceptorResult);
+            }
+            mv.visitVarInsn(ALOAD, controller);
+            mv.visitMethodInsn(INVOKEINTERFACE, CONTROLLER, "isVetoed", "()Z");
+            mv.visitJumpInsn(IFEQ, noPre);
+            returnLocal(mv, returnType, interceptorResult);
+            mv.visitLabel(noPre);
+
+            invoke(mv, method, target);
+            if (!isVoid) {
+                mv.visitVarInsn(returnType.getOpcode(ISTORE), result);
+            }
+            mv.visitVarInsn(ALOAD, controller);
+            if (isVoid) {
+                mv.visitInsn(ACONST_NULL);
+            } else {
+                mv.visitVarInsn(returnType.getOpcode(ILOAD), result);
+                box(mv, method.getReturnType());
+            }
+            mv.visitMethodInsn(INVOKEINTERFACE, CONTROLLER, "setOriginalRetVal", "(Ljava/lang/Object;)V");
+
+            Label done = new Label();
+            loadInterceptor(mv, "post", declaringIndex, interceptor);
+            mv.visitJumpInsn(IFNULL, done);
+            invoke(mv, method, interceptor);
+            if (!isVoid) {
+                mv.visitVarInsn(returnType.getOpcode(ISTORE), interceptorResult);
+            }
+            mv.visitVarInsn(ALOAD, controller);
+            mv.visitMethodInsn(INVOKEINTERFACE, CONTROLLER, "isOverridden", "()Z");
+            mv.visitJumpInsn(IFEQ, done);
+            returnLocal(mv, returnType, interceptorResult);
+            mv.visitLabel(done);
+            returnLocal(mv, returnType, result);
+
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private static void loadInterceptor(final MethodVisitor mv, final String which, final int declaringIndex, final int local) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitLdcInsn(declaringIndex);
+            mv.visitMethodInsn(INVOKEVIRTUAL, PROXY, which, "(I)Ljava/lang/Object;");
+            mv.visitVarInsn(ASTORE, local);
+            mv.visitVarInsn(ALOAD, local);
+        }
+
+        private static void invoke(final MethodVisitor mv, final Method method, final int receiver) {
+            Class<?> declaringClass = method.getDeclaringClass();
+            String owner = Type.getInternalName(declaringClass);
+            mv.visitVarInsn(ALOAD, receiver);
+            if (declaringClass != Object.class) {
+                mv.visitTypeInsn(CHECKCAST, owner);
+            }
+            int local = 1;
+            for (Type argumentType : Type.getArgumentTypes(method)) {
+                mv.visitVarInsn(argumentType.getOpcode(ILOAD), local);
+                local += argumentType.getSize();
+            }
+            mv.visitMethodInsn(declaringClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL,
+                    owner, method.getName(), Type.getMethodDescriptor(method));
+        }
+
+        private static void returnLocal(final MethodVisitor mv, final Type returnType, final int local) {
+            if (returnType == Type.VOID_TYPE) {
+                mv.visitInsn(RETURN);
+            } else {
+                mv.visitVarInsn(returnType.getOpcode(ILOAD), local);
+                mv.visitInsn(returnType.getOpcode(IRETURN));
+            }
+        }
+
+        private static void box(final MethodVisitor mv, final Class<?> type) {
+            if (!type.isPrimitive()) {
+                return;
+            }
+            Type box = Type.getType(boxType(type));
+            mv.visitMethodInsn(INVOKESTATIC, box.getInternalName(), "valueOf",
+                    Type.getMethodDescriptor(box, new Type[] {Type.getType(type)}));
+        }
+
+        private static Class<?> boxType(final Class<?> type) {
+            if (type == int.class) {
+                return Integer.class;
+            } else if (type == boolean.class) {
+                return Boolean.class;
+            } else if (type == long.class) {
+                return Long.class;
+            } else if (type == float.class) {
+                return Float.class;
+            } else if (type == double.class) {
+                return Double.class;
+            } else if (type == char.class) {
+                return Character.class;
+            } else if (type == byte.class) {
+                return Byte.class;
+            }
+            return Short.class;
+        }
+
+        private static String[] getInternalNames(final Class<?>[] types) {
+            if (types.length == 0) {
+                return null;
+            }
+            String[] names = new String[types.length];
+            for (int i = 0; i < types.length; i++) {
+                names[i] = Type.getInternalName(types[i]);
+            }
+            return names;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return "Intercepted";
+        }
+    }
+
+    /**
+     * The interceptors of a proxy, by the index its generated code gives each declaring class.
+     */
+    static final class Interceptors {
+        private final Object[] pres;
+        private final Object[] posts;
+
+        private Interceptors(final Object[] pres, final Object[] posts) {
+            this.pres = pres;
+            this.posts = posts;
+        }
+    }
+
+    /**
+     * Base class of the generated proxies.  The component is fetched on first use, as with the
+     * dynamic proxy of {@link com.picocontainer.behaviors.ImplementationHiding.HiddenImplementation}.
+     */
+    public abstract static class InterceptingProxy {
+
+        private final AsmIntercepted<?> intercepted;
+        private final PicoContainer container;
+        private volatile Object instance;
+
+        protected InterceptingProxy(final AsmIntercepted<?> intercepted, final PicoContainer container) {
+            this.intercepted = intercepted;
+            this.container = container;
+        }
+
+        protected final Object target() {
+            Object result = instance;
+            if (result == null) {
+                synchronized (intercepted) {
+                    result = instance;
+                    if (result == null) {
+                        result = intercepted.getDelegate().getComponentInstance(container, ComponentAdapter.NOTHING.class);
+                        instance = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        protected final Intercepting.Controller begin(final Object target) {
+            Intercepting.Controller controller = intercepted.threadController();
+            controller.clear();
+            controller.instance(target);
+            return controller;
+        }
+
+        protected final Object pre(final int declaringIndex) {
+            return intercepted.interceptors().pres[declaringIndex];
+        }
+
+        protected final Object post(final int declaringIndex) {
+            return intercepted.interceptors().posts[declaringIndex];
+        }
+    }
+
+    /**
+     * Defines proxies next to the interfaces they implement, while still seeing the classes the generated code uses.
+     */
+    private static class ProxyClassLoader extends ClassLoader {
+
+        public ProxyClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (name.equals(InterceptingProxy.class.getName())) {
+                return InterceptingProxy.class;
+            } else if (name.equals(AsmIntercepted.class.getName())) {
+                return AsmIntercepted.class;
+            } else if (name.equals(Intercepting.Controller.class.getName())) {
+                return Intercepting.Controller.class;
+            } else if (name.equals(PicoContainer.class.getName())) {
+                return PicoContainer.class;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        public Class<?> defineClass(final String name, final byte[] b) {
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+
+}
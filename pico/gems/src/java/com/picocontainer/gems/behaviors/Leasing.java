@@ -0,0 +1,511 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.behaviors;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Type;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.LifecycleStrategy;
+import com.picocontainer.PicoCompositionException;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.behaviors.AbstractBehavior;
+import com.picocontainer.gems.GemsCharacteristics;
+import com.picocontainer.parameters.ConstructorParameters;
+import com.picocontainer.parameters.FieldParameters;
+import com.picocontainer.parameters.MethodParameters;
+import com.thoughtworks.proxy.kit.Resetter;
+
+/**
+ * A pooling behavior, whose components are leased from the pool and given back explicitly, rather than
+ * proxied and returned by the garbage collector as with {@link Pooling}.  It honours the same
+ * {@link GemsCharacteristics#POOL} and {@link GemsCharacteristics#NO_POOL} characteristics.
+ */
+@SuppressWarnings("serial")
+public class Leasing extends AbstractBehavior {
+
+    private final Pooling.Pooled.Context<?> poolContext;
+
+    public Leasing(final Pooling.Pooled.Context<?> poolContext) {
+        this.poolContext = poolContext;
+    }
+
+    public Leasing() {
+        poolContext = new Leased.DefaultContext<Object>();
+    }
+
+    @Override
+	public <T> ComponentAdapter<T> createComponentAdapter(final ComponentMonitor monitor, final LifecycleStrategy lifecycle, final Properties componentProps, final Object key, final Class<T> impl, final ConstructorParameters constructorParams, final FieldParameters[] fieldParams, final MethodParameters[] methodParams)
+            throws PicoCompositionException {
+        ComponentAdapter<T> delegate = super.createComponentAdapter(monitor, lifecycle, componentProps, key, impl, constructorParams, fieldParams, methodParams);
+
+        if (AbstractBehavior.removePropertiesIfPresent(componentProps, GemsCharacteristics.NO_POOL)) {
+        	return delegate;
+		}
+
+        AbstractBehavior.removePropertiesIfPresent(componentProps, GemsCharacteristics.POOL);
+        return monitor.changedBehavior(new Leased<T>(delegate, poolContext));
+    }
+
+    @Override
+	public <T> ComponentAdapter<T> addComponentAdapter(final ComponentMonitor monitor, final LifecycleStrategy lifecycle,
+                                                final Properties componentProps, final ComponentAdapter<T> adapter) {
+
+        if (AbstractBehavior.removePropertiesIfPresent(componentProps, GemsCharacteristics.NO_POOL)) {
+        	return super.addComponentAdapter(monitor, lifecycle, componentProps, adapter);
+		}
+
+        AbstractBehavior.removePropertiesIfPresent(componentProps, GemsCharacteristics.POOL);
+    	return monitor.changedBehavior(new Leased<T>(super.addComponentAdapter(monitor, lifecycle, componentProps, adapter), poolContext));
+    }
+
+    /**
+     * {@link com.picocontainer.ComponentAdapter} implementation that leases pooled components.
+     * <p>
+     * A component is either taken with {@link #lease(PicoContainer)} and given back with
+     * {@link Lease#release()}, or taken with {@link #getComponentInstance(PicoContainer, Type)} and given
+     * back with {@link #release(Object)}.  A component that is never given back stays leased.
+     * </p>
+     * <p>
+     * The pool is sized, waited on and reset as described by a {@link Pooling.Pooled.Context}, whose
+     * proxy factory, serialization mode and garbage collection settings do not apply.  A
+     * {@link Context} can also give a time after which idle components are dropped from the pool.
+     * Components with a lifecycle are started, stopped and disposed of as by {@link Pooling.Pooled}.
+     * </p>
+     * <p>
+     * Leasing takes no locks.  Each component is claimed by a compare-and-set, trying first the one the
+     * current thread gave back last, then every other one.  Waiting for a component to be given back
+     * is done on a {@link Semaphore} with a permit for each component that may still be leased.
+     * The pool's components are not serialized.
+     * </p>
+     */
+    public static final class Leased<T> extends AbstractChangedBehavior<T> {
+
+        /**
+         * Context of the Leased, adding the eviction of idle components to that of a Pooled.
+         */
+        public static interface Context<T> extends Pooling.Pooled.Context<T> {
+            /**
+             * Retrieve the number of milliseconds after which a component that has not been leased is
+             * dropped from the pool, or {@link Leased#NEVER_EVICT}.
+             *
+             * @return the idle time in milliseconds
+             */
+            long getMaxIdleInMilliseconds();
+        }
+
+        /**
+         * The default context for a Leased, which never evicts idle components.
+         */
+        public static class DefaultContext<T> extends Pooling.Pooled.DefaultContext<T> implements Context<T> {
+
+            /**
+             * {@inheritDoc} Returns {@link Leased#NEVER_EVICT}.
+             */
+            public long getMaxIdleInMilliseconds() {
+                return NEVER_EVICT;
+            }
+        }
+
+        /**
+         * <code>NEVER_EVICT</code> keeps idle components in the pool for as long as it exists.
+         */
+        public static final long NEVER_EVICT = 0;
+
+        private static final int IDLE = 0;
+        private static final int LEASED = 1;
+        private static final int RETURNING = 2;
+        private static final int EVICTED = -1;
+
+        private final int maxPoolSize;
+        private final int waitMilliSeconds;
+        private final long maxIdleMilliSeconds;
+        private final Resetter<T> resetter;
+        private final boolean delegateHasLifecycle;
+        private volatile boolean started;
+        private volatile boolean disposed;
+
+        private transient CopyOnWriteArrayList<Entry<T>> entries;
+        private transient ThreadLocal<Entry<T>> lastReleased;
+        private transient Semaphore available;
+        private transient AtomicInteger size;
+        private transient AtomicLong created;
+        private transient AtomicLong evicted;
+        private transient AtomicLong nextEviction;
+
+        /**
+         * Construct a Leased. The delegate is asked for a new component whenever none in the pool is
+         * idle and the pool is not full, so it must not cache.
+         *
+         * @param delegate the delegated ComponentAdapter
+         * @param context the {@link Pooling.Pooled.Context} of the pool, possibly a {@link Context}
+         * @throws IllegalArgumentException if the maximum pool size is invalid
+         */
+        @SuppressWarnings("unchecked")
+        public Leased(final ComponentAdapter<T> delegate, final Pooling.Pooled.Context<?> context) {
+            super(delegate);
+            maxPoolSize = context.getMaxSize();
+            waitMilliSeconds = context.getMaxWaitInMilliseconds();
+            maxIdleMilliSeconds = context instanceof Context ? ((Context<?>) context).getMaxIdleInMilliseconds() : NEVER_EVICT;
+            resetter = (Resetter<T>) context.getResetter();
+            if (maxPoolSize <= 0) {
+                throw new IllegalArgumentException("Invalid maximum pool size");
+            }
+            delegateHasLifecycle = delegate instanceof LifecycleStrategy
+                    && ((LifecycleStrategy) delegate).hasLifecycle(delegate.getComponentImplementation());
+            initPool();
+        }
+
+        private void initPool() {
+            entries = new CopyOnWriteArrayList<Entry<T>>();
+            lastReleased = new ThreadLocal<Entry<T>>();
+            available = new Semaphore(maxPoolSize);
+            size = new AtomicInteger();
+            created = new AtomicLong();
+            evicted = new AtomicLong();
+            nextEviction = new AtomicLong(System.currentTimeMillis() + maxIdleMilliSeconds);
+        }
+
+        /**
+         * Leases a component, to be given back with {@link #release(Object)}.
+         *
+         * @throws Pooling.Pooled.PoolException if the pool is exhausted or waiting for a component timed
+         *             out or was interrupted
+         */
+        @Override
+        public T getComponentInstance(final PicoContainer container, final Type into) {
+            return take(container, into).instance;
+        }
+
+        /**
+         * Leases a component.
+         *
+         * @param container the container to resolve a new component's dependencies in
+         * @return the lease, to be released when the component is no longer used
+         * @throws Pooling.Pooled.PoolException if the pool is exhausted or waiting for a component timed
+         *             out or was interrupted
+         */
+        public Lease<T> lease(final PicoContainer container) {
+            return new Lease<T>(this, take(container, NOTHING.class));
+        }
+
+        /**
+         * Gives back a component taken with {@link #getComponentInstance(PicoContainer, Type)}.
+         *
+         * @param component the component
+         * @throws IllegalArgumentException if the component is not leased from this pool
+         */
+        public void release(final Object component) {
+            for (Entry<T> entry : entries) {
+                if (entry.instance == component && entry.state.compareAndSet(LEASED, RETURNING)) {
+                    giveBack(entry);
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Not leased from this pool: " + component);
+        }
+
+        private Entry<T> take(final PicoContainer container, final Type into) {
+            if (delegateHasLifecycle && disposed) {
+                throw new IllegalStateException("Already disposed");
+            }
+            acquirePermit();
+            try {
+                evictIdleIfDue();
+                while (true) {
+                    Entry<T> entry = lastReleased.get();
+                    if (entry != null && entry.state.compareAndSet(IDLE, LEASED)) {
+                        return entry;
+                    }
+                    for (Entry<T> candidate : entries) {
+                        if (candidate.state.compareAndSet(IDLE, LEASED)) {
+                            return candidate;
+                        }
+                    }
+                    // the permit leaves room for one more, unless another lease is about to give one back
+                    int current = size.get();
+                    if (current < maxPoolSize && size.compareAndSet(current, current + 1)) {
+                        return create(container, into);
+                    }
+                    Thread.yield();
+                }
+            } catch (RuntimeException e) {
+                available.release();
+                throw e;
+            } catch (Error e) {
+                available.release();
+                throw e;
+            }
+        }
+
+        private void acquirePermit() {
+            try {
+                if (waitMilliSeconds == Pooling.Pooled.FAIL_ON_WAIT) {
+                    if (!available.tryAcquire()) {
+                        throw new Pooling.Pooled.PoolException("Pool exhausted");
+                    }
+                } else if (waitMilliSeconds == Pooling.Pooled.BLOCK_ON_WAIT) {
+                    available.acquire();
+                } else if (!available.tryAcquire(waitMilliSeconds, TimeUnit.MILLISECONDS)) {
+                    throw new Pooling.Pooled.PoolException("Time out wating for returning object into pool");
+                }
+            } catch (InterruptedException e) {
+                // give the client code of the current thread a chance to abort also
+                Thread.currentThread().interrupt();
+                throw new Pooling.Pooled.PoolException("Interrupted waiting for returning object into the pool", e);
+            }
+        }
+
+        private Entry<T> create(final PicoContainer container, final Type into) {
+            final T component;
+            try {
+                component = super.getComponentInstance(container, into);
+                if (delegateHasLifecycle && started) {
+                    start(component);
+                }
+            } catch (RuntimeException e) {
+                size.decrementAndGet();
+                throw e;
+            }
+            Entry<T> entry = new Entry<T>(component);
+            entries.add(entry);
+            created.incrementAndGet();
+            return entry;
+        }
+
+        /**
+         * Called by the one thread that moved the entry from leased to returning.
+         */
+        private void giveBack(final Entry<T> entry) {
+            try {
+                if (resetter.reset(entry.instance) && !disposed) {
+                    entry.lastReleased = System.currentTimeMillis();
+                    lastReleased.set(entry);
+                    entry.state.set(IDLE);
+                } else {
+                    entry.state.set(EVICTED);
+                    drop(entry);
+                }
+            } finally {
+                available.release();
+            }
+        }
+
+        private void drop(final Entry<T> entry) {
+            entries.remove(entry);
+            size.decrementAndGet();
+            if (delegateHasLifecycle) {
+                if (started) {
+                    stop(entry.instance);
+                }
+                if (!disposed) {
+                    dispose(entry.instance);
+                }
+            }
+        }
+
+        /**
+         * Drops the components that have been idle too long, at most once in each idle period.
+         */
+        private void evictIdleIfDue() {
+            if (maxIdleMilliSeconds == NEVER_EVICT) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long due = nextEviction.get();
+            if (now < due || !nextEviction.compareAndSet(due, now + maxIdleMilliSeconds)) {
+                return;
+            }
+            for (Entry<T> entry : entries) {
+                if (now - entry.lastReleased >= maxIdleMilliSeconds && entry.state.compareAndSet(IDLE, EVICTED)) {
+                    drop(entry);
+                    evicted.incrementAndGet();
+                }
+            }
+        }
+
+        public String getDescriptor() {
+            return "Leased";
+        }
+
+        /**
+         * @return the number of components in the pool, leased or not
+         */
+        public int size() {
+            return size.get();
+        }
+
+        /**
+         * @return the number of components leased at the moment
+         */
+        public int getLeasedCount() {
+            return maxPoolSize - available.availablePermits();
+        }
+
+        /**
+         * @return an estimate of the number of threads waiting for a component
+         */
+        public int getWaitingCount() {
+            return available.getQueueLength();
+        }
+
+        /**
+         * @return the number of components created for the pool
+         */
+        public long getCreatedCount() {
+            return created.get();
+        }
+
+        /**
+         * @return the number of components dropped from the pool for being idle too long
+         */
+        public long getEvictedCount() {
+            return evicted.get();
+        }
+
+        @Override
+        public boolean componentHasLifecycle() {
+            return delegateHasLifecycle;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return started;
+        }
+
+        /**
+         * Start of the container starts the pooled components and ensures there is at least one.
+         * Applies only if the delegated {@link ComponentAdapter} supports a lifecycle.
+         *
+         * @throws IllegalStateException if pool was already started or disposed
+         */
+        @Override
+        public void start(final PicoContainer container) {
+            if (delegateHasLifecycle) {
+                if (started) {
+					throw new IllegalStateException("Already started");
+				}
+                if (disposed) {
+					throw new IllegalStateException("Already disposed");
+				}
+                for (Entry<T> entry : entries) {
+                    start(entry.instance);
+                }
+                started = true;
+                if (entries.isEmpty()) {
+                    release(getComponentInstance(container, NOTHING.class));
+                }
+            }
+        }
+
+        /**
+         * Stop of the container stops the pooled components. Applies only if the delegated
+         * {@link ComponentAdapter} supports a lifecycle.
+         *
+         * @throws IllegalStateException if pool was not started or already disposed
+         */
+        @Override
+        public void stop(final PicoContainer container) {
+            if (delegateHasLifecycle) {
+                if (!started) {
+					throw new IllegalStateException("Not started yet");
+				}
+                if (disposed) {
+					throw new IllegalStateException("Already disposed");
+				}
+                for (Entry<T> entry : entries) {
+                    stop(entry.instance);
+                }
+                started = false;
+            }
+        }
+
+        /**
+         * Dispose of the container disposes of the pooled components. Components leased at the time
+         * are not taken back into the pool. Applies only if the delegated {@link ComponentAdapter}
+         * supports a lifecycle.
+         *
+         * @throws IllegalStateException if pool was not stopped or already disposed
+         */
+        @Override
+        public void dispose(final PicoContainer container) {
+            if (delegateHasLifecycle) {
+                if (started) {
+					throw new IllegalStateException("Not stopped yet");
+				}
+                if (disposed) {
+					throw new IllegalStateException("Already disposed");
+				}
+                disposed = true;
+                for (Entry<T> entry : entries) {
+                    dispose(entry.instance);
+                }
+            }
+        }
+
+        private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            initPool();
+        }
+
+        private static final class Entry<T> {
+            private final T instance;
+            private final AtomicInteger state = new AtomicInteger(LEASED);
+            private volatile long lastReleased;
+
+            private Entry(final T instance) {
+                this.instance = instance;
+            }
+        }
+    }
+
+    /**
+     * A component leased from a {@link Leased} pool.
+     */
+    public static final class Lease<T> {
+        private final Leased<T> pool;
+        private final Leased.Entry<T> entry;
+        private boolean released;
+
+        private Lease(final Leased<T> pool, final Leased.Entry<T> entry) {
+            this.pool = pool;
+            this.entry = entry;
+        }
+
+        /**
+         * @return the leased component
+         * @throws IllegalStateException if the lease was released
+         */
+        public T get() {
+            if (released) {
+                throw new IllegalStateException("Already released");
+            }
+            return entry.instance;
+        }
+
+        /**
+         * Gives the component back to the pool.  Releasing more than once has no further effect.
+         */
+        public void release() {
+            if (!released) {
+                released = true;
+                if (entry.state.compareAndSet(Leased.LEASED, Leased.RETURNING)) {
+                    pool.giveBack(entry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,451 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.gems.injectors;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.picocontainer.injectors.ReflectionMemberInvoker;
+
+/**
+ * A {@link com.picocontainer.injectors.MemberInvoker} that compiles each constructor, method and field it
+ * is asked for into a small generated class calling it directly, so that repeated instantiations and
+ * injections skip the reflective access checks and argument copying.
+ * <p/>
+ * Only public members of public classes, taking public types, can be called from generated code.  All
+ * other members, and final fields, are left to reflection.
+ * <p/>
+ * Accessors are kept per class loader of the classes they call, weakly keyed by that loader.  As an accessor
+ * refers back to its class's loader through its own, they are held softly, so that a loader that is no longer
+ * used, such as that of an undeployed application, can still be collected.
+ * <pre>
+ * MutablePicoContainer pico = new PicoBuilder().withMemberInvoker(new AsmMemberInvoker()).build();
+ * </pre>
+ */
+@SuppressWarnings("serial")
+public class AsmMemberInvoker extends ReflectionMemberInvoker implements Opcodes {
+
+    private static final String CONSTRUCTOR_ACCESSOR = Type.getInternalName(ConstructorAccessor.class);
+    private static final String METHOD_ACCESSOR = Type.getInternalName(MethodAccessor.class);
+    private static final String FIELD_ACCESSOR = Type.getInternalName(FieldAccessor.class);
+    private static final String INVOCATION_TARGET_EXCEPTION = Type.getInternalName(InvocationTargetException.class);
+    private static final String[] THROWS_INVOCATION_TARGET_EXCEPTION = new String[] {INVOCATION_TARGET_EXCEPTION};
+
+    private static final AtomicInteger accessorCount = new AtomicInteger();
+
+    private static final Object REFLECTION = new Object();
+
+    private transient Map<ClassLoader, SoftReference<Accessors>> accessorsByClassLoader;
+
+    private transient volatile SoftReference<Accessors> lastAccessors;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance(final Constructor<T> constructor, final Object[] args)
+            throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        Object accessor = getAccessor(constructor);
+        if (accessor == REFLECTION) {
+            return super.newInstance(constructor, args);
+        }
+        checkArgumentCount(constructor.getParameterTypes(), args);
+        try {
+            return (T) ((ConstructorAccessor) accessor).newInstance(args);
+        } catch (ClassCastException e) {
+            throw argumentTypeMismatch(e);
+        } catch (NullPointerException e) {
+            throw argumentTypeMismatch(e);
+        }
+    }
+
+    @Override
+    public Object invoke(final Method method, final Object instance, final Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        Object accessor = getAccessor(method);
+        if (accessor == REFLECTION) {
+            return super.invoke(method, instance, args);
+        }
+        checkInstance(method, instance);
+        checkArgumentCount(method.getParameterTypes(), args);
+        try {
+            return ((MethodAccessor) accessor).invoke(instance, args);
+        } catch (ClassCastException e) {
+            throw argumentTypeMismatch(e);
+        } catch (NullPointerException e) {
+            throw argumentTypeMismatch(e);
+        }
+    }
+
+    @Override
+    public void set(final Field field, final Object instance, final Object value) throws IllegalAccessException {
+        Object accessor = getAccessor(field);
+        if (accessor == REFLECTION) {
+            super.set(field, instance, value);
+            return;
+        }
+        checkInstance(field, instance);
+        try {
+            ((FieldAccessor) accessor).set(instance, value);
+        } catch (ClassCastException e) {
+            throw argumentTypeMismatch(e);
+        } catch (NullPointerException e) {
+            throw argumentTypeMismatch(e);
+        }
+    }
+
+    /**
+     * Fails as reflection would for a missing or unsuitable instance, rather than from inside the accessor,
+     * where it would look like a failure of the member itself.
+     */
+    private static void checkInstance(final Member member, final Object instance) {
+        if (Modifier.isStatic(member.getModifiers())) {
+            return;
+        }
+        if (instance == null) {
+            throw new NullPointerException();
+        }
+        if (!member.getDeclaringClass().isInstance(instance)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+    }
+
+    private static void checkArgumentCount(final Class<?>[] parameterTypes, final Object[] args) {
+        int argCount = args == null ? 0 : args.length;
+        if (argCount != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+    }
+
+    private static IllegalArgumentException argumentTypeMismatch(final RuntimeException e) {
+        IllegalArgumentException iae = new IllegalArgumentException("argument type mismatch");
+        iae.initCause(e);
+        return iae;
+    }
+
+    private Object getAccessor(final Member member) {
+        Accessors accessors = getAccessors(member.getDeclaringClass().getClassLoader());
+        Object accessor = accessors.byMember.get(member);
+        if (accessor == null) {
+            accessor = compile(member, accessors.classLoader);
+            Object raced = accessors.byMember.putIfAbsent(member, accessor);
+            if (raced != null) {
+                accessor = raced;
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * Most components come from one class loader, so the last one used is looked at before taking the lock.
+     */
+    private Accessors getAccessors(final ClassLoader parent) {
+        SoftReference<Accessors> last = lastAccessors;
+        Accessors accessors = last == null ? null : last.get();
+        if (accessors != null && accessors.parent == parent) {
+            return accessors;
+        }
+        synchronized (this) {
+            if (accessorsByClassLoader == null) {
+                accessorsByClassLoader = new WeakHashMap<ClassLoader, SoftReference<Accessors>>();
+            }
+            SoftReference<Accessors> reference = accessorsByClassLoader.get(parent);
+            accessors = reference == null ? null : reference.get();
+            if (accessors == null) {
+                accessors = new Accessors(parent);
+                reference = new SoftReference<Accessors>(accessors);
+                accessorsByClassLoader.put(parent, reference);
+            }
+            lastAccessors = reference;
+            return accessors;
+        }
+    }
+
+    private static Object compile(final Member member, final AccessorClassLoader classLoader) {
+        if (!isCompilable(member)) {
+            return REFLECTION;
+        }
+        String name = "com/picocontainer/gems/injectors/generated/Accessor" + accessorCount.incrementAndGet();
+        byte[] bytes;
+        if (member instanceof Constructor) {
+            bytes = generateConstructorAccessor(name, (Constructor<?>) member);
+        } else if (member instanceof Method) {
+            bytes = generateMethodAccessor(name, (Method) member);
+        } else {
+            bytes = generateFieldAccessor(name, (Field) member);
+        }
+        try {
+            return classLoader.defineClass(name.replace('/', '.'), bytes).newInstance();
+        } catch (LinkageError e) {
+            return REFLECTION;
+        } catch (SecurityException e) {
+            return REFLECTION;
+        } catch (InstantiationException e) {
+            return REFLECTION;
+        } catch (IllegalAccessException e) {
+            return REFLECTION;
+        }
+    }
+
+    private static boolean isCompilable(final Member member) {
+        if (!Modifier.isPublic(member.getModifiers()) || !isPublic(member.getDeclaringClass())) {
+            return false;
+        }
+        if (member instanceof Constructor) {
+            return !Modifier.isAbstract(member.getDeclaringClass().getModifiers())
+                    && arePublic(((Constructor<?>) member).getParameterTypes());
+        } else if (member instanceof Method) {
+            // static interface methods cannot be called from class files of this version.
+            boolean staticInterfaceMethod = Modifier.isStatic(member.getModifiers()) && member.getDeclaringClass().isInterface();
+            return !staticInterfaceMethod && arePublic(((Method) member).getParameterTypes());
+        } else if (member instanceof Field) {
+            return !Modifier.isFinal(member.getModifiers()) && isPublic(((Field) member).getType());
+        }
+        return false;
+    }
+
+    private static boolean arePublic(final Class<?>[] types) {
+        for (Class<?> type : types) {
+            if (!isPublic(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPublic(final Class<?> type) {
+        Class<?> elementType = type;
+        while (elementType.isArray()) {
+            elementType = elementType.getComponentType();
+        }
+        return elementType.isPrimitive() || Modifier.isPublic(elementType.getModifiers());
+    }
+
+    private static byte[] generateConstructorAccessor(final String name, final Constructor<?> constructor) {
+        ClassWriter cw = startAccessor(name, CONSTRUCTOR_ACCESSOR);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "newInstance", "([Ljava/lang/Object;)Ljava/lang/Object;",
+                null, THROWS_INVOCATION_TARGET_EXCEPTION);
+        Label start = new Label();
+        Label end = new Label();
+        Label handler = new Label();
+        mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+        mv.visitCode();
+        String owner = Type.getInternalName(constructor.getDeclaringClass());
+        mv.visitTypeInsn(NEW, owner);
+        mv.visitInsn(DUP);
+        loadArguments(mv, 1, constructor.getParameterTypes());
+        mv.visitLabel(start);
+        mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", Type.getConstructorDescriptor(constructor));
+        mv.visitLabel(end);
+        mv.visitInsn(ARETURN);
+        wrapInInvocationTargetException(mv, handler);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        return endAccessor(cw);
+    }
+
+    private static byte[] generateMethodAccessor(final String name, final Method method) {
+        ClassWriter cw = startAccessor(name, METHOD_ACCESSOR);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;",
+                null, THROWS_INVOCATION_TARGET_EXCEPTION);
+        Label start = new Label();
+        Label end = new Label();
+        Label handler = new Label();
+        mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+        mv.visitCode();
+        Class<?> declaringClass = method.getDeclaringClass();
+        String owner = Type.getInternalName(declaringClass);
+        int opcode;
+        if (Modifier.isStatic(method.getModifiers())) {
+            opcode = INVOKESTATIC;
+        } else {
+            opcode = declaringClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL;
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, owner);
+        }
+        loadArguments(mv, 2, method.getParameterTypes());
+        mv.visitLabel(start);
+        mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method));
+        mv.visitLabel(end);
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            mv.visitInsn(ACONST_NULL);
+        } else if (returnType.isPrimitive()) {
+            Type box = Type.getType(box(returnType));
+            mv.visitMethodInsn(INVOKESTATIC, box.getInternalName(), "valueOf",
+                    Type.getMethodDescriptor(box, new Type[] {Type.getType(returnType)}));
+        }
+        mv.visitInsn(ARETURN);
+        wrapInInvocationTargetException(mv, handler);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        return endAccessor(cw);
+    }
+
+    private static byte[] generateFieldAccessor(final String name, final Field field) {
+        ClassWriter cw = startAccessor(name, FIELD_ACCESSOR);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        String owner = Type.getInternalName(field.getDeclaringClass());
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        if (!isStatic) {
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, owner);
+        }
+        mv.visitVarInsn(ALOAD, 2);
+        convertArgument(mv, field.getType());
+        mv.visitFieldInsn(isStatic ? PUTSTATIC : PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        return endAccessor(cw);
+    }
+
+    private static ClassWriter startAccessor(final String name, final String superName) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC + ACC_SUPER, name, null, superName, null);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V");
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        return cw;
+    }
+
+    private static byte[] endAccessor(final ClassWriter cw) {
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void loadArguments(final MethodVisitor mv, final int argsIndex, final Class<?>[] parameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(ALOAD, argsIndex);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(AALOAD);
+            convertArgument(mv, parameterTypes[i]);
+        }
+    }
+
+    private static void convertArgument(final MethodVisitor mv, final Class<?> type) {
+        if (type == Object.class) {
+            return;
+        }
+        if (type.isPrimitive()) {
+            String box = Type.getInternalName(box(type));
+            mv.visitTypeInsn(CHECKCAST, box);
+            mv.visitMethodInsn(INVOKEVIRTUAL, box, type.getName() + "Value", "()" + Type.getDescriptor(type));
+        } else {
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        }
+    }
+
+    private static void wrapInInvocationTargetException(final MethodVisitor mv, final Label handler) {
+        mv.visitLabel(handler);
+        mv.visitTypeInsn(NEW, INVOCATION_TARGET_EXCEPTION);
+        mv.visitInsn(DUP_X1);
+        mv.visitInsn(SWAP);
+        mv.visitMethodInsn(INVOKESPECIAL, INVOCATION_TARGET_EXCEPTION, "<init>", "(Ljava/lang/Throwable;)V");
+        mv.visitInsn(ATHROW);
+    }
+
+    private static Class<?> box(final Class<?> type) {
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Short.class;
+    }
+
+    /**
+     * Base class of the generated constructor accessors.
+     */
+    public abstract static class ConstructorAccessor {
+        public abstract Object newInstance(Object[] args) throws InvocationTargetException;
+    }
+
+    /**
+     * Base class of the generated method accessors.
+     */
+    public abstract static class MethodAccessor {
+        public abstract Object invoke(Object instance, Object[] args) throws InvocationTargetException;
+    }
+
+    /**
+     * Base class of the generated field accessors.
+     */
+    public abstract static class FieldAccessor {
+        public abstract void set(Object instance, Object value);
+    }
+
+    /**
+     * The accessors for the members of the classes of one class loader.
+     */
+    private static class Accessors {
+        private final ClassLoader parent;
+        private final AccessorClassLoader classLoader;
+        private final ConcurrentMap<Member, Object> byMember = new ConcurrentHashMap<Member, Object>();
+
+        private Accessors(final ClassLoader parent) {
+            this.parent = parent;
+            this.classLoader = new AccessorClassLoader(parent);
+        }
+    }
+
+    /**
+     * Defines accessors next to the classes they call, while still seeing their base classes.
+     */
+    private static class AccessorClassLoader extends ClassLoader {
+
+        private static final String BASE_CLASS_PREFIX = AsmMemberInvoker.class.getName() + "$";
+
+        public AccessorClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith(BASE_CLASS_PREFIX)) {
+                return Class.forName(name, resolve, AsmMemberInvoker.class.getClassLoader());
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        public Class<?> defineClass(final String name, final byte[] b) {
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+
+}
@@ -123,6 +123,11 @@ public class JMXExposing extends AbstractBehavior {
 
     /**
      * {@link com.picocontainer.ComponentAdapter} that is exposing a component as MBean in a MBeanServer.
+     * <p>
+     * The component is exposed once, when its container starts or when it is first fetched, whichever comes
+     * first.  Later fetches go straight to the delegate.  The MBeans are unregistered together when the
+     * component or its container is disposed.
+     * </p>
      * @author J&ouml;rg Schaible
      */
     @SuppressWarnings("serial")
@@ -132,6 +137,8 @@ public class JMXExposing extends AbstractBehavior {
         private final MBeanServer mBeanServer;
         private final DynamicMBeanProvider[] providers;
         private List<ObjectName> registeredObjectNames;
+        private volatile boolean exposed;
+        private volatile boolean started;
 
         /**
          * Construct a JMXExposed behaviour
@@ -168,11 +175,11 @@ public class JMXExposing extends AbstractBehavior {
         }
 
         /**
-         * Retrieve the component instance. The implementation will automatically register it in the {@link javax.management.MBeanServer},
-         * if a provider can return a {@link javax.management.DynamicMBean} for it.
+         * Retrieve the component instance. The first time, the implementation will register it in the
+         * {@link javax.management.MBeanServer}, if a provider can return a {@link javax.management.DynamicMBean} for it.
          * <p>
-         * Note, that you will have to wrap this {@link com.picocontainer.ComponentAdapter} with a {@link com.picocontainer.behaviors.Caching.Cached} to avoid
-         * the registration of the same component again.
+         * Note, that only the instance fetched first is exposed.  Wrap the delegate with a
+         * {@link com.picocontainer.behaviors.Caching.Cached} if later fetches should return the same instance.
          * </p>
          * @throws com.picocontainer.PicoCompositionException Thrown by the delegate or if the registering of the
          *             {@link javax.management.DynamicMBean} in the {@link javax.management.MBeanServer } fails.
@@ -182,10 +189,21 @@ public class JMXExposing extends AbstractBehavior {
         public T getComponentInstance(final PicoContainer container, final Type into)
                 throws PicoCompositionException
         {
+            if (exposed) {
+                return super.getComponentInstance(container, into);
+            }
+            return expose(container, into);
+        }
+
+        private synchronized T expose(final PicoContainer container, final Type into) {
+            if (exposed) {
+                return super.getComponentInstance(container, into);
+            }
             final ComponentAdapter<T> componentAdapter = new Caching.Cached<T>(getDelegate());
 
             final T componentInstance = componentAdapter.getComponentInstance(container, into);
 
+            final List<ObjectName> names = new ArrayList<ObjectName>();
             for (DynamicMBeanProvider provider : providers) {
                 final JMXRegistrationInfo info = provider.provide(container, componentAdapter);
                 if (info != null) {
@@ -199,41 +217,105 @@ public class JMXExposing extends AbstractBehavior {
                     } catch (final NotCompliantMBeanException e) {
                         exception = e;
                     }
-                    if (null == registeredObjectNames) {
-                        registeredObjectNames = new ArrayList<ObjectName>();
-                    }
-                    registeredObjectNames.add(info.getObjectName());
                     if (exception != null) {
+                        // leave nothing behind, so that the next fetch can try again
+                        unregister(names);
                         throw new PicoCompositionException("Registering MBean failed", exception);
                     }
+                    names.add(info.getObjectName());
                 }
             }
+            registeredObjectNames = names;
+            exposed = true;
             return componentInstance;
         }
 
+        /**
+         * Unregisters the component's MBeans, if it was exposed.  Every MBean is unregistered even if one of them
+         * fails, and the first failure is then thrown.
+         */
+        private void unexpose() {
+            final List<ObjectName> names;
+            synchronized (this) {
+                names = registeredObjectNames;
+                registeredObjectNames = null;
+                exposed = false;
+            }
+            if (names != null) {
+                unregister(names);
+            }
+        }
+
+        private void unregister(final List<ObjectName> names) {
+            JMXRegistrationException failure = null;
+            for (ObjectName name : names) {
+                try {
+                    mBeanServer.unregisterMBean(name);
+                } catch (InstanceNotFoundException e) {
+                    failure = failure != null ? failure : new JMXRegistrationException(e);
+                } catch (MBeanRegistrationException e) {
+                    failure = failure != null ? failure : new JMXRegistrationException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
         public String getDescriptor() {
             return "ExposedJMX";
         }
 
+        /**
+         * Exposes the component as its container starts, if it was not fetched before, and starts the delegate.
+         */
         @Override
-        public void dispose(final Object component) {
-            if(null != registeredObjectNames) {
-                for (Object registeredObjectName : registeredObjectNames) {
-                    try {
-                        mBeanServer.unregisterMBean((ObjectName)registeredObjectName);
-                    } catch (InstanceNotFoundException e) {
-                        throw new JMXRegistrationException(e);
-                    } catch (MBeanRegistrationException e) {
-                        throw new JMXRegistrationException(e);
-                    }
-                }
+        public void start(final PicoContainer container) {
+            if (!exposed) {
+                expose(container, NOTHING.class);
             }
+            super.start(container);
+            started = true;
+        }
+
+        @Override
+        public void stop(final PicoContainer container) {
+            super.stop(container);
+            started = false;
+        }
+
+        /**
+         * Disposes of the delegate, then unregisters the component's MBeans.
+         */
+        @Override
+        public void dispose(final PicoContainer container) {
+            super.dispose(container);
+            unexpose();
+        }
+
+        @Override
+        public void dispose(final Object component) {
+            unexpose();
 
             if(super.hasLifecycle(getComponentImplementation())) {
                 super.dispose(component);
             }
         }
 
+        /**
+         * Always true, so that the container starts and disposes of the component, exposing and
+         * unregistering it then.
+         */
+        @Override
+        public boolean componentHasLifecycle() {
+            return true;
+        }
+
+        @Override
+        public boolean isStarted() {
+            return started;
+        }
+
         @Override
         public boolean hasLifecycle(final Class<?> type) {
             return true;
@@ -10,6 +10,11 @@
 
 package com.picocontainer.gems.jmx;
 
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import javax.management.DynamicMBean;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanException;
@@ -33,6 +38,14 @@ import javax.management.modelmbean.RequiredModelMBean;
  */
 public class StandardMBeanFactory implements DynamicMBeanFactory {
 
+    /**
+     * The management interfaces found by naming convention, by the class name of the MBean, for each type loaded
+     * by a class loader of its own.  Types and interfaces are only weakly held, so that an undeployed class loader
+     * can still be collected.  Names that cannot be loaded are looked up again next time, as the class may have
+     * been made available since.
+     */
+    private final Map<Class<?>, Map<String, WeakReference<Class<?>>>> managementInterfaces = new WeakHashMap<Class<?>, Map<String, WeakReference<Class<?>>>>();
+
     /**
      * Create a StandardMBean for the component.
      * @param componentInstance {@inheritDoc}
@@ -92,7 +105,7 @@ public class StandardMBeanFactory implements DynamicMBeanFactory {
      * the mBean unless the caller has provided a {@link MBeanInfo}, the class name of the MBean is retrieved a
      * MBeanInfo that defines this name. Following the naming conventions is the name of the management interface the
      * same as the class name of the MBean with an appended <em>MBean</em>. The {@link ClassLoader} of the type is
-     * used to load the interface type.
+     * used to load the interface type.  The result is kept, so that each type is looked up once.
      * @param type The class of the MBean.
      * @param mBeanInfo The {@link MBeanInfo} for the MBean. May be <code>null</code>.
      * @return Returns the default management interface.
@@ -100,8 +113,28 @@ public class StandardMBeanFactory implements DynamicMBeanFactory {
      */
     public Class getDefaultManagementInterface(final Class type, final MBeanInfo mBeanInfo)
             throws ClassNotFoundException {
-        final ClassLoader classLoader = type.getClassLoader() != null ? type.getClassLoader() : Thread.currentThread()
-                .getContextClassLoader();
-        return classLoader.loadClass((mBeanInfo == null ? type.getName() : mBeanInfo.getClassName()) + "MBean");
+        final String name = (mBeanInfo == null ? type.getName() : mBeanInfo.getClassName()) + "MBean";
+        if (type.getClassLoader() == null) {
+            // the context class loader may differ from one call to the next
+            return Thread.currentThread().getContextClassLoader().loadClass(name);
+        }
+        synchronized (managementInterfaces) {
+            final Map<String, WeakReference<Class<?>>> known = managementInterfaces.get(type);
+            final WeakReference<Class<?>> reference = known == null ? null : known.get(name);
+            final Class<?> managementInterface = reference == null ? null : reference.get();
+            if (managementInterface != null) {
+                return managementInterface;
+            }
+        }
+        final Class<?> managementInterface = type.getClassLoader().loadClass(name);
+        synchronized (managementInterfaces) {
+            Map<String, WeakReference<Class<?>>> known = managementInterfaces.get(type);
+            if (known == null) {
+                known = new HashMap<String, WeakReference<Class<?>>>();
+                managementInterfaces.put(type, known);
+            }
+            known.put(name, new WeakReference<Class<?>>(managementInterface));
+        }
+        return managementInterface;
     }
 }
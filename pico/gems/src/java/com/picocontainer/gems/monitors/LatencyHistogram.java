@@ -0,0 +1,130 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.monitors;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies that records without locking.  Values are counted in buckets that are
+ * exact below 32 and otherwise split each power of two into 16, so any value is known to within
+ * about 6%, from nanoseconds to centuries, in under a thousand counters.
+ */
+@SuppressWarnings("serial")
+public final class LatencyHistogram implements Serializable {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value.
+     * @param value the latency, negative values counting as zero
+     */
+    public void record(final long value) {
+        long recorded = value < 0 ? 0 : value;
+        counts.incrementAndGet(indexOf(recorded));
+        sum.addAndGet(recorded);
+        long highest = max.get();
+        while (recorded > highest && !max.compareAndSet(highest, recorded)) {
+            highest = max.get();
+        }
+    }
+
+    /**
+     * Takes a copy of the counts so far.  Values recorded while the copy is taken may or may not be in it.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.get(), max.get());
+    }
+
+    /**
+     * Forgets all values recorded so far.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestValueAt(final int index) {
+        int shift = index / SUB_BUCKETS - 1;
+        if (shift < 0) {
+            return index;
+        }
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * The counts of a histogram at one time.
+     */
+    public static final class Snapshot implements Serializable {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(final long[] counts, final long count, final long sum, final long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the highest value that the given percentage of the values are at or below,
+         *         to within the precision of the buckets
+         */
+        public long getValueAtPercentile(final double percentile) {
+            long wanted = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= wanted && seen > 0) {
+                    return Math.min(highestValueAt(i), max);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.monitors;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoContainer;
+import com.picocontainer.monitors.AbstractComponentMonitor;
+
+/**
+ * A {@link ComponentMonitor} which records how long each type of component takes to be instantiated,
+ * injected into, and started, stopped or disposed of, in {@link LatencyHistogram histograms}, and counts
+ * missing components and failed instantiations.  It is meant to be left on under load: nothing is logged,
+ * nothing is locked, and with a sampling rate of <em>n</em>, only every <em>n</em>th event on a thread is timed.
+ * <p/>
+ * Latencies are measured with {@link System#nanoTime()} between the <code>instantiating</code> and
+ * <code>instantiated</code>, or <code>invoking</code> and <code>invoked</code>, calls of the container.
+ * Invocations without a component adapter are taken to be lifecycle methods.
+ * <p/>
+ * The figures can be read through {@link #getMetrics(Class)}, or through JMX, as described by
+ * {@link MetricsComponentMonitorMBean}.  To expose the monitor with the gems JMX support, add it as a
+ * component of a container with {@link com.picocontainer.gems.jmx.JMXExposing JMXExposing} behavior, and
+ * register it with a {@link com.picocontainer.gems.jmx.RegisteredMBeanConstructingProvider} under
+ * that management interface.
+ */
+@SuppressWarnings("serial")
+public class MetricsComponentMonitor extends AbstractComponentMonitor implements MetricsComponentMonitorMBean {
+
+    private static final int SLOWEST = 10;
+
+    private volatile int sampleEvery;
+
+    private final ConcurrentMap<Class<?>, ComponentMetrics> metrics = new ConcurrentHashMap<Class<?>, ComponentMetrics>();
+    private final AtomicLong noComponentFound = new AtomicLong();
+    private final AtomicLong instantiationFailed = new AtomicLong();
+
+    private transient ThreadLocal<Timings> timings = newTimings();
+
+    /**
+     * Creates a MetricsComponentMonitor that times every event and delegates to a
+     * {@link com.picocontainer.monitors.NullComponentMonitor}.
+     */
+    public MetricsComponentMonitor() {
+        this(1);
+    }
+
+    /**
+     * @param sampleEvery how many events there are for each one timed
+     */
+    public MetricsComponentMonitor(final int sampleEvery) {
+        setSampleEvery(sampleEvery);
+    }
+
+    /**
+     * @param delegate the monitor to pass every event on to
+     * @param sampleEvery how many events there are for each one timed
+     */
+    public MetricsComponentMonitor(final ComponentMonitor delegate, final int sampleEvery) {
+        super(delegate);
+        setSampleEvery(sampleEvery);
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(final int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be at least 1, not " + sampleEvery);
+        }
+        this.sampleEvery = sampleEvery;
+    }
+
+    @Override
+    public <T> Constructor<T> instantiating(final PicoContainer container, final ComponentAdapter<T> componentAdapter,
+                                            final Constructor<T> constructor) {
+        timings.get().start(componentAdapter, sampleEvery);
+        return super.instantiating(container, componentAdapter, constructor);
+    }
+
+    @Override
+    public <T> void instantiated(final PicoContainer container, final ComponentAdapter<T> componentAdapter,
+                                 final Constructor<T> constructor, final Object instantiated, final Object[] injected,
+                                 final long duration) {
+        long elapsed = timings.get().stop(componentAdapter);
+        if (elapsed >= 0) {
+            metricsFor(instantiated.getClass()).instantiation.record(elapsed);
+        }
+        super.instantiated(container, componentAdapter, constructor, instantiated, injected, duration);
+    }
+
+    @Override
+    public <T> void instantiationFailed(final PicoContainer container, final ComponentAdapter<T> componentAdapter,
+                                        final Constructor<T> constructor, final Exception e) {
+        timings.get().stop(componentAdapter);
+        instantiationFailed.incrementAndGet();
+        super.instantiationFailed(container, componentAdapter, constructor, e);
+    }
+
+    @Override
+    public Object invoking(final PicoContainer container, final ComponentAdapter<?> componentAdapter,
+                           final Member member, final Object instance, final Object... args) {
+        timings.get().start(member, sampleEvery);
+        return super.invoking(container, componentAdapter, member, instance, args);
+    }
+
+    @Override
+    public void invoked(final PicoContainer container, final ComponentAdapter<?> componentAdapter,
+                        final Member member, final Object instance, final long duration, final Object retVal,
+                        final Object[] args) {
+        long elapsed = timings.get().stop(member);
+        if (elapsed >= 0 && instance != null) {
+            ComponentMetrics forType = metricsFor(instance.getClass());
+            (componentAdapter == null ? forType.lifecycle : forType.injection).record(elapsed);
+        }
+        super.invoked(container, componentAdapter, member, instance, duration, retVal, args);
+    }
+
+    @Override
+    public void invocationFailed(final Member member, final Object instance, final Exception e) {
+        timings.get().stop(member);
+        super.invocationFailed(member, instance, e);
+    }
+
+    @Override
+    public void lifecycleInvocationFailed(final MutablePicoContainer container, final ComponentAdapter<?> componentAdapter,
+                                          final Method method, final Object instance, final RuntimeException cause) {
+        timings.get().stop(method);
+        super.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
+    }
+
+    @Override
+    public Object noComponentFound(final MutablePicoContainer container, final Object key) {
+        noComponentFound.incrementAndGet();
+        return super.noComponentFound(container, key);
+    }
+
+    public long getNoComponentFoundCount() {
+        return noComponentFound.get();
+    }
+
+    public long getInstantiationFailedCount() {
+        return instantiationFailed.get();
+    }
+
+    /**
+     * @param componentType a type of component
+     * @return the latencies recorded for it, or null if there are none
+     */
+    public ComponentMetrics getMetrics(final Class<?> componentType) {
+        return metrics.get(componentType);
+    }
+
+    public String[] getComponentTypes() {
+        List<String> names = new ArrayList<String>();
+        for (Class<?> type : metrics.keySet()) {
+            names.add(type.getName());
+        }
+        Collections.sort(names);
+        return names.toArray(new String[names.size()]);
+    }
+
+    public String[] getSlowestInstantiations() {
+        final Map<Class<?>, LatencyHistogram.Snapshot> snapshots = new HashMap<Class<?>, LatencyHistogram.Snapshot>();
+        for (Map.Entry<Class<?>, ComponentMetrics> entry : metrics.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().instantiation.snapshot();
+            if (snapshot.getCount() > 0) {
+                snapshots.put(entry.getKey(), snapshot);
+            }
+        }
+        List<Class<?>> types = new ArrayList<Class<?>>(snapshots.keySet());
+        Collections.sort(types, new Comparator<Class<?>>() {
+            public int compare(final Class<?> one, final Class<?> other) {
+                long p99 = snapshots.get(one).getValueAtPercentile(99);
+                long otherP99 = snapshots.get(other).getValueAtPercentile(99);
+                return p99 > otherP99 ? -1 : p99 < otherP99 ? 1 : 0;
+            }
+        });
+        List<String> slowest = new ArrayList<String>();
+        for (Class<?> type : types.subList(0, Math.min(SLOWEST, types.size()))) {
+            slowest.add(type.getName() + " " + summarize(snapshots.get(type)));
+        }
+        return slowest.toArray(new String[slowest.size()]);
+    }
+
+    public String describe(final String componentType) {
+        for (Map.Entry<Class<?>, ComponentMetrics> entry : metrics.entrySet()) {
+            if (entry.getKey().getName().equals(componentType)) {
+                ComponentMetrics forType = entry.getValue();
+                return "instantiation " + summarize(forType.instantiation.snapshot())
+                    + "; injection " + summarize(forType.injection.snapshot())
+                    + "; lifecycle " + summarize(forType.lifecycle.snapshot());
+            }
+        }
+        return null;
+    }
+
+    public void reset() {
+        for (ComponentMetrics forType : metrics.values()) {
+            forType.instantiation.reset();
+            forType.injection.reset();
+            forType.lifecycle.reset();
+        }
+        noComponentFound.set(0);
+        instantiationFailed.set(0);
+    }
+
+    private ComponentMetrics metricsFor(final Class<?> type) {
+        ComponentMetrics forType = metrics.get(type);
+        if (forType == null) {
+            forType = new ComponentMetrics();
+            ComponentMetrics raced = metrics.putIfAbsent(type, forType);
+            if (raced != null) {
+                forType = raced;
+            }
+        }
+        return forType;
+    }
+
+    private static String summarize(final LatencyHistogram.Snapshot snapshot) {
+        return "count=" + snapshot.getCount()
+            + " mean=" + micros(snapshot.getMean())
+            + " p50=" + micros(snapshot.getValueAtPercentile(50))
+            + " p99=" + micros(snapshot.getValueAtPercentile(99))
+            + " max=" + micros(snapshot.getMax());
+    }
+
+    private static String micros(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+    }
+
+    private static ThreadLocal<Timings> newTimings() {
+        return new ThreadLocal<Timings>() {
+            @Override
+            protected Timings initialValue() {
+                return new Timings();
+            }
+        };
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        timings = newTimings();
+    }
+
+    /**
+     * The latencies of one type of component, in nanoseconds.
+     */
+    public static final class ComponentMetrics implements Serializable {
+        private final LatencyHistogram instantiation = new LatencyHistogram();
+        private final LatencyHistogram injection = new LatencyHistogram();
+        private final LatencyHistogram lifecycle = new LatencyHistogram();
+
+        public LatencyHistogram getInstantiation() {
+            return instantiation;
+        }
+
+        public LatencyHistogram getInjection() {
+            return injection;
+        }
+
+        public LatencyHistogram getLifecycle() {
+            return lifecycle;
+        }
+    }
+
+    /**
+     * The events being timed on one thread, by the adapter or member they are for.  An event that is
+     * given up without its end being reported is replaced when the same adapter or member is next timed.
+     */
+    private static final class Timings {
+        private final Map<Object, Long> started = new HashMap<Object, Long>();
+        private int events;
+
+        private void start(final Object subject, final int sampleEvery) {
+            if (subject != null && ++events >= sampleEvery) {
+                events = 0;
+                started.put(subject, System.nanoTime());
+            }
+        }
+
+        /**
+         * @return the nanoseconds since the start, or -1 if it was not timed
+         */
+        private long stop(final Object subject) {
+            if (started.isEmpty() || subject == null) {
+                return -1;
+            }
+            Long start = started.remove(subject);
+            return start == null ? -1 : System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.monitors;
+
+/**
+ * The management interface of a {@link MetricsComponentMonitor}.  Latencies are given in microseconds.
+ */
+public interface MetricsComponentMonitorMBean {
+
+    /**
+     * @return how many events there are for each one timed
+     */
+    int getSampleEvery();
+
+    void setSampleEvery(int sampleEvery);
+
+    long getNoComponentFoundCount();
+
+    long getInstantiationFailedCount();
+
+    /**
+     * @return the names of the component types with latencies recorded
+     */
+    String[] getComponentTypes();
+
+    /**
+     * @return summaries of the component types slowest to instantiate, by their 99th percentile, slowest first
+     */
+    String[] getSlowestInstantiations();
+
+    /**
+     * @param componentType the name of a component type
+     * @return its instantiation, injection and lifecycle latencies, or null if none are recorded
+     */
+    String describe(String componentType);
+
+    /**
+     * Forgets all latencies and counts so far.
+     */
+    void reset();
+}
@@ -11,6 +11,8 @@ package com.picocontainer.gems.behaviors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 
@@ -116,6 +118,21 @@ public final class AsmImplementationHidingTestCase extends AbstractComponentFact
 
     }
 
+    @Test
+    public void testProxyClassIsGeneratedOnceForPrototypeComponents() throws IOException {
+        MutablePicoContainer pico = new DefaultPicoContainer(new AsmImplementationHiding());
+        pico.addComponent(Elephant.class, ElephantImpl.class);
+        Elephant one = pico.getComponent(Elephant.class);
+        Elephant two = pico.getComponent(Elephant.class);
+        assertNotSame(one, two);
+        assertSame(one.getClass(), two.getClass());
+        elephantAssertions(two);
+
+        MutablePicoContainer other = new DefaultPicoContainer(new AsmImplementationHiding());
+        other.addComponent(Elephant.class, ElephantImpl.class);
+        assertSame(one.getClass(), other.getComponent(Elephant.class).getClass());
+    }
+
     private void elephantAssertions(final Elephant elephant) throws IOException {
         assertEquals("onetwo", elephant.objects("one", "two"));
         assertEquals("onetwo", elephant.objectsArray(new String[]{"one"}, new String[]{"two"})[0]);
@@ -0,0 +1,266 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.gems.behaviors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.behaviors.Intercepting;
+import com.picocontainer.containers.EmptyPicoContainer;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
+
+public class AsmInterceptingTestCase {
+
+    public static interface Person {
+        String greeting();
+        String parting(String who);
+        void sleep(int howLong);
+        long age(long now, int born);
+        public static class nullobject implements Person {
+            public String greeting() {
+                return null;
+            }
+            public String parting(final String who) {
+                return null;
+            }
+            public void sleep(final int howLong) {
+            }
+            public long age(final long now, final int born) {
+                return 0;
+            }
+        }
+    }
+
+    public static class Englishman implements Person {
+        private final StringBuilder sb;
+
+        public Englishman(final StringBuilder sb) {
+            this.sb = sb;
+        }
+
+        public String greeting() {
+            String phrase = "How do you do?";
+            sb.append(phrase);
+            return phrase;
+        }
+
+        public String parting(final String who) {
+            String phrase = "Goodbye " + who + ".";
+            sb.append(phrase);
+            return phrase;
+        }
+
+        public void sleep(final int howLong) {
+            sb.append("Nap for " + howLong);
+        }
+
+        public long age(final long now, final int born) {
+            return now - born;
+        }
+    }
+
+    private DefaultPicoContainer makeContainer(final StringBuilder sb) {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new AsmIntercepting());
+        pico.addComponent(StringBuilder.class, sb);
+        pico.addComponent(Person.class, Englishman.class);
+        return pico;
+    }
+
+    private Intercepting.Intercepted intercepted(final DefaultPicoContainer pico) {
+        return pico.getComponentAdapter(Person.class).findAdapterOfType(Intercepting.Intercepted.class);
+    }
+
+    @Test public void testPreAndPostObservation() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+        Intercepting.Intercepted intercepted = intercepted(pico);
+        intercepted.addPostInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String greeting() {
+                sb.append("</english-greeting>");
+                return null;
+            }
+        });
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String greeting() {
+                sb.append("<english-greeting>");
+                return null;
+            }
+        });
+
+        Person foo = pico.getComponent(Person.class);
+        assertNotNull(foo);
+        assertFalse(Proxy.isProxyClass(foo.getClass()));
+        assertEquals("How do you do?", foo.greeting());
+        assertEquals("<english-greeting>How do you do?</english-greeting>", sb.toString());
+        assertEquals("Intercepted:CompositeInjector(ConstructorInjector)-interface com.picocontainer.gems.behaviors.AsmInterceptingTestCase$Person", pico.getComponentAdapter(Person.class).toString());
+    }
+
+    @Test public void testPreAndPostObservationWithParameter() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+        Intercepting.Intercepted intercepted = intercepted(pico);
+        final Intercepting.Controller interceptor = intercepted.getController();
+        intercepted.addPostInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String a) {
+                assertEquals("Goodbye Fred.", interceptor.getOriginalRetVal().toString());
+                sb.append("</english-parting>");
+                return null;
+            }
+        });
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String who) {
+                sb.append("<english-parting who='" + who + "'>");
+                return null;
+            }
+        });
+
+        Person foo = pico.getComponent(Person.class);
+        assertEquals("Goodbye Fred.", foo.parting("Fred"));
+        assertEquals("<english-parting who='Fred'>Goodbye Fred.</english-parting>", sb.toString());
+    }
+
+    @Test public void testPrimitiveParametersAndReturnValuesArePassedThrough() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+        Intercepting.Intercepted intercepted = intercepted(pico);
+        final Intercepting.Controller interceptor = intercepted.getController();
+        intercepted.addPostInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public long age(final long now, final int born) {
+                sb.append(now).append("-").append(born).append("=").append(interceptor.getOriginalRetVal());
+                return 0;
+            }
+            @Override
+            public void sleep(final int howLong) {
+                sb.append(" then ").append(interceptor.getOriginalRetVal());
+            }
+        });
+
+        Person foo = pico.getComponent(Person.class);
+        assertEquals(70L, foo.age(2011L, 1941));
+        foo.sleep(5);
+        assertEquals("2011-1941=70Nap for 5 then null", sb.toString());
+    }
+
+    @Test public void testPreCanPreventInvocationWithAlternateReturnValue() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+        Intercepting.Intercepted intercepted = intercepted(pico);
+        final Intercepting.Controller interceptor = intercepted.getController();
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String who) {
+                interceptor.veto();
+                return "Au revoir " + who + ".";
+            }
+        });
+
+        Person foo = pico.getComponent(Person.class);
+        assertEquals("Au revoir Fred.", foo.parting("Fred"));
+        assertEquals("", sb.toString());
+    }
+
+    @Test public void testOverrideOfReturnValue() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+        Intercepting.Intercepted intercepted = intercepted(pico);
+        final Intercepting.Controller interceptor = intercepted.getController();
+        intercepted.addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String who) {
+                sb.append("[Before Bye]");
+                return null;
+            }
+        });
+        intercepted.addPostInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String parting(final String a) {
+                assertEquals("Goodbye Fred.", interceptor.getOriginalRetVal());
+                sb.append("[After Bye]");
+                interceptor.override();
+                return "Au revoir Fred.";
+            }
+        });
+
+        Person foo = pico.getComponent(Person.class);
+        assertEquals("Au revoir Fred.", foo.parting("Fred"));
+        assertEquals("[Before Bye]Goodbye Fred.[After Bye]", sb.toString());
+    }
+
+    @Test public void testNothingHappensIfNoPreOrPost() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+
+        Person foo = pico.getComponent(Person.class);
+        assertEquals("Goodbye Fred.", foo.parting("Fred"));
+        assertEquals("Goodbye Fred.", sb.toString());
+    }
+
+    @Test public void testInterceptorsAddedAfterTheProxyIsMadeAreUsed() {
+        final StringBuilder sb = new StringBuilder();
+        DefaultPicoContainer pico = makeContainer(sb);
+        Person foo = pico.getComponent(Person.class);
+        foo.greeting();
+
+        intercepted(pico).addPreInvocation(Person.class, new Person.nullobject() {
+            @Override
+            public String greeting() {
+                sb.append("<later>");
+                return null;
+            }
+        });
+        foo.greeting();
+        assertEquals("How do you do?<later>How do you do?", sb.toString());
+    }
+
+    @Test public void testProxyClassIsGeneratedOncePerAdapter() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new AsmIntercepting());
+        pico.addComponent(StringBuilder.class);
+        pico.addComponent(Person.class, Englishman.class);
+
+        Person one = pico.getComponent(Person.class);
+        Person two = pico.getComponent(Person.class);
+        assertSame(one.getClass(), two.getClass());
+        assertTrue(one.getClass().getName().startsWith("com.picocontainer.gems.behaviors.generated."));
+    }
+
+    public static interface Hidden {
+        void hide(Secret secret);
+    }
+
+    static class Secret {
+    }
+
+    public static class Hider implements Hidden {
+        public void hide(final Secret secret) {
+        }
+    }
+
+    @Test public void testNonPublicParameterTypesFallBackToADynamicProxy() {
+        DefaultPicoContainer pico = new DefaultPicoContainer(new EmptyPicoContainer(), new NullLifecycleStrategy(), new AsmIntercepting());
+        pico.addComponent(Hidden.class, Hider.class);
+
+        Hidden hidden = pico.getComponent(Hidden.class);
+        assertTrue(Proxy.isProxyClass(hidden.getClass()));
+        hidden.hide(new Secret());
+    }
+
+}
@@ -0,0 +1,226 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.behaviors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.picocontainer.ComponentAdapter;
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.gems.GemsCharacteristics;
+import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.testmodel.RecordingLifecycle;
+import com.thoughtworks.proxy.kit.Resetter;
+
+public class LeasedTestCase {
+
+    public static final class Counted {
+        private static int counter;
+        private final int id = counter++;
+    }
+
+    private static Leasing.Leased<Counted> pool(final int maxSize, final int maxWait) {
+        return new Leasing.Leased<Counted>(
+                new ConstructorInjection.ConstructorInjector<Counted>(Counted.class, Counted.class),
+                new Pooling.Pooled.DefaultContext<Counted>() {
+                    @Override
+                    public int getMaxSize() {
+                        return maxSize;
+                    }
+
+                    @Override
+                    public int getMaxWaitInMilliseconds() {
+                        return maxWait;
+                    }
+                });
+    }
+
+    @Test
+    public void testReleasedComponentIsLeasedAgain() {
+        Leasing.Leased<Counted> pool = pool(2, Pooling.Pooled.FAIL_ON_WAIT);
+
+        Leasing.Lease<Counted> first = pool.lease(null);
+        Counted counted = first.get();
+        first.release();
+        Leasing.Lease<Counted> second = pool.lease(null);
+
+        assertSame(counted, second.get());
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getLeasedCount());
+    }
+
+    @Test
+    public void testComponentsLeasedTogetherAreDifferent() {
+        Leasing.Leased<Counted> pool = pool(2, Pooling.Pooled.FAIL_ON_WAIT);
+
+        Counted first = pool.getComponentInstance(null, ComponentAdapter.NOTHING.class);
+        Counted second = pool.getComponentInstance(null, ComponentAdapter.NOTHING.class);
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.size());
+        pool.release(first);
+        pool.release(second);
+        assertEquals(0, pool.getLeasedCount());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testFailsWhenExhausted() {
+        Leasing.Leased<Counted> pool = pool(1, Pooling.Pooled.FAIL_ON_WAIT);
+        pool.lease(null);
+        try {
+            pool.lease(null);
+            fail("Thrown " + Pooling.Pooled.PoolException.class.getName() + " expected");
+        } catch (Pooling.Pooled.PoolException e) {
+            assertEquals("Pool exhausted", e.getMessage());
+        }
+        assertEquals(1, pool.getLeasedCount());
+    }
+
+    @Test
+    public void testTimesOutWhenExhausted() {
+        Leasing.Leased<Counted> pool = pool(1, 50);
+        pool.lease(null);
+        try {
+            pool.lease(null);
+            fail("Thrown " + Pooling.Pooled.PoolException.class.getName() + " expected");
+        } catch (Pooling.Pooled.PoolException e) {
+            assertEquals(1, pool.getLeasedCount());
+        }
+    }
+
+    @Test
+    public void testWaitsForReleaseWhenExhausted() throws InterruptedException {
+        final Leasing.Leased<Counted> pool = pool(1, Pooling.Pooled.BLOCK_ON_WAIT);
+        Leasing.Lease<Counted> lease = pool.lease(null);
+        final Counted[] leasedByOther = new Counted[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        new Thread() {
+            @Override
+            public void run() {
+                leasedByOther[0] = pool.lease(null).get();
+                done.countDown();
+            }
+        }.start();
+
+        long giveUp = System.currentTimeMillis() + 5000;
+        while (pool.getWaitingCount() == 0 && System.currentTimeMillis() < giveUp) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, pool.getWaitingCount());
+        Counted counted = lease.get();
+        lease.release();
+
+        assertEquals(true, done.await(5, TimeUnit.SECONDS));
+        assertSame(counted, leasedByOther[0]);
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testReleasingTwiceHasNoFurtherEffect() {
+        Leasing.Leased<Counted> pool = pool(2, Pooling.Pooled.FAIL_ON_WAIT);
+        Leasing.Lease<Counted> lease = pool.lease(null);
+        lease.release();
+        lease.release();
+
+        assertEquals(0, pool.getLeasedCount());
+        try {
+            lease.get();
+            fail("Thrown " + IllegalStateException.class.getName() + " expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Already released", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReleasingForeignComponentFails() {
+        pool(2, Pooling.Pooled.FAIL_ON_WAIT).release(new Counted());
+    }
+
+    @Test
+    public void testComponentIsDroppedIfResetFails() {
+        Leasing.Leased<Counted> pool = new Leasing.Leased<Counted>(
+                new ConstructorInjection.ConstructorInjector<Counted>(Counted.class, Counted.class),
+                new Pooling.Pooled.DefaultContext<Counted>() {
+                    @Override
+                    public Resetter<Counted> getResetter() {
+                        return new Resetter<Counted>() {
+                            public boolean reset(final Counted object) {
+                                return false;
+                            }
+                        };
+                    }
+                });
+
+        Leasing.Lease<Counted> first = pool.lease(null);
+        Counted counted = first.get();
+        first.release();
+
+        assertEquals(0, pool.size());
+        assertNotSame(counted, pool.lease(null).get());
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testIdleComponentsAreEvicted() throws InterruptedException {
+        Leasing.Leased<Counted> pool = new Leasing.Leased<Counted>(
+                new ConstructorInjection.ConstructorInjector<Counted>(Counted.class, Counted.class),
+                new Leasing.Leased.DefaultContext<Counted>() {
+                    @Override
+                    public long getMaxIdleInMilliseconds() {
+                        return 20;
+                    }
+                });
+
+        Leasing.Lease<Counted> first = pool.lease(null);
+        Counted counted = first.get();
+        first.release();
+        Thread.sleep(50);
+
+        assertNotSame(counted, pool.lease(null).get());
+        assertEquals(1, pool.getEvictedCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testLifecycleOfLeasedComponents() {
+        StringBuffer buffer = new StringBuffer();
+        MutablePicoContainer pico = new DefaultPicoContainer(new Leasing().wrap(new ConstructorInjection()));
+        pico.as(GemsCharacteristics.NO_POOL).addComponent(buffer);
+        pico.as(GemsCharacteristics.NO_POOL).addComponent(RecordingLifecycle.One.class);
+        pico.addComponent(RecordingLifecycle.Two.class);
+        Leasing.Leased<?> pool = pico.getComponentAdapter(RecordingLifecycle.Two.class).findAdapterOfType(Leasing.Leased.class);
+
+        pico.start();
+        assertEquals(1, pool.size());
+        pico.stop();
+        pico.dispose();
+
+        assertEquals("<TwoTwo>!Two", buffer.toString());
+    }
+
+    @Test
+    public void testHonoursNoPool() {
+        MutablePicoContainer pico = new DefaultPicoContainer(new Leasing().wrap(new ConstructorInjection()));
+        pico.as(GemsCharacteristics.NO_POOL).addComponent("NoPool", Counted.class)
+            .as(GemsCharacteristics.POOL).addComponent("Pooled", Counted.class);
+
+        assertNull(pico.getComponentAdapter("NoPool").findAdapterOfType(Leasing.Leased.class));
+        assertNotNull(pico.getComponentAdapter("Pooled").findAdapterOfType(Leasing.Leased.class));
+    }
+}
@@ -0,0 +1,191 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.gems.injectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+
+public class AsmMemberInvokerTestCase {
+
+    public static class Bar {
+    }
+
+    public static class Foo {
+        private final Bar bar;
+        private final int count;
+        private Bar setterBar;
+        @Inject
+        public Bar publicFieldBar;
+        @Inject
+        private Bar privateFieldBar;
+
+        public Foo(final Bar bar, final int count) {
+            this.bar = bar;
+            this.count = count;
+        }
+
+        public void setBar(final Bar bar) {
+            this.setterBar = bar;
+        }
+
+        public int twice(final int value) {
+            return value * 2;
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @Test
+    public void testComponentsAreInstantiatedAndInjected() {
+        MutablePicoContainer pico = new PicoBuilder().withMemberInvoker(new AsmMemberInvoker())
+                .withCaching().withConstructorInjection().withSetterInjection().withAnnotatedFieldInjection().build();
+        pico.addComponent(Bar.class);
+        pico.addComponent(Integer.class, 42);
+        pico.addComponent(Foo.class);
+
+        Foo foo = pico.getComponent(Foo.class);
+        assertNotNull(foo.bar);
+        assertEquals(42, foo.count);
+        assertSame(foo.bar, foo.setterBar);
+        assertSame(foo.bar, foo.publicFieldBar);
+        assertSame(foo.bar, foo.privateFieldBar);
+    }
+
+    @Test
+    public void testPrimitivesAreUnboxedAndBoxed() throws Exception {
+        AsmMemberInvoker invoker = new AsmMemberInvoker();
+        Foo foo = invoker.newInstance(Foo.class.getConstructor(Bar.class, int.class), new Object[] {null, 3});
+        assertEquals(3, foo.count);
+        assertEquals(14, invoker.invoke(Foo.class.getMethod("twice", int.class), foo, new Object[] {7}));
+        assertNull(invoker.invoke(Foo.class.getMethod("setBar", Bar.class), foo, new Object[] {null}));
+    }
+
+    @Test
+    public void testExceptionsOfTheMemberAreReportedAsInvocationTargetExceptions() throws Exception {
+        try {
+            new AsmMemberInvoker().newInstance(Failing.class.getConstructor(), new Object[0]);
+            fail("should have barfed");
+        } catch (InvocationTargetException e) {
+            assertEquals("boom", e.getTargetException().getMessage());
+        }
+    }
+
+    @Test
+    public void testArgumentMismatchesAreReportedAsIllegalArgumentExceptions() throws Exception {
+        AsmMemberInvoker invoker = new AsmMemberInvoker();
+        try {
+            invoker.newInstance(Foo.class.getConstructor(Bar.class, int.class), new Object[] {"not a bar", 3});
+            fail("should have barfed");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            invoker.newInstance(Foo.class.getConstructor(Bar.class, int.class), new Object[] {null});
+            fail("should have barfed");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testPublicMembersAreCalledFromGeneratedCode() throws Exception {
+        AsmMemberInvoker invoker = new AsmMemberInvoker();
+        Traced traced = invoker.newInstance(Traced.class.getConstructor(), new Object[0]);
+        assertTrue(traced.constructedByGeneratedCode);
+        assertEquals(true, invoker.invoke(Traced.class.getMethod("call"), traced, new Object[0]));
+    }
+
+    @Test
+    public void testMembersOfNonPublicClassesAreLeftToReflection() throws Exception {
+        AsmMemberInvoker invoker = new AsmMemberInvoker();
+        Constructor<Hidden> constructor = Hidden.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Hidden hidden = invoker.newInstance(constructor, new Object[0]);
+        assertFalse(hidden.constructedByGeneratedCode);
+
+        Method call = Hidden.class.getMethod("call");
+        call.setAccessible(true);
+        assertEquals(false, invoker.invoke(call, hidden, new Object[0]));
+
+        Field field = Hidden.class.getField("value");
+        field.setAccessible(true);
+        invoker.set(field, hidden, "set");
+        assertEquals("set", hidden.value);
+    }
+
+    @Test
+    public void testMissingOrForeignInstancesFailAsWithReflection() throws Exception {
+        AsmMemberInvoker invoker = new AsmMemberInvoker();
+        Method twice = Foo.class.getMethod("twice", int.class);
+        try {
+            invoker.invoke(twice, null, new Object[] {1});
+            fail("should have barfed");
+        } catch (NullPointerException expected) {
+        }
+        try {
+            invoker.invoke(twice, new Bar(), new Object[] {1});
+            fail("should have barfed");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            invoker.set(Foo.class.getField("publicFieldBar"), null, new Bar());
+            fail("should have barfed");
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    private static boolean calledFromGeneratedCode() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (element.getClassName().startsWith("com.picocontainer.gems.injectors.generated.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class Traced {
+        private final boolean constructedByGeneratedCode = calledFromGeneratedCode();
+
+        public boolean call() {
+            return calledFromGeneratedCode();
+        }
+    }
+
+    static class Hidden {
+        private final boolean constructedByGeneratedCode = calledFromGeneratedCode();
+        public String value;
+
+        public Hidden() {
+        }
+
+        public boolean call() {
+            return calledFromGeneratedCode();
+        }
+    }
+
+}
@@ -11,6 +11,7 @@
 package com.picocontainer.gems.jmx;
 
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static com.picocontainer.tck.MockFactory.mockeryWithCountingNamingScheme;
 
@@ -71,6 +72,37 @@ public class JMXExposedTestCase {
         componentAdapter.dispose(person);
     }
 
+    @Test public void testRegistersOnlyOnFirstFetch() throws NotCompliantMBeanException, InstanceAlreadyExistsException, MBeanRegistrationException {
+        final DynamicMBeanPerson person = new DynamicMBeanPerson();
+        final ComponentAdapter componentAdapter = new JMXExposing.JMXExposed(new InstanceAdapter(
+                PersonMBean.class, person, new NullLifecycleStrategy(), new NullComponentMonitor()), mBeanServer);
+        mockery.checking(new Expectations() {{
+        	one(mBeanServer).registerMBean(with(same(person)), with(any(ObjectName.class)));
+        }});
+
+        assertSame(person, componentAdapter.getComponentInstance(null, ComponentAdapter.NOTHING.class));
+        assertSame(person, componentAdapter.getComponentInstance(null, ComponentAdapter.NOTHING.class));
+        mockery.assertIsSatisfied();
+    }
+
+    @Test public void testRegistersOnStartAndUnregistersOnDispose() throws NotCompliantMBeanException, InstanceAlreadyExistsException, MBeanRegistrationException, InstanceNotFoundException {
+        final DynamicMBeanPerson person = new DynamicMBeanPerson();
+        final JMXExposing.JMXExposed componentAdapter = new JMXExposing.JMXExposed(new InstanceAdapter(
+                PersonMBean.class, person, new NullLifecycleStrategy(), new NullComponentMonitor()), mBeanServer);
+        mockery.checking(new Expectations() {{
+        	one(mBeanServer).registerMBean(with(same(person)), with(any(ObjectName.class)));
+        	one(mBeanServer).unregisterMBean(with(any(ObjectName.class)));
+        }});
+
+        componentAdapter.start((PicoContainer) null);
+        assertTrue(componentAdapter.isStarted());
+        assertSame(person, componentAdapter.getComponentInstance(null, ComponentAdapter.NOTHING.class));
+        componentAdapter.stop((PicoContainer) null);
+        componentAdapter.dispose((PicoContainer) null);
+        componentAdapter.dispose(person);
+        mockery.assertIsSatisfied();
+    }
+
     @Test public void testWillTryAnyDynamicMBeanProvider() throws MalformedObjectNameException, NotCompliantMBeanException, InstanceAlreadyExistsException, MBeanRegistrationException {
         final Person person = new Person();
         final DynamicMBeanProvider provider1 = mockery.mock(DynamicMBeanProvider.class);
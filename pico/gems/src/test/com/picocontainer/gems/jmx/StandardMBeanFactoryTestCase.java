@@ -12,9 +12,15 @@ package com.picocontainer.gems.jmx;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
 import javax.management.DynamicMBean;
 import javax.management.MBeanInfo;
 import javax.management.modelmbean.ModelMBeanAttributeInfo;
@@ -88,4 +94,86 @@ public class StandardMBeanFactoryTestCase {
         final MBeanInfo mBeanInfo = Person.createMBeanInfo();
         assertSame(PersonMBean.class, factory.getDefaultManagementInterface(SimpleTouchable.class, mBeanInfo));
     }
+
+    @Test public void testGetDefaultManagementInterfaceKeepsFailingForTypeWithoutOne() {
+        final StandardMBeanFactory factory = new StandardMBeanFactory();
+        for (int i = 0; i < 2; i++) {
+            try {
+                factory.getDefaultManagementInterface(SimpleTouchable.class, null);
+                fail("ClassNotFoundException expected");
+            } catch (final ClassNotFoundException e) {
+                assertEquals(SimpleTouchable.class.getName() + "MBean", e.getMessage());
+            }
+        }
+    }
+
+    public static class Managed {
+    }
+
+    /**
+     * Loads its own copy of {@link Managed}, whose management interface it can be told to hide.
+     */
+    private static class LateLoader extends ClassLoader {
+        private boolean hidingManagementInterface;
+
+        LateLoader() {
+            super(StandardMBeanFactoryTestCase.class.getClassLoader());
+        }
+
+        Class<?> defineManaged() throws IOException {
+            final InputStream in = getParent().getResourceAsStream(Managed.class.getName().replace('.', '/') + ".class");
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                final byte[] buffer = new byte[4096];
+                for (int read; (read = in.read(buffer)) != -1;) {
+                    bytes.write(buffer, 0, read);
+                }
+            } finally {
+                in.close();
+            }
+            return defineClass(Managed.class.getName(), bytes.toByteArray(), 0, bytes.size());
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (name.equals(Managed.class.getName() + "MBean")) {
+                if (hidingManagementInterface) {
+                    throw new ClassNotFoundException(name);
+                }
+                return PersonMBean.class;
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+
+    @Test public void testGetDefaultManagementInterfaceFindsOneThatBecameAvailableAfterAFailedLookup() throws Exception {
+        final StandardMBeanFactory factory = new StandardMBeanFactory();
+        final LateLoader loader = new LateLoader();
+        final Class<?> type = loader.defineManaged();
+        loader.hidingManagementInterface = true;
+        try {
+            factory.getDefaultManagementInterface(type, null);
+            fail("ClassNotFoundException expected");
+        } catch (final ClassNotFoundException e) {
+            assertEquals(Managed.class.getName() + "MBean", e.getMessage());
+        }
+        loader.hidingManagementInterface = false;
+        assertSame(PersonMBean.class, factory.getDefaultManagementInterface(type, null));
+    }
+
+    @Test public void testGetDefaultManagementInterfaceDoesNotKeepTheClassLoaderOfTheType() throws Exception {
+        final StandardMBeanFactory factory = new StandardMBeanFactory();
+        LateLoader loader = new LateLoader();
+        Class<?> type = loader.defineManaged();
+        assertSame(PersonMBean.class, factory.getDefaultManagementInterface(type, null));
+
+        final WeakReference<ClassLoader> collected = new WeakReference<ClassLoader>(loader);
+        loader = null;
+        type = null;
+        for (int i = 0; i < 20 && collected.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(collected.get());
+    }
 }
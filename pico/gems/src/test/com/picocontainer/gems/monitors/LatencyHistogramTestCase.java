@@ -0,0 +1,56 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.monitors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTestCase {
+
+    @Test public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(20, snapshot.getCount());
+        assertEquals(10, snapshot.getMean());
+        assertEquals(20, snapshot.getMax());
+        assertEquals(10, snapshot.getValueAtPercentile(50));
+        assertEquals(20, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test public void testLargeValuesAreWithinTheBucketPrecision() {
+        long[] values = {33, 1000, 123456, 987654321L, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueAt(index);
+            assertTrue(value + " <= " + highest, value <= highest);
+            assertTrue(value + " within 1/16 of " + highest, highest - value <= value / 16);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+        }
+        assertEquals(LatencyHistogram.indexOf(Long.MAX_VALUE - 1), LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test public void testPercentilesNeverExceedTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(1000000);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertTrue(snapshot.getValueAtPercentile(99) < 110);
+        assertEquals(1000000, snapshot.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,138 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *****************************************************************************/
+package com.picocontainer.gems.monitors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.PicoBuilder;
+import com.picocontainer.Startable;
+import com.picocontainer.gems.jmx.DynamicMBeanProvider;
+import com.picocontainer.gems.jmx.JMXExposing;
+import com.picocontainer.gems.jmx.RegisteredMBeanConstructingProvider;
+import com.picocontainer.behaviors.Caching;
+import com.picocontainer.injectors.ConstructorInjection;
+import com.picocontainer.injectors.SetterInjection;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+
+public class MetricsComponentMonitorTestCase {
+
+    public static class Engine implements Startable {
+        public void start() {
+        }
+
+        public void stop() {
+        }
+    }
+
+    public static class Car {
+        public Car(final Engine engine) {
+        }
+    }
+
+    public static class Garage {
+        public void setCar(final Car car) {
+        }
+    }
+
+    private DefaultPicoContainer container(final MetricsComponentMonitor monitor) {
+        return new DefaultPicoContainer(null, new StartableLifecycleStrategy(monitor), monitor,
+                                        new Caching(), new ConstructorInjection());
+    }
+
+    @Test public void testRecordsInstantiationInjectionAndLifecycleLatenciesByType() {
+        MetricsComponentMonitor monitor = new MetricsComponentMonitor();
+        DefaultPicoContainer pico = container(monitor);
+        pico.addComponent(Engine.class);
+        pico.addComponent(Car.class);
+        DefaultPicoContainer setters = new DefaultPicoContainer(pico, new StartableLifecycleStrategy(monitor), monitor,
+                                                                new SetterInjection());
+        setters.addComponent(Garage.class);
+        pico.start();
+        setters.getComponent(Garage.class);
+        pico.stop();
+
+        assertEquals(1, monitor.getMetrics(Car.class).getInstantiation().snapshot().getCount());
+        assertEquals(1, monitor.getMetrics(Engine.class).getInstantiation().snapshot().getCount());
+        assertEquals(2, monitor.getMetrics(Engine.class).getLifecycle().snapshot().getCount());
+        assertEquals(1, monitor.getMetrics(Garage.class).getInjection().snapshot().getCount());
+        assertEquals(0, monitor.getMetrics(Garage.class).getLifecycle().snapshot().getCount());
+
+        assertEquals(3, monitor.getSlowestInstantiations().length);
+        assertTrue(monitor.describe(Engine.class.getName()).startsWith("instantiation count=1 "));
+        assertNull(monitor.describe(String.class.getName()));
+    }
+
+    public static class Broken {
+        public Broken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Test public void testCountsMissingComponentsAndFailedInstantiations() {
+        MetricsComponentMonitor monitor = new MetricsComponentMonitor();
+        DefaultPicoContainer pico = container(monitor);
+        pico.addComponent(Broken.class);
+        assertNull(pico.getComponent("nothing"));
+        try {
+            pico.getComponent(Broken.class);
+            fail("should not have been instantiated");
+        } catch (IllegalStateException e) {
+            assertEquals("broken", e.getMessage());
+        }
+        assertEquals(1, monitor.getNoComponentFoundCount());
+        assertEquals(1, monitor.getInstantiationFailedCount());
+
+        monitor.reset();
+        assertEquals(0, monitor.getNoComponentFoundCount());
+        assertEquals(0, monitor.getInstantiationFailedCount());
+    }
+
+    @Test public void testTimesOnlyOneEventInEachSample() {
+        MetricsComponentMonitor monitor = new MetricsComponentMonitor(4);
+        for (int i = 0; i < 8; i++) {
+            DefaultPicoContainer pico = container(monitor);
+            pico.addComponent(Engine.class);
+            pico.getComponent(Engine.class);
+        }
+        assertEquals(2, monitor.getMetrics(Engine.class).getInstantiation().snapshot().getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSamplesAtLeastOneEvent() {
+        new MetricsComponentMonitor(0);
+    }
+
+    @Test public void testCanBeExposedThroughTheGemsJmxSupport() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        ObjectName name = new ObjectName("picocontainer:type=MetricsComponentMonitor");
+        RegisteredMBeanConstructingProvider provider = new RegisteredMBeanConstructingProvider();
+        provider.register(MetricsComponentMonitor.class, name, MetricsComponentMonitorMBean.class, null);
+
+        MetricsComponentMonitor monitor = new MetricsComponentMonitor();
+        MutablePicoContainer pico = new PicoBuilder()
+            .withBehaviors(new JMXExposing(mBeanServer, new DynamicMBeanProvider[] {provider}))
+            .build();
+        pico.addComponent(MetricsComponentMonitor.class, monitor);
+        pico.getComponent(MetricsComponentMonitor.class);
+
+        container(monitor).addComponent(Engine.class).getComponent(Engine.class);
+        assertEquals(1, ((String[]) mBeanServer.getAttribute(name, "SlowestInstantiations")).length);
+        assertEquals(Integer.valueOf(1), mBeanServer.getAttribute(name, "SampleEvery"));
+    }
+}
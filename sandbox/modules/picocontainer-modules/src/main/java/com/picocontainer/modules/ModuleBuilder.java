@@ -32,6 +32,7 @@ public class ModuleBuilder {
 	private ModuleMonitor monitorInstance;
 	private Class<? extends FileExtensionMapper> extensionMapperType  = PicoScriptingExtensionMapper.class;
 	private ScriptedBuilderNameResolver nameBuilderResolver = new ScriptedBuilderNameResolver();
+	private boolean watchingAutoDeployFolder;
 	
 	public ModuleBuilder() {
 		cl = AccessController.doPrivileged(new PrivilegedAction<ClassLoader>(){
@@ -74,6 +75,15 @@ public class ModuleBuilder {
 		}
 	}
 	
+	/**
+	 * Also deploy the modules added to the auto deploy folder after deployment.  Needs the
+	 * {@link DefaultModuleSystem default module system}.
+	 */
+	public ModuleBuilder withAutoDeployFolderWatching() {
+		this.watchingAutoDeployFolder = true;
+		return this;
+	}
+	
 	public ModuleBuilder withMonitor(Class<? extends ModuleMonitor> monitor) {
 		this.monitor = monitor;
 		return this;		
@@ -143,6 +153,13 @@ public class ModuleBuilder {
 			pico.addComponent(ModuleMonitor.class, monitorInstance);
 		}
 		
-		return pico.getComponent(PicoModuleSystem.class);
+		PicoModuleSystem moduleSystem = pico.getComponent(PicoModuleSystem.class);
+		if (watchingAutoDeployFolder) {
+			if (!(moduleSystem instanceof DefaultModuleSystem)) {
+				throw new IllegalStateException("Cannot watch the auto deploy folder with module system " + moduleSystem);
+			}
+			((DefaultModuleSystem) moduleSystem).watchModuleFolder();
+		}
+		return moduleSystem;
 	}
 }
@@ -17,6 +17,8 @@ import com.picocontainer.modules.FileSystemRuntimeException;
 import com.picocontainer.modules.ModuleMonitor;
 import com.picocontainer.modules.PicoModuleSystem;
 import com.picocontainer.modules.deployer.Deployer;
+import com.picocontainer.modules.deployer.FolderContentHandler;
+import com.picocontainer.modules.deployer.FolderContentWatcher;
 import com.picocontainer.script.util.MultiException;
 
 import com.picocontainer.MutablePicoContainer;
@@ -38,6 +40,8 @@ public class DefaultModuleSystem implements PicoModuleSystemSPI {
 	private final List<MutablePicoContainer> builtContainers = new ArrayList<MutablePicoContainer>();
 	private final Set<String> builtContainerNames = new HashSet<String>();
 	private final Stack<String> containerRecursionPath = new Stack<String>();
+	private boolean moduleFolderWatched;
+	private FolderContentWatcher moduleFolderWatcher;
 
 	public DefaultModuleSystem(final ModuleMonitor monitor,
 			final Deployer deployer, final FileObject moduleDirectory,
@@ -94,6 +98,10 @@ public class DefaultModuleSystem implements PicoModuleSystemSPI {
 		}
 
 		parent.start();
+		if (moduleFolderWatched) {
+			moduleFolderWatcher = new FolderContentWatcher(new AddedModuleDeployer(), monitor);
+			moduleFolderWatcher.start();
+		}
 		final long endTime = System.currentTimeMillis();
 		monitor.multiModuleDeploymentSuccess(moduleDirectory, returnValue,
 				endTime - startTime);
@@ -164,6 +172,62 @@ public class DefaultModuleSystem implements PicoModuleSystemSPI {
 		}
 	}
 
+	/**
+	 * Deploys and starts the modules added to the module folder once deployed, as well as those in it
+	 * at the time, until undeployed.  Modules removed from the folder stay deployed.
+	 * @return <code>this</code> to allow for method chaining.
+	 */
+	public synchronized DefaultModuleSystem watchModuleFolder() {
+		if (this.parent != null) {
+			throw new IllegalStateException("The module folder must be watched from before deployment");
+		}
+		moduleFolderWatched = true;
+		return this;
+	}
+
+	/**
+	 * Deploys the modules in the folder that have not been deployed yet, starting them if the parent is.
+	 * A module that fails is reported to the monitor and not tried again.
+	 */
+	private synchronized void deployAddedModules(final FileObject[] currentChildren) {
+		if (parent == null) {
+			return;
+		}
+		for (final FileObject eachChild : currentChildren) {
+			final String moduleName = eachChild.getName().getBaseName();
+			if (builtContainerNames.contains(moduleName)) {
+				continue;
+			}
+			final int builtSoFar = builtContainers.size();
+			ModuleSystemDeploymentRegistry.setDeployingModule(this);
+			try {
+				deployModuleByName(moduleName);
+				if (parent.getLifecycleState().isStarted()) {
+					for (final MutablePicoContainer eachPico : builtContainers.subList(builtSoFar, builtContainers.size())) {
+						eachPico.start();
+					}
+				}
+			} catch (final RuntimeException e) {
+				monitor.errorPerformingDeploy(eachChild, e);
+			} finally {
+				ModuleSystemDeploymentRegistry.deploymentComplete();
+			}
+		}
+	}
+
+	/**
+	 * Hands what the watcher finds in the module folder to {@link DefaultModuleSystem#deployAddedModules(FileObject[])}.
+	 */
+	private class AddedModuleDeployer implements FolderContentHandler {
+		public void setCurrentChildren(final FileObject[] currentChildren) {
+			deployAddedModules(currentChildren);
+		}
+
+		public FileObject getFolder() {
+			return moduleDirectory;
+		}
+	}
+
 	public DefaultModuleSystem deploy() throws MultiException {
 		final MutablePicoContainer basicPico = new PicoBuilder().withCaching()
 				.withLifecycle().build();
@@ -176,6 +240,10 @@ public class DefaultModuleSystem implements PicoModuleSystemSPI {
 					"Module system already appears to be undeployed");
 		}
 
+		if (moduleFolderWatcher != null) {
+			moduleFolderWatcher.stop();
+			moduleFolderWatcher = null;
+		}
 		final long startTime = System.currentTimeMillis();
 		monitor.multiModuleUndeploymentBeginning(parent);
 		final MultiException errors = new MultiException("undeploy " + parent);
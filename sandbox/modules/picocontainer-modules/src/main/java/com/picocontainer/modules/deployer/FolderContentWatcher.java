@@ -0,0 +1,102 @@
+package com.picocontainer.modules.deployer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.commons.vfs.FileObject;
+import org.apache.commons.vfs.FileSystemException;
+
+import com.picocontainer.Startable;
+import com.picocontainer.modules.ModuleMonitor;
+
+/**
+ * Component that hands a folder's children to its {@link FolderContentHandler} whenever they change.
+ * A folder on the local file system is watched by the operating system, and is only listed again once
+ * a burst of changes has settled and the sizes and modification times of its children have stayed the
+ * same for the debounce period, so that an archive being copied in is not listed half written.  Any
+ * other folder, or one that cannot be watched, is polled by a {@link FolderContentPoller}.
+ */
+public final class FolderContentWatcher implements Startable {
+	private static final long DEFAULT_DEBOUNCE_MILLIS = 100;
+
+	private final FolderContentHandler folderContentHandler;
+	private final ModuleMonitor monitor;
+	private final long debounceMillis;
+
+	private Thread thread;
+	private LocalFolderWatch watch;
+	private FolderContentPoller poller;
+
+	public FolderContentWatcher(final FolderContentHandler folderContentHandler, final ModuleMonitor monitor) {
+		this(folderContentHandler, monitor, DEFAULT_DEBOUNCE_MILLIS);
+	}
+
+	/**
+	 * @param monitor told of failures to list the folder
+	 */
+	public FolderContentWatcher(final FolderContentHandler folderContentHandler, final ModuleMonitor monitor,
+			final long debounceMillis) {
+		this.folderContentHandler = folderContentHandler;
+		this.monitor = monitor;
+		this.debounceMillis = debounceMillis;
+	}
+
+	public synchronized void start() {
+		if (thread != null || poller != null) {
+			throw new IllegalStateException("Already started");
+		}
+		final File directory = toLocalDirectory(folderContentHandler.getFolder());
+		if (directory != null) {
+			try {
+				watch = new LocalFolderWatch(folderContentHandler, monitor, directory, debounceMillis);
+				thread = new Thread(watch, "FolderContentWatcher " + directory);
+				thread.setDaemon(true);
+				thread.start();
+				return;
+			} catch (final IOException e) {
+				// cannot be watched, so polled instead
+				watch = null;
+			}
+		}
+		poller = new FolderContentPoller(folderContentHandler);
+		poller.start();
+	}
+
+	public synchronized void stop() {
+		if (thread == null && poller == null) {
+			throw new IllegalStateException("Already stopped");
+		}
+		if (thread != null) {
+			thread.interrupt();
+			watch.close();
+			thread = null;
+			watch = null;
+		} else {
+			poller.stop();
+			poller = null;
+		}
+	}
+
+	/**
+	 * @return whether the folder is being watched rather than polled
+	 */
+	public synchronized boolean isWatching() {
+		return watch != null;
+	}
+
+	private static File toLocalDirectory(final FileObject folder) {
+		if (!"file".equals(folder.getName().getScheme())) {
+			return null;
+		}
+		try {
+			final File directory = new File(new URI(folder.getURL().toExternalForm()));
+			return directory.isDirectory() ? directory : null;
+		} catch (final FileSystemException e) {
+			return null;
+		} catch (final Exception e) {
+			// a URL that is not a plain file URI
+			return null;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.picocontainer.modules.deployer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.vfs.FileObject;
+import org.apache.commons.vfs.FileSystemException;
+
+import com.picocontainer.modules.ModuleMonitor;
+
+/**
+ * Lists a local folder's children each time a burst of changes to them has settled.  Used by
+ * {@link FolderContentWatcher}.
+ */
+final class LocalFolderWatch implements Runnable {
+	private final FolderContentHandler folderContentHandler;
+	private final ModuleMonitor monitor;
+	private final FileObject folder;
+	private final File directory;
+	private final long debounceMillis;
+	private final WatchService watchService;
+
+	LocalFolderWatch(final FolderContentHandler folderContentHandler, final ModuleMonitor monitor,
+			final File directory, final long debounceMillis) throws IOException {
+		this.folderContentHandler = folderContentHandler;
+		this.monitor = monitor;
+		this.folder = folderContentHandler.getFolder();
+		this.directory = directory;
+		this.debounceMillis = debounceMillis;
+		watchService = FileSystems.getDefault().newWatchService();
+		try {
+			directory.toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+		} catch (final IOException e) {
+			watchService.close();
+			throw e;
+		}
+	}
+
+	public void run() {
+		try {
+			list();
+			while (!Thread.currentThread().isInterrupted()) {
+				awaitSettled(watchService.take());
+				list();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final ClosedWatchServiceException e) {
+			// stopped
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Coalesces a burst of changes, until there are no more events for the debounce period and the
+	 * children look the same as they did before it.  A file still being written may not raise an
+	 * event for each write, but its size or modification time will have moved.
+	 */
+	private void awaitSettled(WatchKey key) throws InterruptedException {
+		Map<String, String> before = sizesAndTimes();
+		while (true) {
+			while (key != null) {
+				key.pollEvents();
+				key.reset();
+				key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+			}
+			final Map<String, String> after = sizesAndTimes();
+			if (after.equals(before)) {
+				return;
+			}
+			before = after;
+			key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private Map<String, String> sizesAndTimes() {
+		final Map<String, String> sizesAndTimes = new HashMap<String, String>();
+		final File[] children = directory.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				sizesAndTimes.put(child.getName(), child.length() + "@" + child.lastModified());
+			}
+		}
+		return sizesAndTimes;
+	}
+
+	private void list() {
+		try {
+			// Have to "close" the folder to invalidate child cache
+			folder.close();
+			folderContentHandler.setCurrentChildren(folder.getChildren());
+		} catch (final FileSystemException e) {
+			monitor.errorPerformingDeploy(folder, e);
+		}
+	}
+
+	void close() {
+		try {
+			watchService.close();
+		} catch (final IOException e) {
+			// nothing more to watch either way
+		}
+	}
+}
@@ -3,6 +3,11 @@ package com.picocontainer.modules.defaults;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Arrays;
@@ -219,6 +224,77 @@ public class DefaultModuleSystemTestCase {
 
 	}
 	
+	@Test
+	public void testModulesAddedToAWatchedFolderAreDeployedAndStarted() throws Exception {
+		File watched = File.createTempFile("modules", "");
+		watched.delete();
+		assertTrue(watched.mkdir());
+		File staging = File.createTempFile("staging", "");
+		staging.delete();
+		assertTrue(staging.mkdir());
+		moduleSystem = new ModuleBuilder()
+			.withParentClassLoader(DefaultModuleSystemTestCase.class.getClassLoader())
+			.withMonitor(NullModuleMonitor.class)
+			.withAutoDeployFolder(watched)
+			.withAutoDeployFolderWatching()
+			.build();
+
+		try {
+			MutablePicoContainer pico = moduleSystem.deploy().getPico();
+			assertNull(pico.getComponent("com.picocontainer.testmodules.moduleOne.ServiceOne"));
+
+			// copied aside and then moved in, as a module would be dropped in whole
+			String moduleName = "com.picocontainer.testmodules.moduleOne";
+			File module = new File(staging, moduleName);
+			copy(new File(JAR_DIRECTORY, moduleName), module);
+			assertTrue(module.renameTo(new File(watched, moduleName)));
+
+			long giveUp = System.currentTimeMillis() + 5000;
+			while (pico.getComponent("com.picocontainer.testmodules.moduleOne.ServiceOne") == null
+					&& System.currentTimeMillis() < giveUp) {
+				Thread.sleep(50);
+			}
+			assertNotNull(pico.getComponent("com.picocontainer.testmodules.moduleOne.ServiceOne"));
+			moduleSystem.undeploy();
+		} finally {
+			delete(watched);
+			delete(staging);
+		}
+	}
+
+	private static void copy(final File from, final File to) throws IOException {
+		if (from.isDirectory()) {
+			assertTrue(to.mkdirs());
+			for (File child : from.listFiles()) {
+				copy(child, new File(to, child.getName()));
+			}
+		} else {
+			InputStream in = new FileInputStream(from);
+			try {
+				OutputStream out = new FileOutputStream(to);
+				try {
+					byte[] buffer = new byte[4096];
+					for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+						out.write(buffer, 0, read);
+					}
+				} finally {
+					out.close();
+				}
+			} finally {
+				in.close();
+			}
+		}
+	}
+
+	private static void delete(final File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
 	
 	/**
 	 * Does JDK scripting use a different Rhino version or something?  IT cannot
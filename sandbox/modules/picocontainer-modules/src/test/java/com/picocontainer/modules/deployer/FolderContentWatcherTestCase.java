@@ -0,0 +1,119 @@
+package com.picocontainer.modules.deployer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.apache.commons.vfs.FileObject;
+import org.apache.commons.vfs.VFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.picocontainer.modules.monitor.nullImpl.NullModuleMonitor;
+
+public class FolderContentWatcherTestCase {
+
+	private File directory;
+
+	private static class RecordingFolderContentHandler implements FolderContentHandler {
+		private final FileObject folder;
+		private FileObject[] currentChildren;
+		private int listings;
+
+		RecordingFolderContentHandler(final FileObject folder) {
+			this.folder = folder;
+		}
+
+		public synchronized void setCurrentChildren(final FileObject[] currentChildren) {
+			this.currentChildren = currentChildren;
+			listings++;
+			notifyAll();
+		}
+
+		public FileObject getFolder() {
+			return folder;
+		}
+
+		synchronized int waitForChildren(final int count) throws InterruptedException {
+			final long giveUp = System.currentTimeMillis() + 5000;
+			while ((currentChildren == null || currentChildren.length != count) && System.currentTimeMillis() < giveUp) {
+				wait(giveUp - System.currentTimeMillis());
+			}
+			return currentChildren == null ? -1 : currentChildren.length;
+		}
+
+		synchronized int getListings() {
+			return listings;
+		}
+	}
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = File.createTempFile("watched", "");
+		directory.delete();
+		assertTrue(directory.mkdir());
+	}
+
+	@After
+	public void deleteDirectory() {
+		final File[] children = directory.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				child.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	@Test public void testShouldWatchALocalFolderAndListItOnceABurstOfChangesSettles() throws Exception {
+		final RecordingFolderContentHandler handler = new RecordingFolderContentHandler(
+				VFS.getManager().resolveFile(directory.getAbsolutePath()));
+		final FolderContentWatcher watcher = new FolderContentWatcher(handler, new NullModuleMonitor(), 200);
+		watcher.start();
+		try {
+			assertTrue(watcher.isWatching());
+			assertEquals(0, handler.waitForChildren(0));
+			final int listingsBefore = handler.getListings();
+
+			for (int i = 0; i < 5; i++) {
+				assertTrue(new File(directory, "module" + i).mkdir());
+			}
+			assertEquals(5, handler.waitForChildren(5));
+			assertTrue("a burst should be listed about once", handler.getListings() - listingsBefore <= 2);
+
+			assertTrue(new File(directory, "module0").delete());
+			assertEquals(4, handler.waitForChildren(4));
+		} finally {
+			watcher.stop();
+		}
+	}
+
+	@Test public void testShouldNotListAFileUntilItStopsGrowing() throws Exception {
+		final RecordingFolderContentHandler handler = new RecordingFolderContentHandler(
+				VFS.getManager().resolveFile(directory.getAbsolutePath()));
+		final FolderContentWatcher watcher = new FolderContentWatcher(handler, new NullModuleMonitor(), 200);
+		watcher.start();
+		try {
+			assertEquals(0, handler.waitForChildren(0));
+			final int listingsBefore = handler.getListings();
+
+			final RandomAccessFile archive = new RandomAccessFile(new File(directory, "module.jar"), "rw");
+			try {
+				for (int i = 0; i < 10; i++) {
+					archive.write(new byte[1024]);
+					Thread.sleep(50);
+					assertEquals("listed while still being written", listingsBefore, handler.getListings());
+				}
+			} finally {
+				archive.close();
+			}
+			assertEquals(1, handler.waitForChildren(1));
+		} finally {
+			watcher.stop();
+		}
+	}
+}
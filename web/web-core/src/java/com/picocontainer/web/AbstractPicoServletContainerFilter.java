@@ -13,6 +13,8 @@ import com.picocontainer.containers.TransientPicoContainer;
 import com.picocontainer.lifecycle.DefaultLifecycleState;
 import com.picocontainer.security.PicoAccessPermission;
 import com.picocontainer.security.SecurityWrappingPicoContainer;
+import com.picocontainer.security.ThreadCachingAccessControllerWrapper;
+import com.picocontainer.visitors.AbstractPicoVisitor;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
@@ -30,6 +32,18 @@ public abstract class AbstractPicoServletContainerFilter implements Filter, Seri
     private boolean isStateless;
     private boolean printSessionSize;
 	private boolean debug = false;
+    private boolean cacheAccessDecisions;
+
+    /**
+     * Security wrappers around the scoped containers.  They hold no per-request state, so are made once
+     * and shared by every request.
+     */
+    private transient volatile ScopeWrappers scopeWrappers;
+
+    /**
+     * Whether anything in the request scope has lifecycle, as of a registration version of the request container.
+     */
+    private transient volatile RequestLifecycle requestLifecycle;
 
     private static ThreadLocal<HttpSession> currentSession = new ThreadLocal<HttpSession>();
     private static ThreadLocal<ServletRequest> currentRequest = new ThreadLocal<ServletRequest>();
@@ -53,10 +67,9 @@ public abstract class AbstractPicoServletContainerFilter implements Filter, Seri
         	throw new IllegalStateException("Scoped containers have not been set by the WebappComposer as defined in your web.xml ?");
         }
 
-        
-        setAppContainer(new SecurityWrappingPicoContainer(PicoAccessPermission.APP_SCOPE,scopedContainers.getApplicationContainer()));
-
         isStateless = Boolean.parseBoolean(context.getInitParameter(PicoServletContainerListener.STATELESS_WEBAPP));
+        cacheAccessDecisions = Boolean.parseBoolean(filterConfig.getInitParameter("cacheAccessDecisions"));
+        setAppContainer(getScopeWrappers(scopedContainers).app);
         printSessionSize = Boolean.parseBoolean(context.getInitParameter(PicoServletContainerListener.PRINT_SESSION_SIZE));
 
         String exposeServletInfrastructureString = filterConfig.getInitParameter("exposeServletInfrastructure");
@@ -81,6 +94,51 @@ public abstract class AbstractPicoServletContainerFilter implements Filter, Seri
 
     }
 
+    private ScopeWrappers getScopeWrappers(ScopedContainers scopedContainers) {
+        ScopeWrappers wrappers = scopeWrappers;
+        if (wrappers == null || wrappers.scopedContainers != scopedContainers) {
+            wrappers = new ScopeWrappers(scopedContainers, isStateless,
+                    cacheAccessDecisions ? makeAccessDecisions() : null);
+            scopeWrappers = wrappers;
+        }
+        return wrappers;
+    }
+
+    /**
+     * Makes the access decisions the scope wrappers share when the <code>cacheAccessDecisions</code> init
+     * parameter is set.  Each request remembers the permissions granted to it until it ends.
+     */
+    protected ThreadCachingAccessControllerWrapper makeAccessDecisions() {
+        return new ThreadCachingAccessControllerWrapper();
+    }
+
+    private static long registrationVersion(MutablePicoContainer container) {
+        return container instanceof Versioning
+                ? ((Versioning) container).getRegistrationVersion() : Versioning.UNVERSIONED;
+    }
+
+    /**
+     * Tells whether any component in the request scope has lifecycle.  If none has, starting, stopping and
+     * disposing the request container each request would do nothing but walk its adapters.  Adapters are
+     * looked at down through the adapters they wrap.  The answer is remembered until the registrations of
+     * the request container change, unless it has child containers, whose own registrations are not seen,
+     * in which case the lifecycle is always run.
+     */
+    private boolean requestScopeHasLifecycle(MutablePicoContainer requestContainer, long version) {
+        RequestLifecycle known = requestLifecycle;
+        if (version != Versioning.UNVERSIONED && known != null && known.version == version) {
+            return known.hasLifecycle;
+        }
+        LifecycleFinder finder = new LifecycleFinder(requestContainer);
+        finder.traverse(requestContainer);
+        if (finder.hasChildren) {
+            requestLifecycle = null;
+            return true;
+        }
+        requestLifecycle = new RequestLifecycle(version, finder.hasLifecycle);
+        return finder.hasLifecycle;
+    }
+
     private ScopedContainers getScopedContainers(ServletContext context) {
         return (ScopedContainers) context.getAttribute(ScopedContainers.class.getName());
     }
@@ -128,30 +186,40 @@ public abstract class AbstractPicoServletContainerFilter implements Filter, Seri
             scopedContainers.getSessionState().putLifecycleStateModelForThread(ssh.getLifecycleState());
 
         }
-        scopedContainers.getRequestStoring().resetCacheForThread();
+        scopedContainers.getRequestStoring().recycleCacheForThread();
         scopedContainers.getRequestState().resetStateModelForThread();
 
-        scopedContainers.getRequestContainer().start();
+        MutablePicoContainer requestContainer = scopedContainers.getRequestContainer();
+        long versionBefore = registrationVersion(requestContainer);
+        boolean requestLifecycle = requestScopeHasLifecycle(requestContainer, versionBefore);
+        if (requestLifecycle) {
+            requestContainer.start();
+        }
+
+        ScopeWrappers wrappers = getScopeWrappers(scopedContainers);
+        if (wrappers.accessDecisions != null) {
+            wrappers.accessDecisions.beginCaching();
+        }
 
         try {
 	        
-	        setAppContainer(new SecurityWrappingPicoContainer(PicoAccessPermission.APP_SCOPE,scopedContainers.getApplicationContainer()));
+	        setAppContainer(wrappers.app);
 	        if (!isStateless) {
-	            setSessionContainer(new SecurityWrappingPicoContainer(PicoAccessPermission.SESSION_SCOPE,scopedContainers.getSessionContainer()));
+	            setSessionContainer(wrappers.session);
 	        }
-	        setRequestContainer(new SecurityWrappingPicoContainer(PicoAccessPermission.REQUEST_SCOPE,scopedContainers.getRequestContainer()));
+	        setRequestContainer(wrappers.request);
 	        
 	        containersSetupForRequest(scopedContainers.getApplicationContainer(), scopedContainers.getSessionContainer(), scopedContainers.getRequestContainer(), req, resp);
 	
 	        filterChain.doFilter(req, resp);
         } finally {
 	
-	        if (scopedContainers.getRequestContainer() != null) {
-	        	scopedContainers.getRequestContainer().stop();
-	        }
-	        
-	        if (scopedContainers.getRequestContainer() != null) {
-	        	scopedContainers.getRequestContainer().dispose();
+	        if (requestLifecycle) {
+	        	requestContainer.stop();
+	        	requestContainer.dispose();
+	        } else if (lifecycleRegisteredDuringRequest(requestContainer, versionBefore)) {
+	        	// the request container was never started, so there is nothing to stop.
+	        	requestContainer.dispose();
 	        }
 	        
 	        setRequestContainer(null);
@@ -177,6 +245,9 @@ public abstract class AbstractPicoServletContainerFilter implements Filter, Seri
 	        }
 	
 	        setAppContainer(null);
+	        if (wrappers.accessDecisions != null) {
+	            wrappers.accessDecisions.endCaching();
+	        }
 	        if (exposeServletInfrastructure) {
 	            currentSession.set(null);
 	            currentRequest.set(null);
@@ -185,6 +256,85 @@ public abstract class AbstractPicoServletContainerFilter implements Filter, Seri
         }
     }
 
+    /**
+     * Tells whether components registered in the request scope while the request was handled have lifecycle,
+     * and so need disposing even though there was nothing to start.
+     */
+    private boolean lifecycleRegisteredDuringRequest(MutablePicoContainer requestContainer, long versionBefore) {
+        long versionAfter = registrationVersion(requestContainer);
+        if (versionAfter != Versioning.UNVERSIONED && versionAfter == versionBefore) {
+            return false;
+        }
+        return requestScopeHasLifecycle(requestContainer, versionAfter);
+    }
+
+    private static final class ScopeWrappers {
+        private final ScopedContainers scopedContainers;
+        private final MutablePicoContainer app;
+        private final MutablePicoContainer session;
+        private final MutablePicoContainer request;
+        private final ThreadCachingAccessControllerWrapper accessDecisions;
+
+        private ScopeWrappers(ScopedContainers scopedContainers, boolean isStateless,
+                              ThreadCachingAccessControllerWrapper accessDecisions) {
+            this.scopedContainers = scopedContainers;
+            this.accessDecisions = accessDecisions;
+            if (accessDecisions != null) {
+                app = new SecurityWrappingPicoContainer(PicoAccessPermission.APP_SCOPE, scopedContainers.getApplicationContainer(), accessDecisions);
+                session = isStateless ? null
+                        : new SecurityWrappingPicoContainer(PicoAccessPermission.SESSION_SCOPE, scopedContainers.getSessionContainer(), accessDecisions);
+                request = new SecurityWrappingPicoContainer(PicoAccessPermission.REQUEST_SCOPE, scopedContainers.getRequestContainer(), accessDecisions);
+            } else {
+                app = new SecurityWrappingPicoContainer(PicoAccessPermission.APP_SCOPE, scopedContainers.getApplicationContainer());
+                session = isStateless ? null
+                        : new SecurityWrappingPicoContainer(PicoAccessPermission.SESSION_SCOPE, scopedContainers.getSessionContainer());
+                request = new SecurityWrappingPicoContainer(PicoAccessPermission.REQUEST_SCOPE, scopedContainers.getRequestContainer());
+            }
+        }
+    }
+
+    private static final class LifecycleFinder extends AbstractPicoVisitor {
+        private final PicoContainer container;
+        private boolean hasLifecycle;
+        private boolean hasChildren;
+
+        private LifecycleFinder(PicoContainer container) {
+            this.container = container;
+        }
+
+        public boolean visitContainer(PicoContainer pico) {
+            if (pico != container) {
+                hasChildren = true;
+                return ABORT_TRAVERSAL;
+            }
+            return CONTINUE_TRAVERSAL;
+        }
+
+        public void visitComponentAdapter(ComponentAdapter<?> componentAdapter) {
+            for (ComponentAdapter<?> adapter = componentAdapter; adapter != null && !hasLifecycle; adapter = adapter.getDelegate()) {
+                if (adapter instanceof ComponentLifecycle && ((ComponentLifecycle<?>) adapter).componentHasLifecycle()) {
+                    hasLifecycle = true;
+                }
+            }
+        }
+
+        public void visitComponentFactory(ComponentFactory componentFactory) {
+        }
+
+        public void visitParameter(Parameter parameter) {
+        }
+    }
+
+    private static final class RequestLifecycle {
+        private final long version;
+        private final boolean hasLifecycle;
+
+        private RequestLifecycle(long version, boolean hasLifecycle) {
+            this.version = version;
+            this.hasLifecycle = hasLifecycle;
+        }
+    }
+
     protected void containersSetupForRequest(MutablePicoContainer appcontainer, MutablePicoContainer sessionContainer,
                                              MutablePicoContainer requestContainer, ServletRequest req, ServletResponse resp) {
     }
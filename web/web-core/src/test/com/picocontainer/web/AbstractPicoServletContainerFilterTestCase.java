@@ -0,0 +1,267 @@
+/*****************************************************************************
+ * Copyright (C) 2003-2011 PicoContainer Committers. All rights reserved.    *
+ * ------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the BSD      *
+ * style license a copy of which has been included with this distribution in *
+ * the LICENSE.txt file.                                                     *
+ *                                                                           *
+ *****************************************************************************/
+package com.picocontainer.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.integration.junit4.JMock;
+import org.jmock.integration.junit4.JUnit4Mockery;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.picocontainer.DefaultPicoContainer;
+import com.picocontainer.Disposable;
+import com.picocontainer.MutablePicoContainer;
+import com.picocontainer.Startable;
+import com.picocontainer.behaviors.Storing;
+import com.picocontainer.lifecycle.StartableLifecycleStrategy;
+import com.picocontainer.monitors.NullComponentMonitor;
+import com.picocontainer.security.AccessControllerWrapper;
+import com.picocontainer.security.ThreadCachingAccessControllerWrapper;
+
+@RunWith(JMock.class)
+public class AbstractPicoServletContainerFilterTestCase {
+
+    private final Mockery context = new JUnit4Mockery();
+
+    private final ServletContext servletContext = context.mock(ServletContext.class);
+
+    private final HttpServletRequest request = context.mock(HttpServletRequest.class);
+
+    private final ServletResponse response = context.mock(ServletResponse.class);
+
+    private final RecordingLifecycleState requestState = new RecordingLifecycleState();
+
+    private final ScopedContainers scopedContainers = makeStatelessScopedContainers(requestState);
+
+    private final RecordingFilter filter = new RecordingFilter();
+
+    public static class Plain {
+    }
+
+    public static class Resource implements Startable, Disposable {
+        private final List<String> events = new ArrayList<String>();
+
+        public void start() {
+            events.add("start");
+        }
+
+        public void stop() {
+            events.add("stop");
+        }
+
+        public void dispose() {
+            events.add("dispose");
+        }
+    }
+
+    public static class RecordingLifecycleState extends ThreadLocalLifecycleState {
+        private final List<String> transitions = new ArrayList<String>();
+
+        @Override
+        public void starting(String containerName) {
+            transitions.add("starting");
+            super.starting(containerName);
+        }
+
+        @Override
+        public void stopping(String containerName) {
+            transitions.add("stopping");
+            super.stopping(containerName);
+        }
+
+        @Override
+        public void disposing(String containerName) {
+            transitions.add("disposing");
+            super.disposing(containerName);
+        }
+    }
+
+    public static class CountingAccessWrapper implements AccessControllerWrapper {
+        private final List<Permission> checked = new ArrayList<Permission>();
+
+        public void checkPermission(Permission checkingPermission) {
+            checked.add(checkingPermission);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    public static class RecordingFilter extends AbstractPicoServletContainerFilter {
+        private final List<MutablePicoContainer> requestWrappers = new ArrayList<MutablePicoContainer>();
+        private final CountingAccessWrapper checks = new CountingAccessWrapper();
+        private MutablePicoContainer requestContainer;
+
+        @Override
+        protected MutablePicoContainer getRequestContainer() {
+            return requestContainer;
+        }
+
+        @Override
+        protected void setAppContainer(MutablePicoContainer container) {
+        }
+
+        @Override
+        protected void setSessionContainer(MutablePicoContainer container) {
+        }
+
+        @Override
+        protected void setRequestContainer(MutablePicoContainer container) {
+            requestContainer = container;
+            if (container != null) {
+                requestWrappers.add(container);
+            }
+        }
+
+        @Override
+        protected ThreadCachingAccessControllerWrapper makeAccessDecisions() {
+            return new ThreadCachingAccessControllerWrapper(checks);
+        }
+
+        public void destroy() {
+        }
+    }
+
+    private static ScopedContainers makeStatelessScopedContainers(ThreadLocalLifecycleState requestState) {
+        NullComponentMonitor monitor = new NullComponentMonitor();
+        StartableLifecycleStrategy lifecycle = new StartableLifecycleStrategy(monitor);
+        DefaultPicoContainer app = new DefaultPicoContainer(null, lifecycle, monitor);
+        Storing requestStoring = new Storing();
+        DefaultPicoContainer requestContainer = new DefaultPicoContainer(app, lifecycle, monitor, requestStoring);
+        requestContainer.setLifecycleState(requestState);
+        return new ScopedContainers(app, null, requestContainer, null, requestStoring, null, requestState);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void initFilter(final String cacheAccessDecisions) throws ServletException {
+        final FilterConfig filterConfig = context.mock(FilterConfig.class);
+        context.checking(new Expectations() {{
+            allowing(filterConfig).getServletContext();
+            will(returnValue(servletContext));
+            allowing(filterConfig).getInitParameter("cacheAccessDecisions");
+            will(returnValue(cacheAccessDecisions));
+            allowing(filterConfig).getInitParameter("exposeServletInfrastructure");
+            will(returnValue(null));
+            allowing(servletContext).getAttribute(ScopedContainers.class.getName());
+            will(returnValue(scopedContainers));
+            allowing(servletContext).getInitParameter(PicoServletContainerListener.STATELESS_WEBAPP);
+            will(returnValue("true"));
+            allowing(servletContext).getInitParameter(PicoServletContainerListener.PRINT_SESSION_SIZE);
+            will(returnValue(null));
+            allowing(request).getServletContext();
+            will(returnValue(servletContext));
+        }});
+        filter.init(filterConfig);
+    }
+
+    private static class DoesNothing implements FilterChain {
+        public void doFilter(ServletRequest req, ServletResponse resp) throws IOException, ServletException {
+        }
+    }
+
+    @Test
+    public void testRequestContainerLifecycleIsSkippedWhenNothingInTheRequestScopeHasLifecycle() throws Exception {
+        scopedContainers.getRequestContainer().addComponent(Plain.class);
+        initFilter(null);
+
+        filter.doFilter(request, response, new DoesNothing());
+        filter.doFilter(request, response, new DoesNothing());
+
+        assertEquals(0, requestState.transitions.size());
+    }
+
+    @Test
+    public void testRequestContainerIsStartedStoppedAndDisposedWhenSomethingInTheRequestScopeHasLifecycle() throws Exception {
+        scopedContainers.getRequestContainer().addComponent(Resource.class);
+        initFilter(null);
+
+        final Resource[] resource = new Resource[1];
+        filter.doFilter(request, response, new FilterChain() {
+            public void doFilter(ServletRequest req, ServletResponse resp) {
+                resource[0] = filter.getRequestContainer().getComponent(Resource.class);
+            }
+        });
+
+        assertEquals("[starting, stopping, disposing]", requestState.transitions.toString());
+        assertEquals("[start, stop, dispose]", resource[0].events.toString());
+    }
+
+    @Test
+    public void testComponentWithLifecycleRegisteredDuringARequestIsDisposedAtItsEnd() throws Exception {
+        scopedContainers.getRequestContainer().addComponent(Plain.class);
+        initFilter(null);
+
+        final Resource[] resource = new Resource[1];
+        filter.doFilter(request, response, new FilterChain() {
+            public void doFilter(ServletRequest req, ServletResponse resp) {
+                MutablePicoContainer requestContainer = scopedContainers.getRequestContainer();
+                requestContainer.addComponent(Resource.class);
+                resource[0] = requestContainer.getComponent(Resource.class);
+            }
+        });
+
+        assertEquals("[disposing]", requestState.transitions.toString());
+        assertEquals("[dispose]", resource[0].events.toString());
+
+        filter.doFilter(request, response, new DoesNothing());
+        assertEquals("[disposing, starting, stopping, disposing]", requestState.transitions.toString());
+    }
+
+    @Test
+    public void testScopeWrappersAreMadeOnceAndSharedByEveryRequest() throws Exception {
+        initFilter(null);
+
+        filter.doFilter(request, response, new DoesNothing());
+        filter.doFilter(request, response, new DoesNothing());
+
+        assertEquals(2, filter.requestWrappers.size());
+        assertSame(filter.requestWrappers.get(0), filter.requestWrappers.get(1));
+        assertNull(filter.getRequestContainer());
+    }
+
+    @Test
+    public void testAccessDecisionsAreRememberedForTheLengthOfEachRequestWhenAskedTo() throws Exception {
+        scopedContainers.getRequestContainer().addComponent(Plain.class);
+        initFilter("true");
+
+        FilterChain looksTwice = new FilterChain() {
+            public void doFilter(ServletRequest req, ServletResponse resp) {
+                filter.getRequestContainer().getComponent(Plain.class);
+                filter.getRequestContainer().getComponent(Plain.class);
+            }
+        };
+        filter.doFilter(request, response, looksTwice);
+        assertEquals(1, filter.checks.checked.size());
+
+        filter.doFilter(request, response, looksTwice);
+        assertEquals(2, filter.checks.checked.size());
+
+        MutablePicoContainer requestWrapper = filter.requestWrappers.get(0);
+        requestWrapper.getComponentAdapter(Plain.class);
+        requestWrapper.getComponentAdapter(Plain.class);
+        assertEquals(4, filter.checks.checked.size());
+    }
+
+}
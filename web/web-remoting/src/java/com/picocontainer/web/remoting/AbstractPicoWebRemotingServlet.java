@@ -92,7 +92,7 @@ public abstract class AbstractPicoWebRemotingServlet extends HttpServlet {
 
         //final Cache cache = currentAppContainer.get().getComponent(Cache.class);
 
-        String result = pwr.processRequest(pathInfo, picoHook.getCurrentRequestContainer(), httpMethod, new NullComponentMonitor() {
+        boolean written = pwr.processRequest(pathInfo, picoHook.getCurrentRequestContainer(), httpMethod, new NullComponentMonitor() {
                             @Override
                             public Object invoking(PicoContainer container, ComponentAdapter<?> componentAdapter, Member member, Object instance, Object... args) {
                                 return ComponentMonitor.KEEP;
@@ -102,11 +102,9 @@ public abstract class AbstractPicoWebRemotingServlet extends HttpServlet {
                             public void invoked(PicoContainer container, ComponentAdapter<?> componentAdapter, Member member, Object instance, long duration, Object retVal, Object... args) {
                                 // Empty
                             }
-                        });
+                        }, response.getWriter());
 
-        if (result != null) {
-            response.getWriter().print(result);
-        } else {
+        if (!written) {
             response.sendError(400, "Nothing is mapped to this URL, try removing the last term for directory list.");
         }
     }
@@ -7,7 +7,9 @@
  ******************************************************************************/
 package com.picocontainer.web.remoting;
 
+import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
@@ -15,9 +17,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -32,13 +36,16 @@ import com.picocontainer.web.PicoContainerWebException;
 
 import com.picocontainer.Characteristics;
 import com.picocontainer.ComponentAdapter;
+import com.picocontainer.ComponentMonitor;
+import com.picocontainer.ComponentMonitorStrategy;
+import com.picocontainer.Injector;
 import com.picocontainer.MutablePicoContainer;
 import com.picocontainer.PicoCompositionException;
 import com.picocontainer.PicoContainer;
 import com.picocontainer.injectors.MethodInjection;
 import com.picocontainer.injectors.MultiArgMemberInjector;
 import com.picocontainer.injectors.ProviderAdapter;
-import com.picocontainer.injectors.Reinjector;
+import com.picocontainer.lifecycle.NullLifecycleStrategy;
 import com.picocontainer.monitors.NullComponentMonitor;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.extended.ISO8601DateConverter;
@@ -58,6 +65,9 @@ public class PicoWebRemoting {
 	private static final String DELETE = "DELETE";
 	private static final String POST = "POST";
 	private static final String FALLBACK = "FALLBACK";
+	private static final Properties USE_NAMES = (Properties) Characteristics.USE_NAMES.clone();
+	private static final NullLifecycleStrategy NO_LIFECYCLE = new NullLifecycleStrategy();
+	private static final int MAX_KEPT_REPLY_BUFFER = 64 * 1024;
 
 	private final XStream xstream;
 	private final String toStripFromUrls;
@@ -69,6 +79,13 @@ public class PicoWebRemoting {
 
 	private Map<String, Object> paths = new HashMap<String, Object>();
 
+	private final ThreadLocal<CharArrayWriter> replyBuffer = new ThreadLocal<CharArrayWriter>() {
+		@Override
+		protected CharArrayWriter initialValue() {
+			return new CharArrayWriter();
+		}
+	};
+
 	public PicoWebRemoting(XStream xstream, String prefixToStripFromUrls,
 			String suffixToStrip, String scopesToPublish,
 			boolean lowerCasePath, boolean useMethodNamePrefixesForVerbs) {
@@ -102,6 +119,45 @@ public class PicoWebRemoting {
 	protected String processRequest(String pathInfo,
 			PicoContainer reqContainer, String httpMethod,
 			NullComponentMonitor monitor) throws IOException {
+		Object reply = getReply(pathInfo, reqContainer, httpMethod, monitor);
+		try {
+			return xstream.toXML(reply) + NL;
+		} catch (RuntimeException e) {
+			return errorResult(this.monitor.runtimeExceptionForMethodInvocation(e));
+		}
+	}
+
+	/**
+	 * Like {@link #processRequest(String, PicoContainer, String, NullComponentMonitor)}, but writes the reply
+	 * to the writer rather than returning it.  The reply is serialized into a buffer kept for the thread, so
+	 * that a reply that fails to serialize leaves nothing half written, and an error reply is written instead.
+	 * @return whether a reply was written
+	 */
+	protected boolean processRequest(String pathInfo,
+			PicoContainer reqContainer, String httpMethod,
+			ComponentMonitor monitor, Writer writer) throws IOException {
+		Object reply = getReply(pathInfo, reqContainer, httpMethod, monitor);
+		CharArrayWriter buffer = replyBuffer.get();
+		buffer.reset();
+		try {
+			xstream.toXML(reply, buffer);
+		} catch (RuntimeException e) {
+			buffer.reset();
+			buffer.write(errorResult(this.monitor.runtimeExceptionForMethodInvocation(e)));
+			buffer.writeTo(writer);
+			return true;
+		} finally {
+			if (buffer.size() > MAX_KEPT_REPLY_BUFFER) {
+				replyBuffer.remove();
+			}
+		}
+		buffer.write(NL);
+		buffer.writeTo(writer);
+		return true;
+	}
+
+	private Object getReply(String pathInfo, PicoContainer reqContainer,
+			String httpMethod, ComponentMonitor monitor) throws IOException {
 		try {
 		    if (pathInfo == null || pathInfo.length() == 0) {
 		        throw makeNothingMatchingException();
@@ -116,37 +172,27 @@ public class PicoWebRemoting {
 				path = path.substring(0, path.indexOf(suffixToStrip));
 			}
 
-			long b4 = System.currentTimeMillis();
 			Object node = getNode(reqContainer, httpMethod, path, monitor);
-			long dur = System.currentTimeMillis() - b4;
 
 			if (node instanceof Directories) {
 				Directories directories = (Directories) node;
-				return xstream.toXML(sortedSet(directories).toArray()) + NL;
+				return sortedSet(directories).toArray();
 			} else if (node instanceof WebMethods) {
 				WebMethods methods = (WebMethods) node;
-				return xstream.toXML(sortedSet(methods.keySet()).toArray())
-						+ NL;
-			} else if (node != null && isComposite(node)) {
-				b4 = System.currentTimeMillis();
-				String s = xstream.toXML(node) + NL;
-				dur = System.currentTimeMillis() - b4;
-				return s;
+				return sortedSet(methods.keySet()).toArray();
 			} else if (node != null) {
-				return node != null ? xstream.toXML(node) + NL : null;
+				return node;
 			} else {
 				throw makeNothingMatchingException();
 			}
 
 		} catch (MultiArgMemberInjector.ParameterCannotBeNullException e) {
-			return errorResult(this.monitor.nullParameterForMethodInvocation(e
-					.getParameterName()));
+			return this.monitor.nullParameterForMethodInvocation(e
+					.getParameterName());
 		} catch (PicoCompositionException e) {
-			return errorResult(this.monitor
-					.picoCompositionExceptionForMethodInvocation(e));
+			return this.monitor.picoCompositionExceptionForMethodInvocation(e);
 		} catch (RuntimeException e) {
-			Object o = this.monitor.runtimeExceptionForMethodInvocation(e);
-			return errorResult(o);
+			return this.monitor.runtimeExceptionForMethodInvocation(e);
 		}
 
 	}
@@ -161,7 +207,7 @@ public class PicoWebRemoting {
 	}
 
 	private Object getNode(PicoContainer reqContainer, String httpMethod,
-			String path, NullComponentMonitor monitor) throws IOException {
+			String path, ComponentMonitor monitor) throws IOException {
 		Object node = paths.get(path);
 
 		if (node == null) {
@@ -183,7 +229,7 @@ public class PicoWebRemoting {
 
 	private Object processWebMethodRequest(PicoContainer reqContainer,
 			String verb, String methodName, Object node2,
-			NullComponentMonitor monitor) throws IOException {
+			ComponentMonitor monitor) throws IOException {
 		WebMethods methods = (WebMethods) node2;
 		if (!methods.containsKey(methodName)) {
 			throw makeNothingMatchingException();
@@ -200,8 +246,7 @@ public class PicoWebRemoting {
 			throw new PicoContainerWebException("method not allowed for "
 					+ verb);
 		}
-		return reinject(methodName, method, methods.getKey(),
-				methods.getImpl(), reqContainer, monitor);
+		return methods.getDispatch(method).invoke(reqContainer, monitor);
 	}
 
 	private boolean delete(Method method) {
@@ -273,6 +318,7 @@ public class PicoWebRemoting {
 					methodz.put(PUT, method);
 				}
 				methodz.put(webVerb, method);
+				webMethods.addDispatch(method);
 			}
 		}
 		Class<?> superClass = component.getSuperclass();
@@ -352,30 +398,6 @@ public class PicoWebRemoting {
 		return xstream.toXML(errorResult) + NL;
 	}
 
-	private boolean isComposite(Object node) {
-		return !(node.getClass().isPrimitive() || node instanceof Boolean
-				|| node instanceof Long || node instanceof Double
-				|| node instanceof Short || node instanceof Byte
-				|| node instanceof Integer || node instanceof String
-				|| node instanceof Float || node instanceof Character);
-	}
-
-	private Object reinject(String methodName, Method method, Class<?> key,
-			Class<?> impl, PicoContainer reqContainer,
-			NullComponentMonitor monitor) throws IOException {
-		MethodInjection methodInjection = new MethodInjection(method);
-		Reinjector reinjector = new Reinjector(reqContainer, monitor);
-
-		Properties props = (Properties) Characteristics.USE_NAMES.clone();
-		Object inst = reqContainer.getComponent(key);
-		Object rv = reinjector
-				.reinject(key, impl, inst, props, methodInjection);
-		if (method.getReturnType() == void.class) {
-			return OK;
-		}
-		return rv;
-	}
-
 	@SuppressWarnings("unchecked")
 	protected void directorize(String path) {
 		int lastSlashIx = path.lastIndexOf(SLASH);
@@ -438,12 +460,23 @@ public class PicoWebRemoting {
 			HashMap<String, HashMap<String, Method>> {
 		private final Class<?> key;
 		private final Class<?> impl;
+		private final Map<Method, WebMethodDispatch> dispatches = new HashMap<Method, WebMethodDispatch>();
 
 		public WebMethods(Class<?> key, Class<?> impl) {
 			this.key = key;
 			this.impl = impl;
 		}
 
+		private void addDispatch(Method method) {
+			if (!dispatches.containsKey(method)) {
+				dispatches.put(method, new WebMethodDispatch(key, impl, method));
+			}
+		}
+
+		private WebMethodDispatch getDispatch(Method method) {
+			return dispatches.get(method);
+		}
+
 		public Class<?> getKey() {
 			return key;
 		}
@@ -452,4 +485,46 @@ public class PicoWebRemoting {
 			return impl;
 		}
 	}
+
+	/**
+	 * The invocation of one web method, prepared when its component is published.  Method injectors
+	 * keep per-invocation state, so each concurrent request borrows one of its own from a pool that
+	 * grows to the number of requests calling the method at once.
+	 */
+	private static class WebMethodDispatch {
+		private final Class<?> key;
+		private final Class<?> impl;
+		private final Method method;
+		private final boolean returnsVoid;
+		private final Queue<Injector<Object>> injectors = new ConcurrentLinkedQueue<Injector<Object>>();
+
+		private WebMethodDispatch(Class<?> key, Class<?> impl, Method method) {
+			this.key = key;
+			this.impl = impl;
+			this.method = method;
+			this.returnsVoid = method.getReturnType() == void.class;
+		}
+
+		private Object invoke(PicoContainer reqContainer, ComponentMonitor monitor) {
+			Injector<Object> injector = injectors.poll();
+			if (injector == null) {
+				injector = newInjector(monitor);
+			} else if (injector instanceof ComponentMonitorStrategy) {
+				((ComponentMonitorStrategy) injector).changeMonitor(monitor);
+			}
+			try {
+				Object inst = reqContainer.getComponent(key);
+				Object rv = injector.decorateComponentInstance(reqContainer, ComponentAdapter.NOTHING.class, inst);
+				return returnsVoid ? OK : rv;
+			} finally {
+				injectors.offer(injector);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private Injector<Object> newInjector(ComponentMonitor monitor) {
+			return (Injector<Object>) new MethodInjection(method).createComponentAdapter(monitor,
+					NO_LIFECYCLE, USE_NAMES, key, (Class<Object>) impl, null, null, null);
+		}
+	}
 }
@@ -13,6 +13,7 @@ import static com.picocontainer.web.remoting.JsonPicoWebRemotingServlet.makeJson
 
 import java.awt.Color;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -24,7 +25,13 @@ import com.picocontainer.web.NONE;
 
 import com.picocontainer.DefaultPicoContainer;
 import com.picocontainer.monitors.NullComponentMonitor;
+import com.picocontainer.web.PicoContainerWebException;
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.json.JsonWriter;
 
 /**
@@ -275,6 +282,89 @@ public final class PicoWebRemotingTestCase {
 
     }
 
+    @Test
+    public void testStreamedReplyIsTheSameAsTheStringReply() throws Exception {
+        PicoWebRemoting pwr = new PicoWebRemoting(xStream, "alpha/", null, "y", false, true);
+        pwr.setMonitor(new NullPicoWebRemotingMonitor());
+        pwr.directorize("alpha/Foo", Foo.class, Foo.class);
+
+        DefaultPicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent(Foo.class);
+        pico.addComponent("longArg", new Long(123));
+
+        for (String pathInfo : new String[] {"/Foo/hello", "/Foo/color", "/Foo/shhh", "/Foo/"}) {
+            StringWriter writer = new StringWriter();
+            pwr.processRequest(pathInfo, pico, "GET", new NullComponentMonitor(), writer);
+            assertEquals(pwr.processRequest(pathInfo, pico, "GET", new NullComponentMonitor()), writer.toString());
+        }
+    }
+
+    @Test
+    public void testStreamedReplyThatFailsToSerializeIsReplacedByAnErrorReply() throws Exception {
+        xStream.registerConverter(new Converter() {
+            public boolean canConvert(Class type) {
+                return type == Unserializable.class;
+            }
+
+            public void marshal(Object source, HierarchicalStreamWriter writer, MarshallingContext context) {
+                throw new PicoContainerWebException("cannot serialize");
+            }
+
+            public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        PicoWebRemoting pwr = new PicoWebRemoting(xStream, "alpha/", null, "y", false, true);
+        pwr.setMonitor(new NullPicoWebRemotingMonitor());
+        pwr.directorize("alpha/Baz", Baz.class, Baz.class);
+
+        DefaultPicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent(Baz.class);
+
+        StringWriter writer = new StringWriter();
+        assertTrue(pwr.processRequest("/Baz/broken", pico, "GET", new NullComponentMonitor(), writer));
+        assertEquals(
+                "{\n" +
+                "  \"ERROR\": true,\n" +
+                "  \"message\": \"cannot serialize\"\n" +
+                "}\n", writer.toString());
+        assertEquals(pwr.processRequest("/Baz/broken", pico, "GET", new NullComponentMonitor()), writer.toString());
+    }
+
+    public static class Unserializable {
+    }
+
+    public static class Baz {
+        public List<Object> broken() {
+            List<Object> list = new ArrayList<Object>();
+            list.add("fine");
+            list.add(new Unserializable());
+            return list;
+        }
+    }
+
+    @Test
+    public void testInheritedWebMethodIsInvokedOncePerRequest() throws Exception {
+        PicoWebRemoting pwr = new PicoWebRemoting(xStream, "alpha/", null, "y", false, true);
+        pwr.directorize("alpha/Bar", Bar.class, Bar.class);
+
+        DefaultPicoContainer pico = new DefaultPicoContainer();
+        pico.addComponent(new Bar());
+
+        assertEquals("1\n", pwr.processRequest("/Bar/count", pico, "GET", new NullComponentMonitor()));
+        assertEquals("2\n", pwr.processRequest("/Bar/count", pico, "GET", new NullComponentMonitor()));
+    }
+
+    public static class Counter {
+        private int count;
+
+        public int count() {
+            return ++count;
+        }
+    }
+
+    public static class Bar extends Counter {
+    }
 
     public static class Foo {
         public int hello(long longArg) {